@@ -0,0 +1,120 @@
+package ru.clevertec.knyazev.jsonparser.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+
+/**
+ * Represents field of annotated class as it is seen by generated codec
+ */
+final class CodecField {
+
+    /**
+     * Kind of field which defines generated code for the field
+     */
+    enum Kind {
+
+        /**
+         * Primitive field, formatted without boxing
+         */
+        PRIMITIVE,
+
+        /**
+         * String or boxed primitive field
+         */
+        SIMPLE,
+
+        /**
+         * Field of class which objects are formatted from JSON objects
+         */
+        OBJECT,
+
+        /**
+         * Array, collection, map or other field formatted by formatter
+         */
+        OTHER
+    }
+
+    /**
+     * Position of field in generated codec fields
+     */
+    private final int index;
+
+    private final VariableElement element;
+
+    private final TypeElement declaringType;
+
+    private final Kind kind;
+
+    /**
+     * Erasure of field type as source code, e.g. java.util.List
+     */
+    private final String typeName;
+
+    /**
+     * Suffix of CodecSupport read method, e.g. Int for readInt, IntObject for readIntObject
+     */
+    private final String readMethodSuffix;
+
+    /**
+     * True if field is accessed directly, otherwise field is accessed by VarHandle
+     */
+    private final boolean direct;
+
+    CodecField(int index, VariableElement element, TypeElement declaringType, Kind kind, String typeName,
+               String readMethodSuffix, boolean direct) {
+        this.index = index;
+        this.element = element;
+        this.declaringType = declaringType;
+        this.kind = kind;
+        this.typeName = typeName;
+        this.readMethodSuffix = readMethodSuffix;
+        this.direct = direct;
+    }
+
+    String getName() {
+        return element.getSimpleName().toString();
+    }
+
+    VariableElement getElement() {
+        return element;
+    }
+
+    TypeElement getDeclaringType() {
+        return declaringType;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getTypeName() {
+        return typeName;
+    }
+
+    String getReadMethodSuffix() {
+        return readMethodSuffix;
+    }
+
+    boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Get name of VarHandle constant by field index, e.g. HANDLE_2 for the third field.
+     * Names aren't derived from field names, so fields like isGod and is_god don't clash
+     *
+     * @return constant name
+     */
+    String getHandleName() {
+        return "HANDLE_" + index;
+    }
+
+    /**
+     * Get name of field plan constant by field index, e.g. FIELD_2 for the third field
+     *
+     * @return constant name
+     */
+    String getFieldPlanName() {
+        return "FIELD_" + index;
+    }
+}
@@ -0,0 +1,329 @@
+package ru.clevertec.knyazev.jsonparser.processor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Represents generator of codec source code for annotated class.
+ * <p>
+ * Example: for Class A {private String b; int id;} generated write method is
+ * <pre>
+ * writer.beginObject();
+ * java.lang.String value0 = (java.lang.String) B.get(object);
+ * if (value0 != null) {
+ *     writer.encodedName("\"b\":").value(value0);
+ * }
+ * writer.encodedName("\"id\":").value(object.id);
+ * writer.endObject();
+ * </pre>
+ */
+final class CodecSourceGenerator {
+
+    static final String CODEC_CLASS_SUFFIX = "$JSONCodec";
+
+    private static final String INDENT = "    ";
+
+    /**
+     * Name of key table constant, VarHandle constants are named HANDLE_n and field plan constants FIELD_n,
+     * so no field clashes with it
+     */
+    private static final String KEY_TABLE = "KEY_TABLE";
+
+    private final String typeName;
+
+    private final String packageName;
+
+    private final String codecSimpleName;
+
+    private final List<CodecField> fields;
+
+    private final boolean readable;
+
+    private final StringBuilder source = new StringBuilder();
+
+    CodecSourceGenerator(TypeElement type, String packageName, String codecSimpleName, List<CodecField> fields,
+                         boolean readable) {
+        this.typeName = type.getQualifiedName().toString();
+        this.packageName = packageName;
+        this.codecSimpleName = codecSimpleName;
+        this.fields = fields;
+        this.readable = readable;
+    }
+
+    String generate() {
+
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+
+        line(0, "import ru.clevertec.knyazev.jsonparser.codec.CodecReadContext;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.codec.CodecSupport;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.codec.CodecWriteContext;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.codec.JSONCodec;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.json.JSONKeyTable;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.json.JSONTokenType;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.json.JSONWriter;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;");
+        line(0, "import ru.clevertec.knyazev.jsonparser.util.JSONDeterminerUtil;");
+        line(0, "");
+        line(0, "import java.lang.invoke.MethodHandles;");
+        line(0, "import java.lang.invoke.VarHandle;");
+        line(0, "");
+        line(0, "/**");
+        line(0, " * Represents codec of {@link " + typeName + "} generated at compile time");
+        line(0, " */");
+        line(0, "@javax.annotation.processing.Generated(\"" + JSONCodecProcessor.class.getName() + "\")");
+        line(0, "public final class " + codecSimpleName + " implements JSONCodec<" + typeName + ">, JSONDeterminerUtil {");
+
+        generateHandles();
+        generateKeys();
+        generateFieldPlans();
+        generateGetType();
+        generateWrite();
+        generateRead();
+        generateIsReadable();
+
+        line(0, "}");
+
+        return source.toString();
+    }
+
+    private void generateHandles() {
+
+        List<CodecField> handleFields = fields.stream()
+                .filter(field -> !field.isDirect())
+                .toList();
+
+        if (handleFields.isEmpty()) {
+            return;
+        }
+
+        line(0, "");
+
+        for (CodecField field : handleFields) {
+            line(1, "private static final VarHandle " + field.getHandleName() + ";");
+        }
+
+        line(0, "");
+        line(1, "static {");
+        line(2, "try {");
+        line(3, "MethodHandles.Lookup lookup;");
+
+        TypeElement lookupType = null;
+
+        for (CodecField field : handleFields) {
+
+            String declaringTypeName = field.getDeclaringType().getQualifiedName().toString();
+
+            if (field.getDeclaringType() != lookupType) {
+                lookupType = field.getDeclaringType();
+                line(3, "lookup = MethodHandles.privateLookupIn(" + declaringTypeName + ".class, MethodHandles.lookup());");
+            }
+
+            line(3, field.getHandleName() + " = lookup.unreflectVarHandle(" + declaringTypeName +
+                    ".class.getDeclaredField(\"" + field.getName() + "\"));");
+        }
+
+        line(2, "} catch (ReflectiveOperationException e) {");
+        line(3, "throw new ExceptionInInitializerError(e);");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void generateKeys() {
+
+        if (!readable) {
+            return;
+        }
+
+        String keys = fields.stream()
+                .map(field -> "\"" + field.getName() + "\"")
+                .collect(Collectors.joining(", "));
+
+        line(0, "");
+        line(1, "private static final JSONKeyTable " + KEY_TABLE + " = JSONKeyTable.of(" + keys + ");");
+    }
+
+    /**
+     * Field plans of fields which values may be formatted by formatter are resolved once,
+     * so reading of value doesn't look up class plan and field by name
+     */
+    private void generateFieldPlans() {
+
+        if (!readable) {
+            return;
+        }
+
+        List<CodecField> formattedFields = fields.stream()
+                .filter(field -> field.getKind() != CodecField.Kind.OBJECT)
+                .toList();
+
+        if (formattedFields.isEmpty()) {
+            return;
+        }
+
+        line(0, "");
+
+        for (CodecField field : formattedFields) {
+            line(1, "private static final FieldPlan " + field.getFieldPlanName() + " = ClassPlan.of(" + typeName +
+                    ".class).getField(\"" + field.getName() + "\");");
+        }
+    }
+
+    private void generateGetType() {
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public Class<" + typeName + "> getType() {");
+        line(2, "return " + typeName + ".class;");
+        line(1, "}");
+    }
+
+    private void generateWrite() {
+
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public void write(" + typeName + " object, JSONWriter writer, CodecWriteContext context) {");
+        line(2, "writer.beginObject();");
+
+        for (int i = 0; i < fields.size(); i++) {
+
+            CodecField field = fields.get(i);
+            String key = "\"\\\"" + field.getName() + "\\\":\"";
+
+            if (field.getKind() == CodecField.Kind.PRIMITIVE) {
+                line(2, "writer.encodedName(" + key + ").value(" + get(field) + ");");
+                continue;
+            }
+
+            String value = "value" + i;
+
+            line(2, field.getTypeName() + " " + value + " = " + get(field) + ";");
+            line(2, "if (" + value + " != null) {");
+
+            if (field.getKind() == CodecField.Kind.SIMPLE) {
+                line(3, "writer.encodedName(" + key + ").value(" + value + ");");
+            } else {
+                line(3, "writer.encodedName(" + key + ");");
+                line(3, "context.writeValue(" + value + ", writer);");
+            }
+
+            line(2, "}");
+        }
+
+        line(2, "writer.endObject();");
+        line(1, "}");
+    }
+
+    private void generateRead() {
+
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public " + typeName + " read(JSONTokenizer tokenizer, CodecReadContext context) {");
+
+        if (!readable) {
+            line(2, "throw new JSONParserException(\"Error. Codec of " + typeName + " can't format JSON to object\");");
+            line(1, "}");
+            return;
+        }
+
+        line(2, typeName + " object = new " + typeName + "();");
+        line(0, "");
+        line(2, "JSONTokenType tokenType = tokenizer.next();");
+        line(2, "int previousIndex = -1;");
+        line(0, "");
+        line(2, "while (tokenType != JSONTokenType.END_OBJECT) {");
+        line(3, "tokenizer.expect(tokenType, JSONTokenType.STRING);");
+        line(0, "");
+        line(3, "int keyIndex = " + KEY_TABLE + ".indexOf(tokenizer, previousIndex);");
+        line(0, "");
+        line(3, "if (keyIndex >= 0) {");
+        line(4, "previousIndex = keyIndex;");
+        line(3, "}");
+        line(0, "");
+        line(3, "tokenizer.next(JSONTokenType.COLON);");
+        line(3, "tokenType = tokenizer.next();");
+        line(0, "");
+        line(3, "switch (keyIndex) {");
+
+        for (int i = 0; i < fields.size(); i++) {
+
+            CodecField field = fields.get(i);
+
+            line(4, "case " + i + " -> {");
+
+            switch (field.getKind()) {
+                case PRIMITIVE -> {
+                    line(5, "if (tokenType.isScalar()) {");
+                    line(6, set(field, "CodecSupport.read" + field.getReadMethodSuffix() + "(tokenizer)"));
+                    line(5, "} else if (tokenType != JSONTokenType.NULL) {");
+                    line(6, readField(field));
+                    line(5, "}");
+                }
+                case SIMPLE -> {
+                    line(5, "if (tokenType.isScalar()) {");
+                    line(6, set(field, "CodecSupport.read" + field.getReadMethodSuffix() + "(tokenizer)"));
+                    line(5, "} else if (tokenType == JSONTokenType.NULL) {");
+                    line(6, set(field, "(" + field.getTypeName() + ") null"));
+                    line(5, "} else {");
+                    line(6, readField(field));
+                    line(5, "}");
+                }
+                case OBJECT -> line(5, set(field, "context.readObject(" + field.getTypeName() + ".class, tokenizer)"));
+                default -> line(5, readField(field));
+            }
+
+            line(4, "}");
+        }
+
+        line(4, "default -> tokenizer.skipValue();");
+        line(3, "}");
+        line(0, "");
+        line(3, "tokenType = nextElement(tokenizer, JSONTokenType.END_OBJECT);");
+        line(2, "}");
+        line(0, "");
+        line(2, "return object;");
+        line(1, "}");
+    }
+
+    private void generateIsReadable() {
+
+        if (readable) {
+            return;
+        }
+
+        line(0, "");
+        line(1, "@Override");
+        line(1, "public boolean isReadable() {");
+        line(2, "return false;");
+        line(1, "}");
+    }
+
+    private String get(CodecField field) {
+        return field.isDirect()
+                ? "object." + field.getName()
+                : "(" + field.getTypeName() + ") " + field.getHandleName() + ".get(object)";
+    }
+
+    private String set(CodecField field, String value) {
+        return field.isDirect()
+                ? "object." + field.getName() + " = " + value + ";"
+                : field.getHandleName() + ".set(object, " + value + ");";
+    }
+
+    private String readField(CodecField field) {
+        return "context.readField(object, " + field.getFieldPlanName() + ", tokenizer);";
+    }
+
+    private void line(int indent, String code) {
+        if (!code.isEmpty()) {
+            source.append(INDENT.repeat(indent)).append(code);
+        }
+
+        source.append('\n');
+    }
+}
@@ -0,0 +1,287 @@
+package ru.clevertec.knyazev.jsonparser.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Represents annotation processor which generates JSON codecs for classes
+ * marked by ru.clevertec.knyazev.jsonparser.codec.GenerateJSONCodec and registers them as
+ * ServiceLoader services of ru.clevertec.knyazev.jsonparser.codec.JSONCodec.
+ * <p>
+ * Generated codec accesses not private fields directly and private fields by static final
+ * VarHandles, so the JIT inlines field access as for hand-written code.
+ */
+@SupportedAnnotationTypes(JSONCodecProcessor.GENERATE_JSON_CODEC)
+public class JSONCodecProcessor extends AbstractProcessor {
+
+    static final String GENERATE_JSON_CODEC = "ru.clevertec.knyazev.jsonparser.codec.GenerateJSONCodec";
+
+    private static final String CODEC_SERVICE = "META-INF/services/ru.clevertec.knyazev.jsonparser.codec.JSONCodec";
+
+    private static final String CLASS_KIND_ERROR = "Error. @GenerateJSONCodec should mark top level or static nested class";
+    private static final String ACCESS_ERROR = "Error. @GenerateJSONCodec class and its superclasses should be accessible from package %s";
+    private static final String WRITING_ERROR = "Error when writing %s: %s";
+
+    private static final Map<TypeKind, String> PRIMITIVE_READ_METHODS = Map.of(
+            TypeKind.BOOLEAN, "Boolean",
+            TypeKind.BYTE, "Byte",
+            TypeKind.SHORT, "Short",
+            TypeKind.CHAR, "Char",
+            TypeKind.INT, "Int",
+            TypeKind.LONG, "Long",
+            TypeKind.FLOAT, "Float",
+            TypeKind.DOUBLE, "Double");
+
+    private static final Map<String, String> SIMPLE_READ_METHODS = Map.of(
+            "java.lang.Boolean", "BooleanObject",
+            "java.lang.Byte", "ByteObject",
+            "java.lang.Short", "ShortObject",
+            "java.lang.Character", "CharObject",
+            "java.lang.Integer", "IntObject",
+            "java.lang.Long", "LongObject",
+            "java.lang.Float", "FloatObject",
+            "java.lang.Double", "DoubleObject",
+            "java.lang.String", "String");
+
+    private final Set<String> codecNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                generateCodec(element);
+            }
+        }
+
+        if (roundEnv.processingOver() && !codecNames.isEmpty()) {
+            writeCodecService();
+        }
+
+        return true;
+    }
+
+    private void generateCodec(Element element) {
+
+        if (element.getKind() != ElementKind.CLASS || !isStaticClass((TypeElement) element)) {
+            error(CLASS_KIND_ERROR, element);
+            return;
+        }
+
+        TypeElement type = (TypeElement) element;
+        Elements elements = processingEnv.getElementUtils();
+
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String codecSimpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + CodecSourceGenerator.CODEC_CLASS_SUFFIX;
+        String codecName = packageName.isEmpty() ? codecSimpleName : packageName + "." + codecSimpleName;
+
+        List<CodecField> fields = new ArrayList<>();
+        boolean readable = !type.getModifiers().contains(Modifier.ABSTRACT) && hasNoArgConstructor(type);
+
+        Set<String> fieldNames = new HashSet<>();
+
+        for (TypeElement clazz = type; clazz != null && !clazz.getQualifiedName().contentEquals("java.lang.Object");
+             clazz = superclass(clazz)) {
+
+            if (!isAccessible(clazz, packageName)) {
+                error(String.format(ACCESS_ERROR, packageName), type);
+                return;
+            }
+
+            for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+
+                Set<Modifier> modifiers = field.getModifiers();
+
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT) ||
+                        !fieldNames.add(field.getSimpleName().toString())) {
+                    continue;
+                }
+
+                readable &= !modifiers.contains(Modifier.FINAL);
+
+                fields.add(codecField(fields.size(), field, clazz, packageName));
+            }
+        }
+
+        String source = new CodecSourceGenerator(type, packageName, codecSimpleName, fields, readable).generate();
+
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(codecName, type);
+
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            error(String.format(WRITING_ERROR, codecName, e.getMessage()), type);
+            return;
+        }
+
+        codecNames.add(codecName);
+    }
+
+    private CodecField codecField(int index, VariableElement field, TypeElement declaringType, String packageName) {
+
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror fieldType = field.asType();
+
+        Set<Modifier> modifiers = field.getModifiers();
+        boolean direct = !modifiers.contains(Modifier.PRIVATE) &&
+                (modifiers.contains(Modifier.PUBLIC) || packageName.equals(packageOf(declaringType)));
+
+        if (fieldType.getKind().isPrimitive()) {
+            return new CodecField(index, field, declaringType, CodecField.Kind.PRIMITIVE, fieldType.toString(),
+                    PRIMITIVE_READ_METHODS.get(fieldType.getKind()), direct);
+        }
+
+        if (fieldType.getKind() == TypeKind.DECLARED) {
+            TypeElement fieldTypeElement = (TypeElement) ((DeclaredType) fieldType).asElement();
+            String fieldTypeName = fieldTypeElement.getQualifiedName().toString();
+
+            String readMethodSuffix = SIMPLE_READ_METHODS.get(fieldTypeName);
+
+            if (readMethodSuffix != null) {
+                return new CodecField(index, field, declaringType, CodecField.Kind.SIMPLE, fieldTypeName,
+                        readMethodSuffix, direct);
+            }
+
+            if (isObject(fieldTypeElement, packageName)) {
+                return new CodecField(index, field, declaringType, CodecField.Kind.OBJECT,
+                        types.erasure(fieldType).toString(), null, direct);
+            }
+        }
+
+        return new CodecField(index, field, declaringType, CodecField.Kind.OTHER, Object.class.getName(), null, direct);
+    }
+
+    /**
+     * Check if objects of class are formatted from JSON objects, i.e. class is not a container,
+     * not a Number and can be referenced from generated codec
+     */
+    private boolean isObject(TypeElement typeElement, String packageName) {
+
+        if (typeElement.getKind() != ElementKind.CLASS ||
+                typeElement.getQualifiedName().contentEquals("java.lang.Object") ||
+                !isAccessible(typeElement, packageName)) {
+            return false;
+        }
+
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror erasure = types.erasure(typeElement.asType());
+
+        for (String containerName : List.of("java.util.Collection", "java.util.Map", "java.lang.Number")) {
+            TypeElement container = elements.getTypeElement(containerName);
+
+            if (types.isAssignable(erasure, types.erasure(container.asType()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean hasNoArgConstructor(TypeElement type) {
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isStaticClass(TypeElement type) {
+
+        NestingKind nestingKind = type.getNestingKind();
+
+        return nestingKind == NestingKind.TOP_LEVEL ||
+                (nestingKind == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC));
+    }
+
+    private boolean isAccessible(TypeElement type, String packageName) {
+
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+
+            Set<Modifier> modifiers = element.getModifiers();
+
+            if (modifiers.contains(Modifier.PRIVATE) ||
+                    (!modifiers.contains(Modifier.PUBLIC) && !packageName.equals(packageOf((TypeElement) element)))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+
+        TypeMirror superclass = type.getSuperclass();
+
+        return superclass.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) superclass).asElement()
+                : null;
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+
+        return packageElement.getQualifiedName().toString();
+    }
+
+    private void writeCodecService() {
+        try {
+            FileObject serviceFile = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", CODEC_SERVICE);
+
+            try (Writer writer = serviceFile.openWriter()) {
+                for (String codecName : codecNames) {
+                    writer.write(codecName);
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format(WRITING_ERROR, CODEC_SERVICE, e.getMessage()));
+        }
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
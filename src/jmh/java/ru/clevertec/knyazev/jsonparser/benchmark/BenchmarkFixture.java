@@ -0,0 +1,136 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import ru.clevertec.knyazev.jsonparser.util.Car;
+import ru.clevertec.knyazev.jsonparser.util.Dealer;
+import ru.clevertec.knyazev.jsonparser.util.Family;
+import ru.clevertec.knyazev.jsonparser.util.Human;
+import ru.clevertec.knyazev.jsonparser.util.ManPassport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Represents object graph of test fixtures used as benchmark payload.
+ * <p>
+ * Example: FAMILY.create(3) returns list of 3 families, every family has man and woman
+ */
+public enum BenchmarkFixture {
+    HUMAN(Human.class, BenchmarkFixture::human),
+    FAMILY(Family.class, BenchmarkFixture::family),
+    CAR(Car.class, BenchmarkFixture::car),
+    DEALER(Dealer.class, BenchmarkFixture::dealer),
+    MAN_PASSPORT(ManPassport.class, BenchmarkFixture::manPassport);
+
+    private final Class<?> type;
+
+    private final IntFunction<Object> graphFactory;
+
+    BenchmarkFixture(Class<?> type, IntFunction<Object> graphFactory) {
+        this.type = type;
+        this.graphFactory = graphFactory;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Create single fixture graph
+     *
+     * @param index index of graph which makes graph values different
+     * @return fixture graph
+     */
+    public Object createGraph(int index) {
+        return graphFactory.apply(index);
+    }
+
+    /**
+     * Create list of fixture graphs
+     *
+     * @param quantity graphs quantity
+     * @return list of fixture graphs
+     */
+    public List<Object> create(int quantity) {
+
+        List<Object> graphs = new ArrayList<>(quantity);
+
+        for (int i = 0; i < quantity; i++) {
+            graphs.add(createGraph(i));
+        }
+
+        return graphs;
+    }
+
+    private static Human human(int index) {
+        return Human.builder()
+                .name("Zafar " + index)
+                .family("Khalid \"Khan\"")
+                .age(20 + index % 50)
+                .isGod(index % 2 == 0)
+                .childrenQuantity(index % 4)
+                .build();
+    }
+
+    private static Family family(int index) {
+        return Family.builder()
+                .name("Standard " + index)
+                .ageTogether(index % 40)
+                .man(human(index))
+                .woman(human(index + 1))
+                .build();
+    }
+
+    private static Car car(int index) {
+
+        Human[][] passengers = new Human[2][2];
+
+        for (int i = 0; i < passengers.length; i++) {
+            for (int j = 0; j < passengers[i].length; j++) {
+                passengers[i][j] = human(index + 2 * i + j);
+            }
+        }
+
+        return Car.builder()
+                .producers(new String[]{"Alex Antonov", "Andre Bogomazov", "Paul Liney"})
+                .productionYear(1950 + index % 70)
+                .isExclusive(index % 3 == 0)
+                .passengers(passengers)
+                .build();
+    }
+
+    private static Dealer dealer(int index) {
+
+        Map<Integer, Car> sellingHistory = new HashMap<>();
+
+        for (int i = 0; i < 3; i++) {
+            sellingHistory.put(i, car(index + i));
+        }
+
+        return new Dealer.Builder()
+                .setName("Alex " + index)
+                .setAge(30 + index % 30)
+                .setIsTop(index % 2 == 0)
+                .setSellingHistory(sellingHistory)
+                .build();
+    }
+
+    private static ManPassport manPassport(int index) {
+
+        Set<Human> childrens = new HashSet<>();
+        childrens.add(human(index + 2));
+        childrens.add(human(index + 3));
+
+        return new ManPassport.Builder()
+                .setName("Sergo " + index)
+                .setFamily("Alkin")
+                .setAddresses(List.of("Minsk, ul. Plehanova, 5, 125", "Gomel, ul. Lepeshinskogo, 12, 38"))
+                .setWives(List.of(human(index), human(index + 1)))
+                .setChildrens(childrens)
+                .build();
+    }
+}
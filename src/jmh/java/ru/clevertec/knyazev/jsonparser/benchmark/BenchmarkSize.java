@@ -0,0 +1,20 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+/**
+ * Represents size of benchmark payload as quantity of fixture graphs in it
+ */
+public enum BenchmarkSize {
+    SMALL(1),
+    MEDIUM(100),
+    LARGE(10_000);
+
+    private final int quantity;
+
+    BenchmarkSize(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.codec.HiddenClassCodecProvider;
+import ru.clevertec.knyazev.jsonparser.codec.ServiceLoaderCodecProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of throughput of one {@link JSONParserImpl} shared by 1 to 64 threads.
+ * Parser is stateless, so throughput per thread should stay the same while threads
+ * don't outnumber cores: shared state would show up as falling throughput per thread.
+ * <p>
+ * Every nested class runs the same benchmarks with its own quantity of threads,
+ * e.g. ConcurrentBenchmark.Threads16.toObject
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class ConcurrentBenchmark {
+
+    @Param({"HUMAN", "MAN_PASSPORT"})
+    private BenchmarkFixture fixture;
+
+    @Param({"false", "true"})
+    private boolean codecs;
+
+    private Class<?> type;
+
+    private Object graph;
+
+    private String json;
+
+    private JSONParser jsonParser;
+
+    @Setup
+    public void setUp() {
+        type = fixture.getType();
+        graph = fixture.createGraph(0);
+        json = new Gson().toJson(graph);
+
+        jsonParser = codecs
+                ? new JSONParserImpl(new ServiceLoaderCodecProvider().or(new HiddenClassCodecProvider()))
+                : new JSONParserImpl();
+    }
+
+    @Benchmark
+    public String toJSON() {
+        return jsonParser.toJSON(graph);
+    }
+
+    @Benchmark
+    public byte[] toJSONBytes() {
+        return jsonParser.toJSONBytes(graph);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return jsonParser.toObject(type, json);
+    }
+
+    @Threads(1)
+    public static class Threads1 extends ConcurrentBenchmark {
+    }
+
+    @Threads(2)
+    public static class Threads2 extends ConcurrentBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends ConcurrentBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends ConcurrentBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends ConcurrentBenchmark {
+    }
+
+    @Threads(32)
+    public static class Threads32 extends ConcurrentBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends ConcurrentBenchmark {
+    }
+}
@@ -0,0 +1,128 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+import ru.clevertec.knyazev.jsonparser.util.Human;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of formatting JSON with large array, collection or map field
+ * to object by {@link JSONParserImpl} and Gson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ContainerBenchmark {
+
+    /**
+     * Represents container field of payload filled with elements
+     */
+    public enum Container {
+        INT_ARRAY,
+        STRING_SET,
+        HUMAN_LIST,
+        HUMAN_MAP
+    }
+
+    /**
+     * Represents object which has one filled container field
+     */
+    public static class Payload {
+
+        private int[] numbers;
+
+        private Set<String> names;
+
+        private List<Human> humans;
+
+        private Map<Integer, Human> humansById;
+
+    }
+
+    @Param({"INT_ARRAY", "STRING_SET", "HUMAN_LIST", "HUMAN_MAP"})
+    private Container container;
+
+    @Param({"10000", "100000", "1000000"})
+    private int elements;
+
+    private String json;
+
+    private JSONParser jsonParser;
+
+    private Gson gson;
+
+    @Setup
+    public void setUp() {
+        Payload payload = new Payload();
+
+        switch (container) {
+            case INT_ARRAY -> {
+                payload.numbers = new int[elements];
+
+                for (int i = 0; i < elements; i++) {
+                    payload.numbers[i] = i * 31;
+                }
+            }
+            case STRING_SET -> {
+                payload.names = new HashSet<>();
+
+                for (int i = 0; i < elements; i++) {
+                    payload.names.add("name " + i);
+                }
+            }
+            case HUMAN_LIST -> {
+                payload.humans = new ArrayList<>(elements);
+
+                for (int i = 0; i < elements; i++) {
+                    payload.humans.add((Human) BenchmarkFixture.HUMAN.createGraph(i));
+                }
+            }
+            case HUMAN_MAP -> {
+                payload.humansById = new HashMap<>();
+
+                for (int i = 0; i < elements; i++) {
+                    payload.humansById.put(i, (Human) BenchmarkFixture.HUMAN.createGraph(i));
+                }
+            }
+        }
+
+        gson = new Gson();
+        json = gson.toJson(payload);
+
+        jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+    }
+
+    @Benchmark
+    public Payload jsonParser() {
+        return jsonParser.toObject(Payload.class, json);
+    }
+
+    @Benchmark
+    public Payload gson() {
+        return gson.fromJson(json, Payload.class);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+import ru.clevertec.knyazev.jsonparser.json.JSONDocument;
+import ru.clevertec.knyazev.jsonparser.json.JSONValue;
+import ru.clevertec.knyazev.jsonparser.util.Family;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of reading few values of the last family from JSON array of families
+ * by lazy {@link JSONDocument}, by formatting whole JSON to objects and by Gson tree
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private BenchmarkSize size;
+
+    private int lastIndex;
+
+    private String json;
+
+    private JSONParser jsonParser;
+
+    @Setup
+    public void setUp() {
+        lastIndex = size.getQuantity() - 1;
+        json = new Gson().toJson(BenchmarkFixture.FAMILY.create(size.getQuantity()));
+
+        jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+    }
+
+    @Benchmark
+    public long document() {
+        JSONValue family = jsonParser.toDocument(json).get(lastIndex);
+
+        return family.get("ageTogether").asInt()
+                + family.get("man").get("age").asInt()
+                + family.get("woman").get("name").asString().length();
+    }
+
+    @Benchmark
+    public Family toObject() {
+        Family[] families = jsonParser.toObject(Family[].class, json);
+
+        return families[lastIndex];
+    }
+
+    @Benchmark
+    public long gsonTree() {
+        JsonArray families = JsonParser.parseString(json).getAsJsonArray();
+        JsonObject family = families.get(lastIndex).getAsJsonObject();
+
+        return family.get("ageTogether").getAsInt()
+                + family.getAsJsonObject("man").get("age").getAsInt()
+                + family.getAsJsonObject("woman").get("name").getAsString().length();
+    }
+}
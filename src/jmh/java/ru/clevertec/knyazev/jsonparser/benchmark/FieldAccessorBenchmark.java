@@ -0,0 +1,120 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.accessor.FieldAccessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of writing and reading of int field by {@link FieldAccessor}, which keeps
+ * method handles in instance fields, against method handle and VarHandle kept in static final
+ * fields, which JIT folds to constants, reflection and direct field access.
+ * <p>
+ * Difference between accessor and static final handles is the cost of accessors of reflective
+ * formatters, codecs generated by annotation processor access private fields by static final VarHandles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldAccessorBenchmark {
+
+    private static final String FIELD_NAME = "age";
+
+    private static final MethodHandle STATIC_GETTER;
+    private static final MethodHandle STATIC_SETTER;
+
+    private static final VarHandle STATIC_VAR_HANDLE;
+
+    static {
+        try {
+            Field field = Person.class.getDeclaredField(FIELD_NAME);
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(Person.class, MethodHandles.lookup());
+
+            STATIC_GETTER = lookup.unreflectGetter(field)
+                    .asType(MethodType.methodType(int.class, Object.class));
+            STATIC_SETTER = lookup.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class));
+            STATIC_VAR_HANDLE = lookup.unreflectVarHandle(field);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Represents object with accessed field
+     */
+    public static class Person {
+
+        private int age;
+
+    }
+
+    private FieldAccessor accessor;
+
+    private Field field;
+
+    private Person person;
+
+    private int value;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        field = Person.class.getDeclaredField(FIELD_NAME);
+        field.setAccessible(true);
+
+        accessor = FieldAccessor.of(field);
+        person = new Person();
+    }
+
+    @Benchmark
+    public int fieldAccessor() {
+        accessor.setInt(person, ++value);
+
+        return accessor.getInt(person);
+    }
+
+    @Benchmark
+    public int staticMethodHandle() throws Throwable {
+        STATIC_SETTER.invokeExact((Object) person, ++value);
+
+        return (int) STATIC_GETTER.invokeExact((Object) person);
+    }
+
+    @Benchmark
+    public int staticVarHandle() {
+        STATIC_VAR_HANDLE.set(person, ++value);
+
+        return (int) STATIC_VAR_HANDLE.get(person);
+    }
+
+    @Benchmark
+    public int reflection() throws IllegalAccessException {
+        field.setInt(person, ++value);
+
+        return field.getInt(person);
+    }
+
+    @Benchmark
+    public int direct() {
+        person.age = ++value;
+
+        return person.age;
+    }
+}
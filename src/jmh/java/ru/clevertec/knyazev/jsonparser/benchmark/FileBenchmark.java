@@ -0,0 +1,87 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of formatting UTF-8 JSON file of fixture graphs to array of objects
+ * by memory-mapped bytes, by String read from file and by Gson reader
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileBenchmark {
+
+    @Param({"HUMAN", "MAN_PASSPORT"})
+    private BenchmarkFixture fixture;
+
+    @Param({"MEDIUM", "LARGE"})
+    private BenchmarkSize size;
+
+    private Class<?> arrayType;
+
+    private Path jsonFile;
+
+    private JSONParser jsonParser;
+
+    private Gson gson;
+
+    @Setup
+    public void setUp() throws IOException {
+        gson = new Gson();
+
+        arrayType = fixture.getType().arrayType();
+
+        jsonFile = Files.createTempFile("benchmark", ".json");
+        Files.writeString(jsonFile, gson.toJson(fixture.create(size.getQuantity())), StandardCharsets.UTF_8);
+
+        jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonFile);
+    }
+
+    @Benchmark
+    public Object mappedFile() {
+        return jsonParser.toObject(arrayType, jsonFile);
+    }
+
+    @Benchmark
+    public Object fileString() throws IOException {
+        return jsonParser.toObject(arrayType, Files.readString(jsonFile, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Object gson() throws IOException {
+        try (Reader reader = Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, arrayType);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONLinesFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Represents benchmark of reading and writing JSON lines file of fixture graphs
+ * by {@link JSONLinesFormatter} with different parallelism
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSONLinesBenchmark {
+
+    private static final int LINES = 200_000;
+
+    @Param({"HUMAN", "CAR"})
+    private BenchmarkFixture fixture;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private List<Object> payload;
+
+    private Path readFile;
+
+    private Path writeFile;
+
+    private JSONLinesFormatter jsonLinesFormatter;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = fixture.create(LINES);
+
+        readFile = Files.createTempFile("benchmark", ".jsonl");
+        writeFile = Files.createTempFile("benchmark", ".jsonl");
+
+        JSONParser jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+        jsonParser.writeJSONLines(payload.stream(), readFile);
+
+        jsonLinesFormatter = new JSONLinesFormatter(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(readFile);
+        Files.deleteIfExists(writeFile);
+    }
+
+    @Benchmark
+    public long read() {
+        try (Stream<?> objects = jsonLinesFormatter.formatJSONLinesToObjects(fixture.getType(), readFile, parallelism, true)) {
+            return objects.count();
+        }
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        jsonLinesFormatter.formatObjectsToJSONLines(payload.stream(), writeFile, parallelism);
+
+        return Files.size(writeFile);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of formatting one large JSON array of fixture graphs to objects
+ * sequentially and by {@link JSONParser#toList} with different parallelism
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LargeArrayBenchmark {
+
+    private static final int ELEMENTS = 200_000;
+
+    @Param({"HUMAN", "CAR", "MAN_PASSPORT"})
+    private BenchmarkFixture fixture;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private Class<?> arrayType;
+
+    private String json;
+
+    private JSONParser jsonParser;
+
+    @Setup
+    public void setUp() {
+        arrayType = fixture.getType().arrayType();
+        json = new Gson().toJson(fixture.create(ELEMENTS));
+
+        jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+    }
+
+    @Benchmark
+    public Object sequential() {
+        return jsonParser.toObject(arrayType, json);
+    }
+
+    @Benchmark
+    public List<?> parallel() {
+        return jsonParser.toList(fixture.getType(), json, parallelism);
+    }
+}
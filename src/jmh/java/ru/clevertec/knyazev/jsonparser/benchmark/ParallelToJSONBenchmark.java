@@ -0,0 +1,76 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of formatting one large list of fixture graphs to JSON string and UTF-8 bytes
+ * with different parallelism. Parallelism 1 formats list sequentially
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelToJSONBenchmark {
+
+    private static final int ELEMENTS = 200_000;
+
+    @Param({"HUMAN", "CAR", "MAN_PASSPORT"})
+    private BenchmarkFixture fixture;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    @Param({"10000"})
+    private int parallelThreshold;
+
+    private List<Object> graphs;
+
+    private ForkJoinPool pool;
+
+    private JSONParser jsonParser;
+
+    @Setup
+    public void setUp() {
+        graphs = fixture.create(ELEMENTS);
+        pool = new ForkJoinPool(parallelism);
+
+        jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(parallelThreshold, pool),
+                new JSONToObjectFormatter());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public String toJSON() {
+        return jsonParser.toJSON(graphs);
+    }
+
+    @Benchmark
+    public byte[] toJSONBytes() {
+        return jsonParser.toJSONBytes(graphs);
+    }
+}
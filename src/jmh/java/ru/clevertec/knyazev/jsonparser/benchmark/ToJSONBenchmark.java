@@ -0,0 +1,90 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.codec.HiddenClassCodecProvider;
+import ru.clevertec.knyazev.jsonparser.codec.ServiceLoaderCodecProvider;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of formatting list of fixture graphs to JSON String and to UTF-8 bytes by
+ * {@link JSONParserImpl} with reflection formatter, {@link JSONParserImpl} with codecs and Gson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToJSONBenchmark {
+
+    @Param({"HUMAN", "FAMILY", "CAR", "DEALER", "MAN_PASSPORT"})
+    private BenchmarkFixture fixture;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private BenchmarkSize size;
+
+    private List<Object> payload;
+
+    private JSONParser jsonParser;
+
+    private JSONParser codecJsonParser;
+
+    private Gson gson;
+
+    @Setup
+    public void setUp() {
+        payload = fixture.create(size.getQuantity());
+
+        jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+        codecJsonParser = new JSONParserImpl(new ServiceLoaderCodecProvider().or(new HiddenClassCodecProvider()));
+        gson = new Gson();
+    }
+
+    @Benchmark
+    public String jsonParser() {
+        return jsonParser.toJSON(payload);
+    }
+
+    @Benchmark
+    public String jsonParserWithCodecs() {
+        return codecJsonParser.toJSON(payload);
+    }
+
+    @Benchmark
+    public String gson() {
+        return gson.toJson(payload);
+    }
+
+    @Benchmark
+    public byte[] jsonParserBytes() {
+        return jsonParser.toJSONBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] jsonParserWithCodecsBytes() {
+        return codecJsonParser.toJSONBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] gsonBytes() {
+        return gson.toJson(payload).getBytes(StandardCharsets.UTF_8);
+    }
+}
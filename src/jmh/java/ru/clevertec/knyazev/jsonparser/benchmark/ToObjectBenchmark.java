@@ -0,0 +1,77 @@
+package ru.clevertec.knyazev.jsonparser.benchmark;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.clevertec.knyazev.jsonparser.JSONParser;
+import ru.clevertec.knyazev.jsonparser.JSONParserImpl;
+import ru.clevertec.knyazev.jsonparser.codec.HiddenClassCodecProvider;
+import ru.clevertec.knyazev.jsonparser.codec.ServiceLoaderCodecProvider;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents benchmark of formatting JSON array of fixture graphs to array of objects by
+ * {@link JSONParserImpl} with reflection formatter, {@link JSONParserImpl} with codecs and Gson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToObjectBenchmark {
+
+    @Param({"HUMAN", "FAMILY", "CAR", "DEALER", "MAN_PASSPORT"})
+    private BenchmarkFixture fixture;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private BenchmarkSize size;
+
+    private Class<?> arrayType;
+
+    private String json;
+
+    private JSONParser jsonParser;
+
+    private JSONParser codecJsonParser;
+
+    private Gson gson;
+
+    @Setup
+    public void setUp() {
+        gson = new Gson();
+
+        arrayType = fixture.getType().arrayType();
+        json = gson.toJson(fixture.create(size.getQuantity()));
+
+        jsonParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+        codecJsonParser = new JSONParserImpl(new ServiceLoaderCodecProvider().or(new HiddenClassCodecProvider()));
+    }
+
+    @Benchmark
+    public Object jsonParser() {
+        return jsonParser.toObject(arrayType, json);
+    }
+
+    @Benchmark
+    public Object jsonParserWithCodecs() {
+        return codecJsonParser.toObject(arrayType, json);
+    }
+
+    @Benchmark
+    public Object gson() {
+        return gson.fromJson(json, arrayType);
+    }
+}
@@ -1,5 +1,15 @@
 package ru.clevertec.knyazev.jsonparser;
 
+import ru.clevertec.knyazev.jsonparser.formatter.PushJSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.json.JSONDocument;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 /**
  *
  * Represents JSON parser
@@ -17,6 +27,64 @@ public interface JSONParser {
      */
     <T> String toJSON(T object);
 
+    /**
+     *
+     * Parse object to JSON and write it into given sink
+     *
+     * @param object for parsing
+     * @param sink for JSON writing
+     * @param <T> object type
+     */
+    <T> void toJSON(T object, Appendable sink);
+
+    /**
+     *
+     * Parse object to JSON and write it into given output stream in UTF-8.
+     * Output stream is flushed but not closed
+     *
+     * @param object for parsing
+     * @param outputStream for JSON writing
+     * @param <T> object type
+     */
+    <T> void toJSON(T object, OutputStream outputStream);
+
+    /**
+     * Parse batch of objects to JSON, every object to its own JSON string.
+     * Objects are parsed by one reused buffer
+     *
+     * @param objects objects for parsing
+     * @return JSON strings in order of objects
+     * @param <T> object type
+     */
+    <T> List<String> toJSONs(List<T> objects);
+
+    /**
+     * Parse object to JSON on virtual thread, on Java versions without virtual threads - on common pool
+     *
+     * @param object for parsing
+     * @return future of JSON string
+     * @param <T> object type
+     */
+    <T> CompletableFuture<String> toJSONAsync(T object);
+
+    /**
+     * Parse object to UTF-8 encoded JSON without intermediate String
+     *
+     * @param object object for parsing
+     * @return UTF-8 bytes of JSON
+     * @param <T> object type
+     */
+    <T> byte[] toJSONBytes(T object);
+
+    /**
+     * Parse object to UTF-8 encoded JSON and put it into given buffer
+     *
+     * @param object object for parsing
+     * @param buffer buffer for JSON, its position is moved after JSON
+     * @param <T> object type
+     */
+    <T> void toJSON(T object, ByteBuffer buffer);
+
     /**
      *
      * Parse JSON to object
@@ -28,4 +96,153 @@ public interface JSONParser {
      */
     <T> T toObject(Class<T> objectClass, String json);
 
+    /**
+     * Parse JSON into existing object instead of new one. JSON keys overwrite fields of target,
+     * nested objects, arrays of the same length, collections and maps of target are reused,
+     * so pooled objects are updated without steady-state allocation of containers
+     * <p>
+     * Example: Car car = pool.take(); car = parser.toObject(car, json);
+     *
+     * @param target object for parsing into, fields without JSON keys keep their values
+     * @param json string for parsing into object
+     * @return target or new value when target can't be reused: for JSON null, array of other length,
+     * record or object created by builder
+     * @param <T> object type
+     */
+    <T> T toObject(T target, String json);
+
+    /**
+     * Parse UTF-8 JSON bytes into existing object. Buffer position isn't changed
+     *
+     * @param target object for parsing into
+     * @param json buffer with UTF-8 JSON
+     * @return target or new value when target can't be reused
+     * @param <T> object type
+     * @see #toObject(Object, String)
+     */
+    <T> T toObject(T target, ByteBuffer json);
+
+    /**
+     * Parse batch of JSON strings to objects of one class. Class plan is looked up once per batch
+     *
+     * @param objectClass object class of T type
+     * @param jsons strings for parsing to objects
+     * @return objects in order of JSON strings
+     * @param <T> object type
+     */
+    <T> List<T> toObjects(Class<T> objectClass, List<String> jsons);
+
+    /**
+     * Parse JSON to object on virtual thread, on Java versions without virtual threads - on common pool
+     *
+     * @param objectClass object class of T type
+     * @param json string for parsing to object
+     * @return future of object from JSON string
+     * @param <T> object type
+     */
+    <T> CompletableFuture<T> toObjectAsync(Class<T> objectClass, String json);
+
+    /**
+     * Parse UTF-8 JSON file to object. File is memory-mapped and parsed by bytes,
+     * only string values are decoded
+     *
+     * @param objectClass object class of T type
+     * @param jsonFile path to UTF-8 JSON file
+     * @return Object from JSON file
+     * @param <T> object type
+     */
+    <T> T toObject(Class<T> objectClass, Path jsonFile);
+
+    /**
+     * Parse UTF-8 JSON bytes to object. Remaining bytes of buffer are parsed without decoding,
+     * only string values are decoded. Buffer position isn't changed
+     *
+     * @param objectClass object class of T type
+     * @param json buffer with UTF-8 JSON, e.g. {@link java.nio.MappedByteBuffer}
+     * @return Object from JSON bytes
+     * @param <T> object type
+     */
+    <T> T toObject(Class<T> objectClass, ByteBuffer json);
+
+    /**
+     * Create resumable parser of UTF-8 JSON which arrives by chunks, e.g. from non-blocking channel.
+     * Chunks are parsed as they are fed, keys of top-level object and elements of top-level array
+     * are bound without buffering whole JSON
+     * <p>
+     * Example: while (!parser.feed(chunk)) { read next chunk }; T object = parser.finish();
+     *
+     * @param objectClass object class of T type
+     * @return parser of one JSON value
+     * @param <T> object type
+     */
+    <T> PushJSONToObjectFormatter<T> toPushParser(Class<T> objectClass);
+
+    /**
+     * Parse large JSON array to list of objects. Array elements are parsed in parallel
+     *
+     * @param elementClass class of array elements
+     * @param json JSON array
+     * @param parallelism quantity of parsing threads
+     * @return list of objects in JSON order
+     * @param <T> element type
+     */
+    <T> List<T> toList(Class<T> elementClass, String json, int parallelism);
+
+    /**
+     * Parse large UTF-8 JSON array file to list of objects. File is memory-mapped,
+     * array elements are parsed in parallel
+     *
+     * @param elementClass class of array elements
+     * @param jsonFile path to UTF-8 JSON file
+     * @param parallelism quantity of parsing threads
+     * @return list of objects in JSON order
+     * @param <T> element type
+     */
+    <T> List<T> toList(Class<T> elementClass, Path jsonFile, int parallelism);
+
+    /**
+     * Parse UTF-8 JSON lines file, where every line is JSON of one object, to stream of objects
+     * in file order. Lines are parsed in parallel ahead of stream consumer.
+     * Stream should be closed when it isn't read to the end
+     *
+     * @param objectClass object class of T type
+     * @param jsonLinesFile path to JSON lines file
+     * @param parallelism quantity of parsing threads
+     * @return lazy stream of objects
+     * @param <T> object type
+     */
+    default <T> Stream<T> readJSONLines(Class<T> objectClass, Path jsonLinesFile, int parallelism) {
+        return readJSONLines(objectClass, jsonLinesFile, parallelism, true);
+    }
+
+    /**
+     * Parse UTF-8 JSON lines file to stream of objects
+     *
+     * @param objectClass object class of T type
+     * @param jsonLinesFile path to JSON lines file
+     * @param parallelism quantity of parsing threads
+     * @param ordered true if objects should be streamed in file order, otherwise - in parsing order
+     * @return lazy stream of objects
+     * @param <T> object type
+     */
+    <T> Stream<T> readJSONLines(Class<T> objectClass, Path jsonLinesFile, int parallelism, boolean ordered);
+
+    /**
+     * Parse objects to UTF-8 JSON lines file. Objects are parsed in parallel
+     * and written in stream order, every object to its own line
+     *
+     * @param objects stream of objects
+     * @param jsonLinesFile path to JSON lines file, existing file is rewritten
+     * @param <T> object type
+     */
+    <T> void writeJSONLines(Stream<T> objects, Path jsonLinesFile);
+
+    /**
+     * Index JSON for on-demand access to its values without formatting it to objects
+     *
+     * @param json string for indexing
+     * @return lazy document, e.g. toDocument(json).get("man").get("age").asInt()
+     */
+    JSONDocument toDocument(String json);
+
 }
@@ -1,32 +1,616 @@
 package ru.clevertec.knyazev.jsonparser;
 
 import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
+import ru.clevertec.knyazev.jsonparser.codec.CodecProvider;
+import ru.clevertec.knyazev.jsonparser.converter.ConversionErrors;
+import ru.clevertec.knyazev.jsonparser.event.DeserializationEvent;
+import ru.clevertec.knyazev.jsonparser.event.SerializationEvent;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.formatter.CodecJSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.CodecObjectToJSONFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.JSONLinesFormatter;
 import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
 import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.ParallelJSONArrayFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.PushJSONToObjectFormatter;
 import ru.clevertec.knyazev.jsonparser.json.JSON;
+import ru.clevertec.knyazev.jsonparser.json.JSONDocument;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.json.UTF8CharSequence;
+import ru.clevertec.knyazev.jsonparser.metrics.JSONParserMetrics;
 
-@NoArgsConstructor
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Represents JSON parser which formats by given formatters. Parser is stateless: formatters keep
+ * only immutable configuration, per-call state (tokenizer, writer, document index) is created on
+ * every call or taken from recycled per-thread buffers. So one parser instance is shared by all threads.
+ * <p>
+ * Formatting calls emit {@link SerializationEvent} and {@link DeserializationEvent} of JDK Flight Recorder
+ * for calls slower than event threshold, JSON written to sink or output stream is measured by length only.
+ * These calls are counted by optional {@link JSONParserMetrics}, batch and parallel array are counted as one call
+ * of element class, conversion errors of parallel array are counted only for elements of calling thread.
+ * JSON lines and push parser calls aren't measured: lines are streamed lazily or from stream of objects
+ * of any classes and push parser is returned before JSON is fed, so call has no root class, length or duration.
+ */
 @AllArgsConstructor
 public class JSONParserImpl implements JSONParser {
 
-    private ObjectToJSONFormatter objectToJSONFormatter;
-    private JSONToObjectFormatter jsonToObjectFormatter;
+    private static final String OUTPUT_STREAM_WRITING_ERROR = "Error when writing JSON to output stream";
+    private static final String FILE_READING_ERROR = "Error when reading JSON from file %s";
+
+    /**
+     * Virtual thread per task executor of Java 21, common pool for earlier versions.
+     * Parsing doesn't lock monitors, so virtual threads aren't pinned to carrier threads
+     */
+    private static final Executor ASYNC_EXECUTOR = newAsyncExecutor();
+
+    private final ObjectToJSONFormatter objectToJSONFormatter;
+    private final JSONToObjectFormatter jsonToObjectFormatter;
+
+    /**
+     * Metrics registry, null when calls aren't measured
+     */
+    private final JSONParserMetrics metrics;
+
+    /**
+     * Create parser which formats objects by reflection
+     */
+    public JSONParserImpl() {
+        this(new ObjectToJSONFormatterImpl(), new JSONToObjectFormatter());
+    }
+
+    /**
+     * Create parser which formats by given formatters without metrics
+     *
+     * @param objectToJSONFormatter formatter of objects to JSON
+     * @param jsonToObjectFormatter formatter of JSON to objects
+     */
+    public JSONParserImpl(ObjectToJSONFormatter objectToJSONFormatter, JSONToObjectFormatter jsonToObjectFormatter) {
+        this(objectToJSONFormatter, jsonToObjectFormatter, null);
+    }
+
+    /**
+     * Create parser which formats objects by codecs of given provider,
+     * objects of classes without codec are formatted by reflection
+     *
+     * @param codecProvider codec provider, e.g. {@link ru.clevertec.knyazev.jsonparser.codec.ServiceLoaderCodecProvider}
+     */
+    public JSONParserImpl(CodecProvider codecProvider) {
+        this(new CodecObjectToJSONFormatter(codecProvider), new CodecJSONToObjectFormatter(codecProvider));
+    }
+
+    /**
+     * Create parser with the same formatters which counts its calls in given registry
+     *
+     * @param metrics metrics registry, null to stop measuring
+     * @return new parser
+     */
+    public JSONParserImpl withMetrics(JSONParserMetrics metrics) {
+        return new JSONParserImpl(objectToJSONFormatter, jsonToObjectFormatter, metrics);
+    }
 
     @Override
     public <T> String toJSON(T object) {
 
-        String json = objectToJSONFormatter.formatObjectToJSON(object);
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long startTime = startTime();
+
+        String json;
+
+        try {
+            json = objectToJSONFormatter.formatObjectToJSON(object);
+        } catch (RuntimeException e) {
+            recordError(classOf(object));
+            throw e;
+        }
+
+        event.complete(classOf(object), json);
+        recordSerialization(classOf(object), lengthOf(json), startTime);
+
+        return json;
+    }
+
+    @Override
+    public <T> void toJSON(T object, Appendable sink) {
+
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long startTime = startTime();
+
+        ByteCountingAppendable countingSink = event.isEnabled() || metrics != null
+                ? new ByteCountingAppendable(sink)
+                : null;
+
+        try {
+            objectToJSONFormatter.formatObjectToJSON(object, countingSink == null ? sink : countingSink);
+        } catch (RuntimeException e) {
+            recordError(classOf(object));
+            throw e;
+        }
+
+        long byteLength = countingSink == null ? 0 : countingSink.byteLength;
 
-        return json.substring(0, json.length() - 1);
+        event.complete(classOf(object), byteLength);
+        recordSerialization(classOf(object), byteLength, startTime);
+    }
+
+    @Override
+    public <T> void toJSON(T object, OutputStream outputStream) {
+
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long startTime = startTime();
+
+        int byteLength;
+
+        try {
+            byteLength = objectToJSONFormatter.formatObjectToJSON(object, outputStream);
+        } catch (RuntimeException e) {
+            recordError(classOf(object));
+            throw e;
+        }
+
+        event.complete(classOf(object), byteLength);
+        recordSerialization(classOf(object), byteLength, startTime);
+
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new JSONParserException(OUTPUT_STREAM_WRITING_ERROR, e);
+        }
+    }
+
+    @Override
+    public <T> List<String> toJSONs(List<T> objects) {
+
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long startTime = startTime();
+
+        List<String> jsons;
+
+        try {
+            jsons = objectToJSONFormatter.formatObjectsToJSONs(objects);
+        } catch (RuntimeException e) {
+            recordError(classOf(objects));
+            throw e;
+        }
+
+        event.complete(classOf(objects), jsons);
+        recordSerialization(classOf(objects), lengthOf(jsons), startTime);
+
+        return jsons;
+    }
+
+    @Override
+    public <T> CompletableFuture<String> toJSONAsync(T object) {
+
+        return CompletableFuture.supplyAsync(() -> toJSON(object), ASYNC_EXECUTOR);
+    }
+
+    @Override
+    public <T> byte[] toJSONBytes(T object) {
+
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long startTime = startTime();
+
+        byte[] json;
+
+        try {
+            json = objectToJSONFormatter.formatObjectToJSONBytes(object);
+        } catch (RuntimeException e) {
+            recordError(classOf(object));
+            throw e;
+        }
+
+        event.complete(classOf(object), json);
+        recordSerialization(classOf(object), json.length, startTime);
+
+        return json;
+    }
+
+    @Override
+    public <T> void toJSON(T object, ByteBuffer buffer) {
+
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long startTime = startTime();
+        int start = buffer.position();
+
+        try {
+            objectToJSONFormatter.formatObjectToJSON(object, buffer);
+        } catch (RuntimeException e) {
+            recordError(classOf(object));
+            throw e;
+        }
+
+        event.complete(classOf(object), buffer, start, buffer.position());
+        recordSerialization(classOf(object), buffer.position() - start, startTime);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T toObject(Class<T> objectClass, String json) {
 
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+        long startTime = startTime();
+        long conversionErrors = conversionErrors();
+
+        T object;
+
+        try {
+            JSON jSon = new JSON(json);
+            object = jsonToObjectFormatter.formatJSONToObject(objectClass, jSon);
+        } catch (RuntimeException e) {
+            recordError(objectClass);
+            throw e;
+        }
+
+        event.complete(objectClass, json);
+        recordDeserialization(objectClass, lengthOf(json), startTime, conversionErrors);
+
+        return object;
+    }
+
+    @Override
+    public <T> T toObject(T target, String json) {
+
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+        long startTime = startTime();
+        long conversionErrors = conversionErrors();
+
+        T object;
+
+        try {
+            JSON jSon = new JSON(json);
+            object = jsonToObjectFormatter.formatJSONToObject(target, jSon.tokenizer());
+        } catch (RuntimeException e) {
+            recordError(classOf(target));
+            throw e;
+        }
+
+        event.complete(classOf(target), json);
+        recordDeserialization(classOf(target), lengthOf(json), startTime, conversionErrors);
+
+        return object;
+    }
+
+    @Override
+    public <T> T toObject(T target, ByteBuffer json) {
+
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+        long startTime = startTime();
+        long conversionErrors = conversionErrors();
+
+        T object;
+
+        try {
+            JSONTokenizer tokenizer = new JSONTokenizer(new UTF8CharSequence(json));
+            object = jsonToObjectFormatter.formatJSONToObject(target, tokenizer);
+        } catch (RuntimeException e) {
+            recordError(classOf(target));
+            throw e;
+        }
+
+        event.complete(classOf(target), json);
+        recordDeserialization(classOf(target), json.remaining(), startTime, conversionErrors);
+
+        return object;
+    }
+
+    @Override
+    public <T> List<T> toObjects(Class<T> objectClass, List<String> jsons) {
+
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+        long startTime = startTime();
+        long conversionErrors = conversionErrors();
+
+        List<T> objects;
+
+        try {
+            objects = jsonToObjectFormatter.formatJSONsToObjects(objectClass, jsons);
+        } catch (RuntimeException e) {
+            recordError(objectClass);
+            throw e;
+        }
+
+        event.complete(objectClass, jsons);
+        recordDeserialization(objectClass, lengthOf(jsons), startTime, conversionErrors);
+
+        return objects;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> toObjectAsync(Class<T> objectClass, String json) {
+
+        return CompletableFuture.supplyAsync(() -> toObject(objectClass, json), ASYNC_EXECUTOR);
+    }
+
+    @Override
+    public <T> T toObject(Class<T> objectClass, Path jsonFile) {
+
+        return toObject(objectClass, map(jsonFile));
+    }
+
+    @Override
+    public <T> T toObject(Class<T> objectClass, ByteBuffer json) {
+
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+        long startTime = startTime();
+        long conversionErrors = conversionErrors();
+
+        T object;
+
+        try {
+            JSONTokenizer tokenizer = new JSONTokenizer(new UTF8CharSequence(json));
+            object = jsonToObjectFormatter.formatJSONToObject(objectClass, tokenizer);
+        } catch (RuntimeException e) {
+            recordError(objectClass);
+            throw e;
+        }
+
+        event.complete(objectClass, json);
+        recordDeserialization(objectClass, json.remaining(), startTime, conversionErrors);
+
+        return object;
+    }
+
+    @Override
+    public <T> PushJSONToObjectFormatter<T> toPushParser(Class<T> objectClass) {
+
+        return new PushJSONToObjectFormatter<>(jsonToObjectFormatter, objectClass);
+    }
+
+    @Override
+    public <T> List<T> toList(Class<T> elementClass, String json, int parallelism) {
+
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+        long startTime = startTime();
+        long conversionErrors = conversionErrors();
+
+        ParallelJSONArrayFormatter parallelJSONArrayFormatter = new ParallelJSONArrayFormatter(jsonToObjectFormatter);
+        T[] objects;
+
+        try {
+            objects = parallelJSONArrayFormatter.formatJSONArrayToObjects(elementClass, json, parallelism);
+        } catch (RuntimeException e) {
+            recordError(elementClass);
+            throw e;
+        }
+
+        event.complete(elementClass, json);
+        recordDeserialization(elementClass, lengthOf(json), startTime, conversionErrors);
+
+        return Arrays.asList(objects);
+    }
+
+    @Override
+    public <T> List<T> toList(Class<T> elementClass, Path jsonFile, int parallelism) {
+
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+        long startTime = startTime();
+        long conversionErrors = conversionErrors();
+
+        ParallelJSONArrayFormatter parallelJSONArrayFormatter = new ParallelJSONArrayFormatter(jsonToObjectFormatter);
+        ByteBuffer json = map(jsonFile);
+        T[] objects;
+
+        try {
+            objects = parallelJSONArrayFormatter.formatJSONArrayToObjects(elementClass, new UTF8CharSequence(json),
+                    parallelism);
+        } catch (RuntimeException e) {
+            recordError(elementClass);
+            throw e;
+        }
+
+        event.complete(elementClass, json);
+        recordDeserialization(elementClass, json.remaining(), startTime, conversionErrors);
+
+        return Arrays.asList(objects);
+    }
+
+    @Override
+    public <T> Stream<T> readJSONLines(Class<T> objectClass, Path jsonLinesFile, int parallelism, boolean ordered) {
+
+        JSONLinesFormatter jsonLinesFormatter = new JSONLinesFormatter(objectToJSONFormatter, jsonToObjectFormatter);
+
+        return jsonLinesFormatter.formatJSONLinesToObjects(objectClass, jsonLinesFile, parallelism, ordered);
+    }
+
+    @Override
+    public <T> void writeJSONLines(Stream<T> objects, Path jsonLinesFile) {
+
+        JSONLinesFormatter jsonLinesFormatter = new JSONLinesFormatter(objectToJSONFormatter, jsonToObjectFormatter);
+
+        jsonLinesFormatter.formatObjectsToJSONLines(objects, jsonLinesFile, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public JSONDocument toDocument(String json) {
+
         JSON jSon = new JSON(json);
 
-        return jsonToObjectFormatter.formatJSONToObject(objectClass, jSon);
+        return jSon.document();
+    }
+
+    private long startTime() {
+        return metrics == null ? 0 : System.nanoTime();
+    }
+
+    private long conversionErrors() {
+        return metrics == null ? 0 : ConversionErrors.ofCurrentThread();
+    }
+
+    private void recordSerialization(Class<?> rootClass, long length, long startTime) {
+        if (metrics != null) {
+            metrics.recordSerialization(rootClass, length, startTime);
+        }
+    }
+
+    private void recordDeserialization(Class<?> rootClass, long length, long startTime, long conversionErrors) {
+        if (metrics != null) {
+            metrics.recordDeserialization(rootClass, length, startTime,
+                    ConversionErrors.ofCurrentThread() - conversionErrors);
+        }
+    }
+
+    private void recordError(Class<?> rootClass) {
+        if (metrics != null) {
+            metrics.recordError(rootClass);
+        }
+    }
+
+    /**
+     * UTF-8 length of JSON, it's counted only when calls are measured
+     */
+    private long lengthOf(CharSequence json) {
+
+        long length = 0;
+
+        if (metrics != null) {
+            for (int i = 0; i < json.length(); i++) {
+                length += byteLengthOf(json.charAt(i));
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Total UTF-8 length of batch JSONs, it's counted only when calls are measured
+     */
+    private long lengthOf(List<String> jsons) {
+
+        long length = 0;
+
+        if (metrics != null) {
+            for (String json : jsons) {
+                length += lengthOf(json);
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * UTF-8 length of char, each char of surrogate pair is 2 bytes of 4 bytes of pair
+     */
+    private static int byteLengthOf(char ch) {
+        return ch < 0x80 ? 1 : ch < 0x800 || Character.isSurrogate(ch) ? 2 : 3;
+    }
+
+    private static Class<?> classOf(Object object) {
+        return object == null ? null : object.getClass();
+    }
+
+    /**
+     * Class of the first not null object of batch, null when batch has only null objects
+     */
+    private static Class<?> classOf(List<?> objects) {
+
+        for (Object object : objects) {
+            if (object != null) {
+                return object.getClass();
+            }
+        }
+
+        return null;
+    }
+
+    private static Executor newAsyncExecutor() {
+        try {
+            MethodHandle newVirtualThreadPerTaskExecutor = MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class));
+
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invokeExact();
+        } catch (Throwable e) {
+            return ForkJoinPool.commonPool();
+        }
+    }
+
+    /**
+     * Map whole file to memory. Mapping stays valid after channel is closed,
+     * files larger than 2 GB can't be mapped
+     */
+    private static MappedByteBuffer map(Path jsonFile) throws JSONParserException {
+        try (FileChannel channel = FileChannel.open(jsonFile, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new JSONParserException(String.format(FILE_READING_ERROR, jsonFile), e);
+        }
+    }
+
+    /**
+     * Sink which counts UTF-8 length of JSON appended to target sink, so JSON written
+     * to Appendable is measured without keeping it
+     */
+    private static final class ByteCountingAppendable implements Appendable {
+
+        private final Appendable sink;
+
+        private long byteLength;
+
+        private ByteCountingAppendable(Appendable sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public Appendable append(CharSequence value) throws IOException {
+            return append(value, 0, value.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence value, int start, int end) throws IOException {
+
+            for (int i = start; i < end; i++) {
+                count(value.charAt(i));
+            }
+
+            sink.append(value, start, end);
+
+            return this;
+        }
+
+        @Override
+        public Appendable append(char ch) throws IOException {
+
+            count(ch);
+            sink.append(ch);
+
+            return this;
+        }
+
+        private void count(char ch) {
+            byteLength += byteLengthOf(ch);
+        }
     }
 }
@@ -0,0 +1,72 @@
+package ru.clevertec.knyazev.jsonparser.accessor;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.lang.reflect.Field;
+
+/**
+ * Represents access to object field. Primitive getters and setters don't box
+ * field value and can be used only for the field of the same primitive type,
+ * e.g. {@link #getInt(Object)} for int field.
+ */
+public interface FieldAccessor {
+
+    /**
+     * Create accessor for given field
+     *
+     * @param field accessible field
+     * @return field accessor
+     * @throws JSONParserException when field is not accessible
+     */
+    static FieldAccessor of(Field field) throws JSONParserException {
+        return new MethodHandleFieldAccessor(field);
+    }
+
+    /**
+     * Get field value, primitive value is boxed
+     *
+     * @param object object which field value should be returned
+     * @return field value
+     */
+    Object get(Object object);
+
+    /**
+     * Set field value, primitive field is set from boxed value
+     *
+     * @param object object which field value should be set
+     * @param value  field value
+     */
+    void set(Object object, Object value);
+
+    boolean getBoolean(Object object);
+
+    void setBoolean(Object object, boolean value);
+
+    byte getByte(Object object);
+
+    void setByte(Object object, byte value);
+
+    short getShort(Object object);
+
+    void setShort(Object object, short value);
+
+    char getChar(Object object);
+
+    void setChar(Object object, char value);
+
+    int getInt(Object object);
+
+    void setInt(Object object, int value);
+
+    long getLong(Object object);
+
+    void setLong(Object object, long value);
+
+    float getFloat(Object object);
+
+    void setFloat(Object object, float value);
+
+    double getDouble(Object object);
+
+    void setDouble(Object object, double value);
+}
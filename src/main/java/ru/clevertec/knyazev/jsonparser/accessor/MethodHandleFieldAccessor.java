@@ -0,0 +1,247 @@
+package ru.clevertec.knyazev.jsonparser.accessor;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Represents {@link FieldAccessor} based on method handles. Handles are adapted once
+ * to (Object)fieldType getter and (Object, fieldType)void setter types and are invoked
+ * exactly, so primitive values are never boxed and access is checked only on creation.
+ * <p>
+ * Handles are kept in instance fields, one accessor per field, so JIT can't fold them to constants
+ * as static final handles and inlines them only where call site sees one accessor. It's the price
+ * of accessors created at runtime for any class: hot classes get codecs generated by annotation
+ * processor with static final VarHandles, the difference is measured by FieldAccessorBenchmark.
+ */
+final class MethodHandleFieldAccessor implements FieldAccessor {
+
+    private static final String FIELD_ACCESSOR_ERROR = "Error. Can't create accessor for field %s";
+    private static final String FIELD_ACCESS_ERROR = "Error when accessing field %s";
+
+    private final String fieldName;
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    private final MethodHandle objectGetter;
+    private final MethodHandle objectSetter;
+
+    MethodHandleFieldAccessor(Field field) throws JSONParserException {
+
+        fieldName = field.getName();
+
+        Class<?> fieldType = field.getType();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        try {
+            getter = lookup.unreflectGetter(field)
+                    .asType(MethodType.methodType(fieldType, Object.class));
+            setter = unreflectSetter(lookup, field)
+                    .asType(MethodType.methodType(void.class, Object.class, fieldType));
+        } catch (IllegalAccessException e) {
+            throw new JSONParserException(String.format(FIELD_ACCESSOR_ERROR, fieldName), e);
+        }
+
+        objectGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        objectSetter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    @Override
+    public Object get(Object object) {
+        try {
+            return objectGetter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void set(Object object, Object value) {
+        try {
+            objectSetter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object object) {
+        try {
+            return (boolean) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object object, boolean value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public byte getByte(Object object) {
+        try {
+            return (byte) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setByte(Object object, byte value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public short getShort(Object object) {
+        try {
+            return (short) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setShort(Object object, short value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public char getChar(Object object) {
+        try {
+            return (char) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setChar(Object object, char value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public int getInt(Object object) {
+        try {
+            return (int) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setInt(Object object, int value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object object) {
+        try {
+            return (long) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setLong(Object object, long value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public float getFloat(Object object) {
+        try {
+            return (float) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setFloat(Object object, float value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object object) {
+        try {
+            return (double) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object object, double value) {
+        try {
+            setter.invokeExact(object, value);
+        } catch (Throwable e) {
+            throw accessError(e);
+        }
+    }
+
+    /**
+     * Final fields of records and hidden classes can't be set, they're set by constructor.
+     * Setter of such field throws on invocation, so accessor is created for formatting to JSON
+     */
+    private static MethodHandle unreflectSetter(MethodHandles.Lookup lookup, Field field)
+            throws IllegalAccessException {
+        try {
+            return lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            if (!Modifier.isFinal(field.getModifiers())) {
+                throw e;
+            }
+
+            return MethodHandles.dropArguments(
+                    MethodHandles.throwException(void.class, IllegalAccessException.class).bindTo(e),
+                    0, field.getDeclaringClass(), field.getType());
+        }
+    }
+
+    private JSONParserException accessError(Throwable cause) {
+
+        if (cause instanceof Error error) {
+            throw error;
+        }
+
+        if (cause instanceof JSONParserException jsonParserException) {
+            return jsonParserException;
+        }
+
+        return new JSONParserException(String.format(FIELD_ACCESS_ERROR, fieldName), cause);
+    }
+}
@@ -0,0 +1,184 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents writer of method bytecode for {@link CodecClassWriter}. Supports forward and
+ * backward jumps to labels, jump offsets are patched when method is ended.
+ */
+final class CodecMethodWriter {
+
+    static final int ACONST_NULL = 0x01;
+    static final int ICONST_0 = 0x03;
+    static final int ICONST_1 = 0x04;
+    static final int LDC_W = 0x13;
+    static final int ILOAD = 0x15;
+    static final int ALOAD = 0x19;
+    static final int ASTORE = 0x3a;
+    static final int POP = 0x57;
+    static final int DUP = 0x59;
+    static final int I2L = 0x85;
+    static final int IFEQ = 0x99;
+    static final int GOTO = 0xa7;
+    static final int TABLESWITCH = 0xaa;
+    static final int IRETURN = 0xac;
+    static final int ARETURN = 0xb0;
+    static final int RETURN = 0xb1;
+    static final int GETFIELD = 0xb4;
+    static final int PUTFIELD = 0xb5;
+    static final int INVOKEVIRTUAL = 0xb6;
+    static final int INVOKESPECIAL = 0xb7;
+    static final int INVOKESTATIC = 0xb8;
+    static final int INVOKEINTERFACE = 0xb9;
+    static final int NEW = 0xbb;
+    static final int CHECKCAST = 0xc0;
+    static final int IFNULL = 0xc6;
+
+    private final CodecClassWriter classWriter;
+    private final int access;
+    private final int nameIndex;
+    private final int descriptorIndex;
+
+    private byte[] code = new byte[64];
+    private int length;
+
+    private final List<Jump> jumps = new ArrayList<>();
+
+    CodecMethodWriter(CodecClassWriter classWriter, int access, int nameIndex, int descriptorIndex) {
+        this.classWriter = classWriter;
+        this.access = access;
+        this.nameIndex = nameIndex;
+        this.descriptorIndex = descriptorIndex;
+    }
+
+    CodecMethodWriter op(int opcode) {
+        return u1(opcode);
+    }
+
+    /**
+     * Write instruction with local variable index operand, e.g. ALOAD 4
+     */
+    CodecMethodWriter var(int opcode, int index) {
+        return u1(opcode).u1(index);
+    }
+
+    /**
+     * Write instruction with constant pool index operand, e.g. GETFIELD #12
+     */
+    CodecMethodWriter cp(int opcode, int constantIndex) {
+        return u1(opcode).u2(constantIndex);
+    }
+
+    CodecMethodWriter invokeInterface(int constantIndex, int argumentSlots) {
+        return u1(INVOKEINTERFACE).u2(constantIndex).u1(argumentSlots + 1).u1(0);
+    }
+
+    CodecMethodWriter jump(int opcode, Label label) {
+        jumps.add(new Jump(length, length + 1, label, false));
+
+        return u1(opcode).u2(0);
+    }
+
+    /**
+     * Write tableswitch for keys from 0 to labels.length - 1
+     */
+    CodecMethodWriter tableSwitch(Label defaultLabel, Label... labels) {
+        int opcodePosition = length;
+
+        u1(TABLESWITCH);
+
+        while (length % 4 != 0) {
+            u1(0);
+        }
+
+        jumps.add(new Jump(opcodePosition, length, defaultLabel, true));
+        u4(0);
+        u4(0);
+        u4(labels.length - 1);
+
+        for (Label label : labels) {
+            jumps.add(new Jump(opcodePosition, length, label, true));
+            u4(0);
+        }
+
+        return this;
+    }
+
+    CodecMethodWriter mark(Label label) {
+        label.position = length;
+
+        return this;
+    }
+
+    /**
+     * Patch jumps and add method to class writer
+     *
+     * @param maxStack  maximum operand stack size
+     * @param maxLocals number of local variable slots
+     */
+    void end(int maxStack, int maxLocals) {
+
+        for (Jump jump : jumps) {
+            int offset = jump.label.position - jump.opcodePosition;
+
+            if (jump.wide) {
+                putU4(jump.operandPosition, offset);
+            } else {
+                putU2(jump.operandPosition, offset);
+            }
+        }
+
+        classWriter.addMethod(access, nameIndex, descriptorIndex, maxStack, maxLocals,
+                Arrays.copyOf(code, length));
+    }
+
+    private CodecMethodWriter u1(int value) {
+        ensureCapacity(1);
+        code[length++] = (byte) value;
+
+        return this;
+    }
+
+    private CodecMethodWriter u2(int value) {
+        ensureCapacity(2);
+        putU2(length, value);
+        length += 2;
+
+        return this;
+    }
+
+    private CodecMethodWriter u4(int value) {
+        ensureCapacity(4);
+        putU4(length, value);
+        length += 4;
+
+        return this;
+    }
+
+    private void putU2(int position, int value) {
+        code[position] = (byte) (value >>> 8);
+        code[position + 1] = (byte) value;
+    }
+
+    private void putU4(int position, int value) {
+        code[position] = (byte) (value >>> 24);
+        code[position + 1] = (byte) (value >>> 16);
+        code[position + 2] = (byte) (value >>> 8);
+        code[position + 3] = (byte) value;
+    }
+
+    private void ensureCapacity(int size) {
+        if (length + size > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, length + size));
+        }
+    }
+
+    static final class Label {
+        private int position = -1;
+    }
+
+    private record Jump(int opcodePosition, int operandPosition, Label label, boolean wide) {
+    }
+}
@@ -0,0 +1,37 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+/**
+ * Represents source of {@link JSONCodec} for classes
+ */
+@FunctionalInterface
+public interface CodecProvider {
+
+    /**
+     * Get codec for given class
+     *
+     * @param type class
+     * @param <T>  class type
+     * @return codec or null when provider has no codec for given class
+     */
+    <T> JSONCodec<T> getCodec(Class<T> type);
+
+    /**
+     * Combine this provider with other provider
+     * <p>
+     * Example: new ServiceLoaderCodecProvider().or(new HiddenClassCodecProvider()) uses
+     * compile time codecs and generates codecs at runtime for other classes
+     *
+     * @param other provider used when this provider has no codec
+     * @return combined provider
+     */
+    default CodecProvider or(CodecProvider other) {
+        return new CodecProvider() {
+            @Override
+            public <T> JSONCodec<T> getCodec(Class<T> type) {
+                JSONCodec<T> codec = CodecProvider.this.getCodec(type);
+
+                return codec != null ? codec : other.getCodec(type);
+            }
+        };
+    }
+}
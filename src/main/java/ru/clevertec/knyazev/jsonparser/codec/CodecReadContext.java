@@ -0,0 +1,30 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+
+/**
+ * Represents formatter used by {@link JSONCodec} for fields it can't format from JSON itself
+ */
+public interface CodecReadContext {
+
+    /**
+     * Format JSON value to object field
+     *
+     * @param object    object which field should be set
+     * @param fieldPlan plan of object field
+     * @param tokenizer tokenizer which current token is the first token of value
+     */
+    void readField(Object object, FieldPlan fieldPlan, JSONTokenizer tokenizer);
+
+    /**
+     * Format JSON object to new object
+     *
+     * @param type      object class
+     * @param tokenizer tokenizer which current token is object begin or null,
+     *                  after formatting stays on object end or null
+     * @param <T>       object type
+     * @return formatted object or null
+     */
+    <T> T readObject(Class<T> type, JSONTokenizer tokenizer);
+}
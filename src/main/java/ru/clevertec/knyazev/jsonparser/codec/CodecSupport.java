@@ -0,0 +1,84 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import ru.clevertec.knyazev.jsonparser.converter.Converter;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+
+/**
+ * Represents conversions of scalar tokens called from generated codecs. Conversions
+ * are the same as conversions of formatters.
+ * <p>
+ * Should be public as generated codecs belong to packages of codec classes.
+ */
+public final class CodecSupport {
+
+    private CodecSupport() {
+    }
+
+    public static boolean readBoolean(JSONTokenizer tokenizer) {
+        return Converter.convertToBooleanValue(tokenizer);
+    }
+
+    public static byte readByte(JSONTokenizer tokenizer) {
+        return Converter.convertToByteValue(tokenizer);
+    }
+
+    public static short readShort(JSONTokenizer tokenizer) {
+        return Converter.convertToShortValue(tokenizer);
+    }
+
+    public static char readChar(JSONTokenizer tokenizer) {
+        return Converter.convertToCharValue(tokenizer);
+    }
+
+    public static int readInt(JSONTokenizer tokenizer) {
+        return Converter.convertToIntValue(tokenizer);
+    }
+
+    public static long readLong(JSONTokenizer tokenizer) {
+        return Converter.convertToLongValue(tokenizer);
+    }
+
+    public static float readFloat(JSONTokenizer tokenizer) {
+        return Converter.convertToFloatValue(tokenizer);
+    }
+
+    public static double readDouble(JSONTokenizer tokenizer) {
+        return Converter.convertToDoubleValue(tokenizer);
+    }
+
+    public static Boolean readBooleanObject(JSONTokenizer tokenizer) {
+        return Converter.convertToBoolean(tokenizer);
+    }
+
+    public static Byte readByteObject(JSONTokenizer tokenizer) {
+        return Converter.convertToByte(tokenizer);
+    }
+
+    public static Short readShortObject(JSONTokenizer tokenizer) {
+        return Converter.convertToShort(tokenizer);
+    }
+
+    public static Character readCharObject(JSONTokenizer tokenizer) {
+        return Converter.convertToCharacter(tokenizer);
+    }
+
+    public static Integer readIntObject(JSONTokenizer tokenizer) {
+        return Converter.convertToInteger(tokenizer);
+    }
+
+    public static Long readLongObject(JSONTokenizer tokenizer) {
+        return Converter.convertToLong(tokenizer);
+    }
+
+    public static Float readFloatObject(JSONTokenizer tokenizer) {
+        return Converter.convertToFloat(tokenizer);
+    }
+
+    public static Double readDoubleObject(JSONTokenizer tokenizer) {
+        return Converter.convertToDouble(tokenizer);
+    }
+
+    public static String readString(JSONTokenizer tokenizer) {
+        return tokenizer.tokenString();
+    }
+}
@@ -0,0 +1,17 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+
+/**
+ * Represents formatter used by {@link JSONCodec} for values it can't format to JSON itself
+ */
+public interface CodecWriteContext {
+
+    /**
+     * Format value of any type to JSON
+     *
+     * @param value  value, may be null
+     * @param writer JSON writer
+     */
+    void writeValue(Object value, JSONWriter writer);
+}
@@ -0,0 +1,28 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Represents mark of class which {@link JSONCodec} should be generated at compile time.
+ * Generated codec is named ClassName$JSONCodec, belongs to the package of annotated class
+ * and is registered as {@link java.util.ServiceLoader} service of {@link JSONCodec},
+ * so it is found by {@link ServiceLoaderCodecProvider}.
+ * <p>
+ * Example:
+ * <pre>
+ * &#64;GenerateJSONCodec
+ * public class Human {
+ *     private String name;
+ *     private int age;
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateJSONCodec {
+}
@@ -0,0 +1,39 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+
+/**
+ * Represents class generated at runtime by {@link HiddenClassCodecProvider}. Generated class
+ * is nestmate of codec class, so it reads and writes fields directly.
+ * <p>
+ * Should be public as generated class belongs to the package of codec class.
+ */
+public interface GeneratedCodec {
+
+    /**
+     * Format object to JSON
+     *
+     * @param object  not null object of codec class
+     * @param writer  JSON writer
+     * @param context formatter for not simple field values
+     */
+    void write(Object object, JSONWriter writer, CodecWriteContext context);
+
+    /**
+     * Create object of codec class by no-arg constructor
+     *
+     * @return new object
+     */
+    Object newInstance();
+
+    /**
+     * Set simple field from current scalar token
+     *
+     * @param object    object of codec class
+     * @param index     index of field in class plan
+     * @param tokenizer tokenizer which current token is the first token of value
+     * @return true if field has been set, false if field should be set by formatter
+     */
+    boolean readField(Object object, int index, JSONTokenizer tokenizer);
+}
@@ -0,0 +1,84 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenType;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+import ru.clevertec.knyazev.jsonparser.util.JSONDeterminerUtil;
+
+/**
+ * Represents {@link JSONCodec} backed by class generated by {@link HiddenClassCodecGenerator}.
+ * JSON keys are walked in order, simple fields are set by generated class,
+ * other fields are set by formatter.
+ *
+ * @param <T> codec class type
+ */
+final class HiddenClassCodec<T> implements JSONCodec<T>, JSONDeterminerUtil {
+
+    private static final String READING_ERROR = "Error. Codec of %s can't format JSON to object";
+
+    private final ClassPlan<T> classPlan;
+
+    private final GeneratedCodec generatedCodec;
+
+    private final boolean readable;
+
+    HiddenClassCodec(ClassPlan<T> classPlan, GeneratedCodec generatedCodec, boolean readable) {
+        this.classPlan = classPlan;
+        this.generatedCodec = generatedCodec;
+        this.readable = readable;
+    }
+
+    @Override
+    public Class<T> getType() {
+        return classPlan.getType();
+    }
+
+    @Override
+    public void write(T object, JSONWriter writer, CodecWriteContext context) {
+        generatedCodec.write(object, writer, context);
+    }
+
+    @Override
+    public T read(JSONTokenizer tokenizer, CodecReadContext context) throws JSONParserException {
+
+        if (!readable) {
+            throw new JSONParserException(String.format(READING_ERROR, classPlan.getType()));
+        }
+
+        T object = classPlan.getType().cast(generatedCodec.newInstance());
+
+        JSONTokenType tokenType = tokenizer.next();
+        FieldPlan previousField = null;
+
+        while (tokenType != JSONTokenType.END_OBJECT) {
+            tokenizer.expect(tokenType, JSONTokenType.STRING);
+
+            FieldPlan fieldPlan = classPlan.getField(tokenizer, previousField);
+
+            tokenizer.next(JSONTokenType.COLON);
+            tokenizer.next();
+
+            if (fieldPlan == null) {
+                tokenizer.skipValue();
+            } else if (!generatedCodec.readField(object, fieldPlan.getIndex(), tokenizer)) {
+                context.readField(object, fieldPlan, tokenizer);
+            }
+
+            if (fieldPlan != null) {
+                previousField = fieldPlan;
+            }
+
+            tokenType = nextElement(tokenizer, JSONTokenType.END_OBJECT);
+        }
+
+        return object;
+    }
+
+    @Override
+    public boolean isReadable() {
+        return readable;
+    }
+}
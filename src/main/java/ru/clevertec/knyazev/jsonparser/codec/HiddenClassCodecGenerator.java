@@ -0,0 +1,294 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenType;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+import ru.clevertec.knyazev.jsonparser.plan.SimpleType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+import static ru.clevertec.knyazev.jsonparser.codec.CodecMethodWriter.*;
+
+/**
+ * Represents generator of {@link GeneratedCodec} class for class plan. Generated class
+ * is defined as hidden nestmate of planned class and contains straight-line code
+ * for every field, so formatting needs no reflection and no type dispatch.
+ * <p>
+ * Example: for Class A {private String b; private int id;} generated write method is
+ * <pre>
+ * A a = (A) object;
+ * writer.beginObject();
+ * if (a.b != null) { writer.encodedName("\"b\":"); writer.value(a.b); }
+ * writer.encodedName("\"id\":"); writer.value((long) a.id);
+ * writer.endObject();
+ * </pre>
+ */
+final class HiddenClassCodecGenerator {
+
+    private static final String CODEC_CLASS_SUFFIX = "$$JSONCodec";
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String STRING = "java/lang/String";
+    private static final String GENERATED_CODEC = internalName(GeneratedCodec.class);
+    private static final String CODEC_SUPPORT = internalName(CodecSupport.class);
+    private static final String CODEC_WRITE_CONTEXT = internalName(CodecWriteContext.class);
+    private static final String JSON_WRITER = internalName(JSONWriter.class);
+    private static final String JSON_TOKENIZER = internalName(JSONTokenizer.class);
+    private static final String JSON_TOKEN_TYPE = internalName(JSONTokenType.class);
+
+    private static final String JSON_WRITER_DESCRIPTOR = "L" + JSON_WRITER + ";";
+    private static final String JSON_TOKENIZER_DESCRIPTOR = "L" + JSON_TOKENIZER + ";";
+
+    private static final int THIS = 0;
+    private static final int OBJECT_ARG = 1;
+    private static final int WRITER_ARG = 2;
+    private static final int CONTEXT_ARG = 3;
+    private static final int INDEX_ARG = 2;
+    private static final int TOKENIZER_ARG = 3;
+    private static final int TYPED_OBJECT_VAR = 4;
+    private static final int FIELD_VALUE_VAR = 5;
+
+    private HiddenClassCodecGenerator() {
+    }
+
+    /**
+     * Generate, define and instantiate codec class for given class plan
+     *
+     * @param classPlan plan of OBJECT category class which fields are all declared by planned class
+     * @param readable  true if codec should create objects and set fields
+     * @return generated codec
+     * @throws IllegalAccessException when codec class can't be defined in the package of planned class
+     */
+    static GeneratedCodec generate(ClassPlan<?> classPlan, boolean readable) throws IllegalAccessException {
+
+        Class<?> type = classPlan.getType();
+        String typeName = internalName(type);
+
+        CodecClassWriter classWriter = new CodecClassWriter(typeName + CODEC_CLASS_SUFFIX, OBJECT, GENERATED_CODEC);
+
+        writeConstructor(classWriter);
+        writeWrite(classWriter, classPlan.getFields(), typeName);
+        writeNewInstance(classWriter, typeName, readable);
+        writeReadField(classWriter, classPlan.getFields(), typeName, readable);
+
+        MethodHandles.Lookup codecLookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                .defineHiddenClass(classWriter.toByteArray(), true, MethodHandles.Lookup.ClassOption.NESTMATE);
+
+        try {
+            return (GeneratedCodec) codecLookup.findConstructor(codecLookup.lookupClass(),
+                    MethodType.methodType(void.class)).invoke();
+        } catch (IllegalAccessException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeConstructor(CodecClassWriter classWriter) {
+        classWriter.method(CodecClassWriter.ACC_PUBLIC, "<init>", "()V")
+                .var(ALOAD, THIS)
+                .cp(INVOKESPECIAL, classWriter.methodRef(OBJECT, "<init>", "()V"))
+                .op(RETURN)
+                .end(1, 1);
+    }
+
+    private static void writeWrite(CodecClassWriter classWriter, List<FieldPlan> fields, String typeName) {
+
+        CodecMethodWriter method = classWriter.method(CodecClassWriter.ACC_PUBLIC, "write",
+                "(L" + OBJECT + ";" + JSON_WRITER_DESCRIPTOR + "L" + CODEC_WRITE_CONTEXT + ";)V");
+
+        method.var(ALOAD, OBJECT_ARG)
+                .cp(CHECKCAST, classWriter.classRef(typeName))
+                .var(ASTORE, TYPED_OBJECT_VAR)
+                .var(ALOAD, WRITER_ARG)
+                .cp(INVOKEVIRTUAL, writerMethod(classWriter, "beginObject", "()"))
+                .op(POP);
+
+        for (FieldPlan field : fields) {
+
+            int fieldRef = classWriter.fieldRef(typeName, field.getName(), field.getType().descriptorString());
+
+            if (field.isPrimitive()) {
+                writeName(classWriter, method, field);
+
+                method.var(ALOAD, WRITER_ARG)
+                        .var(ALOAD, TYPED_OBJECT_VAR)
+                        .cp(GETFIELD, fieldRef);
+
+                String valueDescriptor = switch (field.getSimpleType()) {
+                    case BOOLEAN -> "Z";
+                    case CHAR -> "C";
+                    case FLOAT -> "F";
+                    case DOUBLE -> "D";
+                    case LONG -> "J";
+                    default -> {
+                        method.op(I2L);
+                        yield "J";
+                    }
+                };
+
+                method.cp(INVOKEVIRTUAL, writerMethod(classWriter, "value", "(" + valueDescriptor + ")"))
+                        .op(POP);
+
+                continue;
+            }
+
+            Label nullValue = new Label();
+
+            method.var(ALOAD, TYPED_OBJECT_VAR)
+                    .cp(GETFIELD, fieldRef)
+                    .var(ASTORE, FIELD_VALUE_VAR)
+                    .var(ALOAD, FIELD_VALUE_VAR)
+                    .jump(IFNULL, nullValue);
+
+            writeName(classWriter, method, field);
+
+            SimpleType simpleType = field.getSimpleType();
+
+            if (simpleType == SimpleType.NONE) {
+                method.var(ALOAD, CONTEXT_ARG)
+                        .var(ALOAD, FIELD_VALUE_VAR)
+                        .var(ALOAD, WRITER_ARG)
+                        .invokeInterface(classWriter.interfaceMethodRef(CODEC_WRITE_CONTEXT, "writeValue",
+                                "(L" + OBJECT + ";" + JSON_WRITER_DESCRIPTOR + ")V"), 2);
+            } else {
+                method.var(ALOAD, WRITER_ARG)
+                        .var(ALOAD, FIELD_VALUE_VAR);
+
+                String valueDescriptor = switch (simpleType) {
+                    case STRING -> "L" + STRING + ";";
+                    case BOOLEAN -> {
+                        method.cp(INVOKEVIRTUAL, classWriter.methodRef("java/lang/Boolean", "booleanValue", "()Z"));
+                        yield "Z";
+                    }
+                    case CHAR -> {
+                        method.cp(INVOKEVIRTUAL, classWriter.methodRef("java/lang/Character", "charValue", "()C"));
+                        yield "C";
+                    }
+                    default -> "Ljava/lang/Number;";
+                };
+
+                method.cp(INVOKEVIRTUAL, writerMethod(classWriter, "value", "(" + valueDescriptor + ")"))
+                        .op(POP);
+            }
+
+            method.mark(nullValue);
+        }
+
+        method.var(ALOAD, WRITER_ARG)
+                .cp(INVOKEVIRTUAL, writerMethod(classWriter, "endObject", "()"))
+                .op(POP)
+                .op(RETURN)
+                .end(4, 6);
+    }
+
+    private static void writeName(CodecClassWriter classWriter, CodecMethodWriter method, FieldPlan field) {
+        method.var(ALOAD, WRITER_ARG)
+                .cp(LDC_W, classWriter.string(field.getJsonKey()))
+                .cp(INVOKEVIRTUAL, writerMethod(classWriter, "encodedName", "(L" + STRING + ";)"))
+                .op(POP);
+    }
+
+    private static void writeNewInstance(CodecClassWriter classWriter, String typeName, boolean readable) {
+
+        CodecMethodWriter method = classWriter.method(CodecClassWriter.ACC_PUBLIC, "newInstance",
+                "()L" + OBJECT + ";");
+
+        if (readable) {
+            method.cp(NEW, classWriter.classRef(typeName))
+                    .op(DUP)
+                    .cp(INVOKESPECIAL, classWriter.methodRef(typeName, "<init>", "()V"));
+        } else {
+            method.op(ACONST_NULL);
+        }
+
+        method.op(ARETURN)
+                .end(2, 1);
+    }
+
+    private static void writeReadField(CodecClassWriter classWriter, List<FieldPlan> fields, String typeName,
+                                       boolean readable) {
+
+        CodecMethodWriter method = classWriter.method(CodecClassWriter.ACC_PUBLIC, "readField",
+                "(L" + OBJECT + ";I" + JSON_TOKENIZER_DESCRIPTOR + ")Z");
+
+        Label notRead = new Label();
+
+        if (readable && !fields.isEmpty()) {
+
+            Label[] fieldLabels = new Label[fields.size()];
+
+            for (int i = 0; i < fieldLabels.length; i++) {
+                fieldLabels[i] = fields.get(i).getSimpleType() == SimpleType.NONE
+                        ? notRead
+                        : new Label();
+            }
+
+            method.var(ALOAD, TOKENIZER_ARG)
+                    .cp(INVOKEVIRTUAL, classWriter.methodRef(JSON_TOKENIZER, "getTokenType",
+                            "()L" + JSON_TOKEN_TYPE + ";"))
+                    .cp(INVOKEVIRTUAL, classWriter.methodRef(JSON_TOKEN_TYPE, "isScalar", "()Z"))
+                    .jump(IFEQ, notRead)
+                    .var(ALOAD, OBJECT_ARG)
+                    .cp(CHECKCAST, classWriter.classRef(typeName))
+                    .var(ASTORE, TYPED_OBJECT_VAR)
+                    .var(ILOAD, INDEX_ARG)
+                    .tableSwitch(notRead, fieldLabels);
+
+            for (int i = 0; i < fieldLabels.length; i++) {
+
+                if (fieldLabels[i] == notRead) {
+                    continue;
+                }
+
+                FieldPlan field = fields.get(i);
+                String fieldDescriptor = field.getType().descriptorString();
+
+                method.mark(fieldLabels[i])
+                        .var(ALOAD, TYPED_OBJECT_VAR)
+                        .var(ALOAD, TOKENIZER_ARG)
+                        .cp(INVOKESTATIC, classWriter.methodRef(CODEC_SUPPORT, readMethodName(field),
+                                "(" + JSON_TOKENIZER_DESCRIPTOR + ")" + fieldDescriptor))
+                        .cp(PUTFIELD, classWriter.fieldRef(typeName, field.getName(), fieldDescriptor))
+                        .op(ICONST_1)
+                        .op(IRETURN);
+            }
+        }
+
+        method.mark(notRead)
+                .op(ICONST_0)
+                .op(IRETURN)
+                .end(4, 5);
+    }
+
+    private static String readMethodName(FieldPlan field) {
+
+        String typeName = switch (field.getSimpleType()) {
+            case BOOLEAN -> "Boolean";
+            case BYTE -> "Byte";
+            case SHORT -> "Short";
+            case CHAR -> "Char";
+            case INT -> "Int";
+            case LONG -> "Long";
+            case FLOAT -> "Float";
+            case DOUBLE -> "Double";
+            default -> "String";
+        };
+
+        return field.isPrimitive() || field.getSimpleType() == SimpleType.STRING
+                ? "read" + typeName
+                : "read" + typeName + "Object";
+    }
+
+    private static int writerMethod(CodecClassWriter classWriter, String name, String parameters) {
+        return classWriter.methodRef(JSON_WRITER, name, parameters + JSON_WRITER_DESCRIPTOR);
+    }
+
+    private static String internalName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/');
+    }
+}
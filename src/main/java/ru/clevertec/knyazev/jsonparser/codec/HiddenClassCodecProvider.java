@@ -0,0 +1,99 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
+import ru.clevertec.knyazev.jsonparser.plan.FieldCategory;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+
+/**
+ * Represents provider of codecs generated at runtime. Codec class is generated once per class
+ * on first use and defined as hidden nestmate of the class, so it accesses private fields
+ * directly and can be unloaded together with the class.
+ * <p>
+ * Codec is generated for classes which fields are all declared by the class itself.
+ * Codec reads JSON when class has no final fields and has no-arg constructor.
+ * For other classes provider returns null and formatter falls back to reflection.
+ */
+@Slf4j
+@NoArgsConstructor
+public class HiddenClassCodecProvider implements CodecProvider {
+
+    private static final ClassValue<Optional<JSONCodec<?>>> CODECS = new ClassValue<>() {
+        @Override
+        protected Optional<JSONCodec<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(createCodec(type));
+        }
+    };
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> JSONCodec<T> getCodec(Class<T> type) {
+        return (JSONCodec<T>) CODECS.get(type).orElse(null);
+    }
+
+    private static <T> JSONCodec<T> createCodec(Class<T> type) {
+
+        try {
+            ClassPlan<T> classPlan = ClassPlan.of(type);
+
+            if (!isGenerable(classPlan)) {
+                return null;
+            }
+
+            boolean readable = isReadable(classPlan);
+
+            return new HiddenClassCodec<>(classPlan, HiddenClassCodecGenerator.generate(classPlan, readable),
+                    readable);
+        } catch (JSONParserException | IllegalAccessException | IllegalStateException | LinkageError e) {
+            log.debug("Codec for {} can't be generated, reflection is used", type, e);
+            return null;
+        }
+    }
+
+    private static boolean isGenerable(ClassPlan<?> classPlan) {
+
+        Class<?> type = classPlan.getType();
+
+        if (classPlan.getCategory() != FieldCategory.OBJECT || type.isHidden() || type.isInterface() ||
+                type.getClassLoader() == null) {
+            return false;
+        }
+
+        for (FieldPlan fieldPlan : classPlan.getFields()) {
+            if (fieldPlan.getField().getDeclaringClass() != type) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isReadable(ClassPlan<?> classPlan) {
+
+        Class<?> type = classPlan.getType();
+
+        if (Modifier.isAbstract(type.getModifiers()) ||
+                (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+            return false;
+        }
+
+        for (FieldPlan fieldPlan : classPlan.getFields()) {
+            if (Modifier.isFinal(fieldPlan.getField().getModifiers())) {
+                return false;
+            }
+        }
+
+        try {
+            type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+
+/**
+ * Represents codec dedicated to one class, that formats objects of the class to JSON
+ * and from JSON without reflection. Values which codec can't format itself are
+ * formatted by formatter through given context.
+ *
+ * @param <T> codec class type
+ */
+public interface JSONCodec<T> {
+
+    /**
+     * Get class of objects formatted by codec
+     *
+     * @return codec class
+     */
+    Class<T> getType();
+
+    /**
+     * Format object to JSON
+     * <p>
+     * Example: for Class A {private String b = "1"; private int id = 5;} should write {"b":"1","id":5}
+     *
+     * @param object  not null object
+     * @param writer  JSON writer
+     * @param context formatter for values that codec can't format itself
+     * @throws JSONParserException when formatting error
+     */
+    void write(T object, JSONWriter writer, CodecWriteContext context) throws JSONParserException;
+
+    /**
+     * Format JSON object to new object
+     *
+     * @param tokenizer tokenizer which current token is object begin, after formatting stays on object end
+     * @param context   formatter for fields that codec can't format itself
+     * @return formatted object
+     * @throws JSONParserException when formatting error
+     */
+    T read(JSONTokenizer tokenizer, CodecReadContext context) throws JSONParserException;
+
+    /**
+     * Check if codec can format JSON to object
+     *
+     * @return true if {@link #read(JSONTokenizer, CodecReadContext)} is supported, otherwise - false
+     */
+    default boolean isReadable() {
+        return true;
+    }
+}
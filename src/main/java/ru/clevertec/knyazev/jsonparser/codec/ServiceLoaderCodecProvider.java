@@ -0,0 +1,40 @@
+package ru.clevertec.knyazev.jsonparser.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Represents provider of codecs generated at compile time for classes marked by
+ * {@link GenerateJSONCodec}. Codecs are found by {@link ServiceLoader} once,
+ * when provider is created.
+ */
+public class ServiceLoaderCodecProvider implements CodecProvider {
+
+    private final Map<Class<?>, JSONCodec<?>> codecs;
+
+    public ServiceLoaderCodecProvider() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * @param classLoader class loader to find codecs
+     */
+    @SuppressWarnings("rawtypes")
+    public ServiceLoaderCodecProvider(ClassLoader classLoader) {
+        Map<Class<?>, JSONCodec<?>> loadedCodecs = new HashMap<>();
+
+        for (JSONCodec<?> codec : ServiceLoader.load(JSONCodec.class, classLoader)) {
+            loadedCodecs.put(codec.getType(), codec);
+        }
+
+        // immutable map is safely read by threads sharing provider
+        this.codecs = Map.copyOf(loadedCodecs);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> JSONCodec<T> getCodec(Class<T> type) {
+        return (JSONCodec<T>) codecs.get(type);
+    }
+}
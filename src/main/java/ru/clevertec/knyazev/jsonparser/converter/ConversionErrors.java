@@ -0,0 +1,47 @@
+package ru.clevertec.knyazev.jsonparser.converter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents counters of JSON values which {@link Converter} failed to convert and replaced
+ * by default value. Counters are incremented only on failure: total counter is striped,
+ * per-thread counter lets caller attribute failures to its own call.
+ * <p>
+ * Example: long before = ConversionErrors.ofCurrentThread(); format(json);
+ * long failures = ConversionErrors.ofCurrentThread() - before;
+ */
+public final class ConversionErrors {
+
+    private static final LongAdder TOTAL = new LongAdder();
+
+    private static final ThreadLocal<long[]> THREAD_COUNTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private ConversionErrors() {
+    }
+
+    /**
+     * Count conversion failure
+     */
+    static void increment() {
+        TOTAL.increment();
+        THREAD_COUNTS.get()[0]++;
+    }
+
+    /**
+     * Get quantity of conversion failures of all threads
+     *
+     * @return failures since class loading
+     */
+    public static long total() {
+        return TOTAL.sum();
+    }
+
+    /**
+     * Get quantity of conversion failures of current thread
+     *
+     * @return failures of current thread since its first failure or query
+     */
+    public static long ofCurrentThread() {
+        return THREAD_COUNTS.get()[0];
+    }
+}
@@ -1,11 +1,16 @@
 package ru.clevertec.knyazev.jsonparser.converter;
 
-import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
 
-import java.util.logging.Level;
-
+/**
+ * Represents conversions of JSON values to simple types. Numbers are parsed by {@link NumberParser}
+ * without exceptions, converting error is logged, counted by {@link ConversionErrors} and default
+ * value is returned: null for wrappers and 0 for primitives.
+ * <p>
+ * Conversions from {@link JSONTokenizer} parse current token directly from JSON source.
+ */
 public interface Converter {
 
 	Logger log = LoggerFactory.getLogger(Converter.class);
@@ -13,92 +18,275 @@ public interface Converter {
 	String CONVERTING_ERROR = "Error when converting String value=%s to %s%n";
 	
 	public static Boolean convertToBoolean(String value) {
-		Boolean converted = null;
-
 		return Boolean.valueOf(value);
 	}
 	
 	public static Byte convertToByte(String value) {
-		Byte converted = null;
+		NumberParser parser = new NumberParser();
+		byte converted = parser.parseByte(value, 0, length(value));
 
-		try {
-			converted = Byte.valueOf(value);
-		} catch (NumberFormatException e) {
-			log.error(String.format(CONVERTING_ERROR), value, "Byte");
+		return parser.isValid() ? Byte.valueOf(converted) : convertingError(value, "Byte");
+	}
+	
+	public static Short convertToShort(String value) {
+		NumberParser parser = new NumberParser();
+		short converted = parser.parseShort(value, 0, length(value));
+
+		return parser.isValid() ? Short.valueOf(converted) : convertingError(value, "Short");
+	}
+	
+	public static Integer convertToInteger(String value) {
+		NumberParser parser = new NumberParser();
+		int converted = parser.parseInt(value, 0, length(value));
+
+		return parser.isValid() ? Integer.valueOf(converted) : convertingError(value, "Integer");
+	}
+	
+	public static Long convertToLong(String value) {
+		NumberParser parser = new NumberParser();
+		long converted = parser.parseLong(value, 0, length(value));
+
+		return parser.isValid() ? Long.valueOf(converted) : convertingError(value, "Long");
+	}
+	
+	public static Float convertToFloat(String value) {
+		NumberParser parser = new NumberParser();
+		float converted = parser.parseFloat(value, 0, length(value));
+
+		return parser.isValid() ? Float.valueOf(converted) : convertingError(value, "Float");
+	}
+	
+	public static Double convertToDouble(String value) {
+		NumberParser parser = new NumberParser();
+		double converted = parser.parseDouble(value, 0, length(value));
+
+		return parser.isValid() ? Double.valueOf(converted) : convertingError(value, "Double");
+	}
+	
+	public static Character convertToCharacter(String value) {
+		Character converted = null;
+
+		if (value == null || value.length() != 1) {
+			return converted;
+		} else {
+			converted = Character.valueOf(value.charAt(0));
 		}
 
 		return converted;
 	}
-	
-	public static Short convertToShort(String value) {
-		Short converted = null;
 
-		try {
-			converted = Short.valueOf(value);
-		} catch (NumberFormatException e) {
-			log.error(String.format(CONVERTING_ERROR), value, "Short");
+	public static boolean convertToBooleanValue(String value) {
+		return Boolean.parseBoolean(value);
+	}
+
+	public static byte convertToByteValue(String value) {
+		NumberParser parser = new NumberParser();
+		byte converted = parser.parseByte(value, 0, length(value));
+
+		if (!parser.isValid()) {
+			convertingError(value, "byte");
 		}
 
 		return converted;
 	}
-	
-	public static Integer convertToInteger(String value) {
-		Integer converted = null;
 
-		try {
-			converted = Integer.valueOf(value);
-		} catch (NumberFormatException e) {
-			log.error(String.format(CONVERTING_ERROR), value, "Integer");
+	public static short convertToShortValue(String value) {
+		NumberParser parser = new NumberParser();
+		short converted = parser.parseShort(value, 0, length(value));
+
+		if (!parser.isValid()) {
+			convertingError(value, "short");
 		}
 
 		return converted;
 	}
-	
-	public static Long convertToLong(String value) {
-		Long converted = null;
 
-		try {
-			converted = Long.valueOf(value);
-		} catch (NumberFormatException e) {
-			log.error(String.format(CONVERTING_ERROR), value, "Long");
+	public static int convertToIntValue(String value) {
+		NumberParser parser = new NumberParser();
+		int converted = parser.parseInt(value, 0, length(value));
+
+		if (!parser.isValid()) {
+			convertingError(value, "int");
 		}
 
 		return converted;
 	}
-	
-	public static Float convertToFloat(String value) {
-		Float converted = null;
 
-		try {
-			converted = Float.valueOf(value);
-		} catch (NumberFormatException e) {
-			log.error(String.format(CONVERTING_ERROR), value, "Float");
+	public static long convertToLongValue(String value) {
+		NumberParser parser = new NumberParser();
+		long converted = parser.parseLong(value, 0, length(value));
+
+		if (!parser.isValid()) {
+			convertingError(value, "long");
 		}
 
 		return converted;
 	}
-	
-	public static Double convertToDouble(String value) {
-		Double converted = null;
 
-		try {
-			converted = Double.valueOf(value);
-		} catch (NumberFormatException e) {
-			log.error(String.format(CONVERTING_ERROR), value, "Double");
+	public static float convertToFloatValue(String value) {
+		NumberParser parser = new NumberParser();
+		float converted = parser.parseFloat(value, 0, length(value));
+
+		if (!parser.isValid()) {
+			convertingError(value, "float");
 		}
 
 		return converted;
 	}
-	
-	public static Character convertToCharacter(String value) {
-		Character converted = null;
 
-		if (value == null || value.length() != 1) {
-			return converted;
-		} else {
-			converted = Character.valueOf(value.charAt(0));
+	public static double convertToDoubleValue(String value) {
+		NumberParser parser = new NumberParser();
+		double converted = parser.parseDouble(value, 0, length(value));
+
+		if (!parser.isValid()) {
+			convertingError(value, "double");
+		}
+
+		return converted;
+	}
+
+	public static char convertToCharValue(String value) {
+		char converted = '\u0000';
+
+		if (value != null && value.length() == 1) {
+			converted = value.charAt(0);
 		}
 
 		return converted;
 	}
+
+	public static Boolean convertToBoolean(JSONTokenizer tokenizer) {
+		return Boolean.valueOf(tokenizer.booleanValue());
+	}
+
+	public static Byte convertToByte(JSONTokenizer tokenizer) {
+		byte converted = tokenizer.byteValue();
+
+		return tokenizer.getNumberStatus() == NumberParser.Status.OK
+				? Byte.valueOf(converted)
+				: convertingError(tokenizer.tokenString(), "Byte");
+	}
+
+	public static Short convertToShort(JSONTokenizer tokenizer) {
+		short converted = tokenizer.shortValue();
+
+		return tokenizer.getNumberStatus() == NumberParser.Status.OK
+				? Short.valueOf(converted)
+				: convertingError(tokenizer.tokenString(), "Short");
+	}
+
+	public static Integer convertToInteger(JSONTokenizer tokenizer) {
+		int converted = tokenizer.intValue();
+
+		return tokenizer.getNumberStatus() == NumberParser.Status.OK
+				? Integer.valueOf(converted)
+				: convertingError(tokenizer.tokenString(), "Integer");
+	}
+
+	public static Long convertToLong(JSONTokenizer tokenizer) {
+		long converted = tokenizer.longValue();
+
+		return tokenizer.getNumberStatus() == NumberParser.Status.OK
+				? Long.valueOf(converted)
+				: convertingError(tokenizer.tokenString(), "Long");
+	}
+
+	public static Float convertToFloat(JSONTokenizer tokenizer) {
+		float converted = tokenizer.floatValue();
+
+		return tokenizer.getNumberStatus() == NumberParser.Status.OK
+				? Float.valueOf(converted)
+				: convertingError(tokenizer.tokenString(), "Float");
+	}
+
+	public static Double convertToDouble(JSONTokenizer tokenizer) {
+		double converted = tokenizer.doubleValue();
+
+		return tokenizer.getNumberStatus() == NumberParser.Status.OK
+				? Double.valueOf(converted)
+				: convertingError(tokenizer.tokenString(), "Double");
+	}
+
+	public static Character convertToCharacter(JSONTokenizer tokenizer) {
+		return convertToCharacter(tokenizer.tokenString());
+	}
+
+	public static boolean convertToBooleanValue(JSONTokenizer tokenizer) {
+		return tokenizer.booleanValue();
+	}
+
+	public static byte convertToByteValue(JSONTokenizer tokenizer) {
+		byte converted = tokenizer.byteValue();
+
+		if (tokenizer.getNumberStatus() != NumberParser.Status.OK) {
+			convertingError(tokenizer.tokenString(), "byte");
+		}
+
+		return converted;
+	}
+
+	public static short convertToShortValue(JSONTokenizer tokenizer) {
+		short converted = tokenizer.shortValue();
+
+		if (tokenizer.getNumberStatus() != NumberParser.Status.OK) {
+			convertingError(tokenizer.tokenString(), "short");
+		}
+
+		return converted;
+	}
+
+	public static int convertToIntValue(JSONTokenizer tokenizer) {
+		int converted = tokenizer.intValue();
+
+		if (tokenizer.getNumberStatus() != NumberParser.Status.OK) {
+			convertingError(tokenizer.tokenString(), "int");
+		}
+
+		return converted;
+	}
+
+	public static long convertToLongValue(JSONTokenizer tokenizer) {
+		long converted = tokenizer.longValue();
+
+		if (tokenizer.getNumberStatus() != NumberParser.Status.OK) {
+			convertingError(tokenizer.tokenString(), "long");
+		}
+
+		return converted;
+	}
+
+	public static float convertToFloatValue(JSONTokenizer tokenizer) {
+		float converted = tokenizer.floatValue();
+
+		if (tokenizer.getNumberStatus() != NumberParser.Status.OK) {
+			convertingError(tokenizer.tokenString(), "float");
+		}
+
+		return converted;
+	}
+
+	public static double convertToDoubleValue(JSONTokenizer tokenizer) {
+		double converted = tokenizer.doubleValue();
+
+		if (tokenizer.getNumberStatus() != NumberParser.Status.OK) {
+			convertingError(tokenizer.tokenString(), "double");
+		}
+
+		return converted;
+	}
+
+	public static char convertToCharValue(JSONTokenizer tokenizer) {
+		return tokenizer.charValue();
+	}
+
+	private static int length(String value) {
+		return value == null ? 0 : value.length();
+	}
+
+	private static <T> T convertingError(String value, String type) {
+		ConversionErrors.increment();
+		log.error(String.format(CONVERTING_ERROR, value, type));
+
+		return null;
+	}
 }
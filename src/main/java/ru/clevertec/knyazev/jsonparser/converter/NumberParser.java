@@ -0,0 +1,277 @@
+package ru.clevertec.knyazev.jsonparser.converter;
+
+/**
+ * Represents parser of numbers from range of chars. Numbers are parsed without boxing,
+ * substrings and exceptions, result of the last parsing is reported by {@link #getStatus()}.
+ * Parser keeps status, so parser instance should be used by one thread.
+ * <p>
+ * Example: parseInt("{\"id\":125}", 6, 9) returns 125 with status OK,
+ * parseInt("12a", 0, 3) returns 0 with status INVALID,
+ * parseInt("3000000000", 0, 10) returns 0 with status OVERFLOW.
+ * <p>
+ * Doubles are parsed by exact fast path when mantissa is less than 2^53 and
+ * exponent is in [-22, 22], other doubles are parsed by {@link Double#parseDouble(String)}.
+ */
+public final class NumberParser {
+
+    /**
+     * Represents result of the last parsing
+     */
+    public enum Status {
+        OK,
+        INVALID,
+        OVERFLOW
+    }
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final int MAX_EXPONENT = 100_000;
+
+    private Status status = Status.OK;
+
+    // state of the last parsed decimal number
+    private boolean negative;
+    private long mantissa;
+    private int exponent;
+    private boolean truncated;
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isValid() {
+        return status == Status.OK;
+    }
+
+    public byte parseByte(CharSequence value, int start, int end) {
+        return (byte) parseLong(value, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    public short parseShort(CharSequence value, int start, int end) {
+        return (short) parseLong(value, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    public int parseInt(CharSequence value, int start, int end) {
+        return (int) parseLong(value, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public long parseLong(CharSequence value, int start, int end) {
+        return parseLong(value, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public double parseDouble(CharSequence value, int start, int end) {
+
+        if (!parseDecimal(value, start, end)) {
+            return 0D;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0D : 0D;
+        }
+
+        if (!truncated && mantissa < MAX_EXACT_DOUBLE_MANTISSA &&
+                exponent >= -22 && exponent <= 22) {
+            double result = exponent < 0
+                    ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent]
+                    : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+
+            return negative ? -result : result;
+        }
+
+        return Double.parseDouble(value.subSequence(start, end).toString());
+    }
+
+    public float parseFloat(CharSequence value, int start, int end) {
+
+        if (!parseDecimal(value, start, end)) {
+            return 0F;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0F : 0F;
+        }
+
+        if (!truncated && mantissa < MAX_EXACT_FLOAT_MANTISSA &&
+                exponent >= -10 && exponent <= 10) {
+            float result = exponent < 0
+                    ? mantissa / FLOAT_POWERS_OF_TEN[-exponent]
+                    : mantissa * FLOAT_POWERS_OF_TEN[exponent];
+
+            return negative ? -result : result;
+        }
+
+        return Float.parseFloat(value.subSequence(start, end).toString());
+    }
+
+    /**
+     * Parse integer number in given bounds. Digits are accumulated negatively,
+     * so the minimum value is parsed without overflow.
+     */
+    private long parseLong(CharSequence value, int start, int end, long min, long max) {
+
+        if (start >= end) {
+            return fail(Status.INVALID);
+        }
+
+        int i = start;
+        char first = value.charAt(i);
+        boolean negativeValue = first == '-';
+
+        if ((negativeValue || first == '+') && ++i == end) {
+            return fail(Status.INVALID);
+        }
+
+        long limit = negativeValue ? min : -max;
+        long limitBeforeMultiplication = limit / 10;
+        long result = 0;
+
+        for (; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                return fail(Status.INVALID);
+            }
+
+            if (result < limitBeforeMultiplication) {
+                return fail(Status.OVERFLOW);
+            }
+
+            result *= 10;
+
+            if (result < limit + digit) {
+                return fail(Status.OVERFLOW);
+            }
+
+            result -= digit;
+        }
+
+        status = Status.OK;
+
+        return negativeValue ? result : -result;
+    }
+
+    /**
+     * Parse decimal number [+-]digits[.digits][(e|E)[+-]digits] to sign, mantissa and exponent.
+     * Mantissa keeps at most 18 significant digits, other digits set truncated flag.
+     *
+     * @return true if number is valid, otherwise - false
+     */
+    private boolean parseDecimal(CharSequence value, int start, int end) {
+
+        negative = false;
+        mantissa = 0;
+        exponent = 0;
+        truncated = false;
+
+        if (start >= end) {
+            return invalidDecimal();
+        }
+
+        int i = start;
+        char ch = value.charAt(i);
+
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            i++;
+        }
+
+        int mantissaDigits = 0;
+        int significantDigits = 0;
+        boolean fraction = false;
+
+        for (; i < end; i++) {
+            ch = value.charAt(i);
+
+            if (ch == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+
+            int digit = ch - '0';
+
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+
+            mantissaDigits++;
+
+            if (significantDigits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + digit;
+
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+
+                if (fraction) {
+                    exponent--;
+                }
+            } else {
+                truncated |= digit != 0;
+
+                if (!fraction) {
+                    exponent++;
+                }
+            }
+        }
+
+        if (mantissaDigits == 0) {
+            return invalidDecimal();
+        }
+
+        if (i < end) {
+            if (ch != 'e' && ch != 'E' || ++i == end) {
+                return invalidDecimal();
+            }
+
+            ch = value.charAt(i);
+            boolean negativeExponent = ch == '-';
+
+            if ((negativeExponent || ch == '+') && ++i == end) {
+                return invalidDecimal();
+            }
+
+            int exponentValue = 0;
+
+            for (; i < end; i++) {
+                int digit = value.charAt(i) - '0';
+
+                if (digit < 0 || digit > 9) {
+                    return invalidDecimal();
+                }
+
+                if (exponentValue < MAX_EXPONENT) {
+                    exponentValue = exponentValue * 10 + digit;
+                }
+            }
+
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        status = Status.OK;
+
+        return true;
+    }
+
+    private boolean invalidDecimal() {
+        status = Status.INVALID;
+
+        return false;
+    }
+
+    private long fail(Status failStatus) {
+        status = failStatus;
+
+        return 0L;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.clevertec.knyazev.jsonparser.event;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Represents JDK Flight Recorder event of formatting JSON to object
+ */
+@Name(DeserializationEvent.NAME)
+@Label("JSON Deserialization")
+@Threshold(DeserializationEvent.DEFAULT_THRESHOLD)
+public final class DeserializationEvent extends JSONEvent {
+
+    public static final String NAME = "ru.clevertec.knyazev.jsonparser.Deserialization";
+
+    public static final String DEFAULT_THRESHOLD = "10 ms";
+}
@@ -0,0 +1,206 @@
+package ru.clevertec.knyazev.jsonparser.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import ru.clevertec.knyazev.jsonparser.json.UTF8CharSequence;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Represents JDK Flight Recorder event of one parser call. Event is cheap enough to stay enabled:
+ * when event is disabled or call is faster than its threshold, only begin and end time are taken.
+ * Shape of JSON (length, depth, elements) is measured by one scan of JSON only for committed events.
+ * <p>
+ * Threshold is set by recording settings, e.g. jfr configure or
+ * recording.enable(SerializationEvent.NAME).withThreshold(Duration.ofMillis(5)).
+ * <p>
+ * Example: event.begin(); String json = format(object); event.complete(object.getClass(), json);
+ */
+@Category("JSON Parser")
+@StackTrace(false)
+public abstract class JSONEvent extends Event {
+
+    // fields of event superclass are recorded only when they aren't private
+
+    @Label("Root Class")
+    @Description("Class of formatted object")
+    protected Class<?> rootClass;
+
+    @Label("Length")
+    @Description("Length of UTF-8 JSON")
+    @DataAmount
+    protected long byteLength;
+
+    @Label("Depth")
+    @Description("The largest nesting of JSON objects and arrays")
+    protected int depth;
+
+    @Label("Elements")
+    @Description("Quantity of values in JSON objects and arrays")
+    protected long elements;
+
+    /**
+     * End event and commit it with shape of JSON when call is slower than threshold
+     *
+     * @param rootClass class of formatted object, null for null object
+     * @param json      formatted JSON, its UTF-8 length is counted by chars
+     */
+    public void complete(Class<?> rootClass, CharSequence json) {
+
+        end();
+
+        if (shouldCommit()) {
+            this.rootClass = rootClass;
+
+            measure(json, true);
+            commit();
+        }
+    }
+
+    /**
+     * End event and commit it with shape of JSON when call is slower than threshold
+     *
+     * @param rootClass class of formatted object, null for null object
+     * @param json      buffer which remaining bytes are formatted UTF-8 JSON, buffer position isn't changed
+     */
+    public void complete(Class<?> rootClass, ByteBuffer json) {
+        complete(rootClass, json, json.position(), json.limit());
+    }
+
+    /**
+     * End event and commit it with shape of JSON when call is slower than threshold
+     *
+     * @param rootClass class of formatted object, null for null object
+     * @param json      buffer with formatted UTF-8 JSON, buffer position and limit aren't changed
+     * @param start     index of the first byte of JSON, inclusive
+     * @param end       index of the last byte of JSON, exclusive
+     */
+    public void complete(Class<?> rootClass, ByteBuffer json, int start, int end) {
+
+        end();
+
+        if (shouldCommit()) {
+            this.rootClass = rootClass;
+            this.byteLength = end - start;
+
+            measure(new UTF8CharSequence(json, start, end), false);
+            commit();
+        }
+    }
+
+    /**
+     * End event and commit it with shape of JSON when call is slower than threshold,
+     * JSON is wrapped into buffer only for committed event
+     *
+     * @param rootClass class of formatted object, null for null object
+     * @param json      formatted UTF-8 JSON
+     */
+    public void complete(Class<?> rootClass, byte[] json) {
+
+        end();
+
+        if (shouldCommit()) {
+            this.rootClass = rootClass;
+            this.byteLength = json.length;
+
+            measure(new UTF8CharSequence(ByteBuffer.wrap(json)), false);
+            commit();
+        }
+    }
+
+    /**
+     * End event of batch call and commit it with summary shape of JSONs when call is slower than threshold:
+     * total length and elements, the largest depth
+     *
+     * @param rootClass class of formatted objects, null when batch has only null objects
+     * @param jsons     formatted JSONs
+     */
+    public void complete(Class<?> rootClass, List<? extends CharSequence> jsons) {
+
+        end();
+
+        if (shouldCommit()) {
+            this.rootClass = rootClass;
+
+            for (CharSequence json : jsons) {
+                measure(json, true);
+            }
+
+            commit();
+        }
+    }
+
+    /**
+     * End event and commit it with length of JSON only when call is slower than threshold,
+     * e.g. when JSON is written to stream and isn't kept for measuring its shape
+     *
+     * @param rootClass  class of formatted object, null for null object
+     * @param byteLength length of UTF-8 JSON
+     */
+    public void complete(Class<?> rootClass, long byteLength) {
+
+        end();
+
+        if (shouldCommit()) {
+            this.rootClass = rootClass;
+            this.byteLength = byteLength;
+
+            commit();
+        }
+    }
+
+    private void measure(CharSequence json, boolean countBytes) {
+
+        int level = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        boolean containerStart = false;
+
+        for (int i = 0; i < json.length(); i++) {
+
+            char ch = json.charAt(i);
+
+            if (countBytes) {
+                byteLength += ch < 0x80 ? 1 : ch < 0x800 || Character.isSurrogate(ch) ? 2 : 3;
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (ch == '\\') {
+                    escaped = true;
+                } else if (ch == '"') {
+                    inString = false;
+                }
+
+                continue;
+            }
+
+            if (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+                continue;
+            }
+
+            if (containerStart && ch != '}' && ch != ']') {
+                elements++;
+            }
+
+            containerStart = false;
+
+            if (ch == '"') {
+                inString = true;
+            } else if (ch == '{' || ch == '[') {
+                depth = Math.max(depth, ++level);
+                containerStart = true;
+            } else if (ch == '}' || ch == ']') {
+                level--;
+            } else if (ch == ',') {
+                elements++;
+            }
+        }
+    }
+}
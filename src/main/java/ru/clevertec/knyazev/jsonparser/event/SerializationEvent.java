@@ -0,0 +1,18 @@
+package ru.clevertec.knyazev.jsonparser.event;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Represents JDK Flight Recorder event of formatting object to JSON
+ */
+@Name(SerializationEvent.NAME)
+@Label("JSON Serialization")
+@Threshold(SerializationEvent.DEFAULT_THRESHOLD)
+public final class SerializationEvent extends JSONEvent {
+
+    public static final String NAME = "ru.clevertec.knyazev.jsonparser.Serialization";
+
+    public static final String DEFAULT_THRESHOLD = "10 ms";
+}
@@ -0,0 +1,50 @@
+package ru.clevertec.knyazev.jsonparser.formatter;
+
+import ru.clevertec.knyazev.jsonparser.codec.CodecProvider;
+import ru.clevertec.knyazev.jsonparser.codec.CodecReadContext;
+import ru.clevertec.knyazev.jsonparser.codec.JSONCodec;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenType;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+
+/**
+ * Represents Formatter for formatting JSON to objects by codecs of {@link CodecProvider}.
+ * Objects of classes without readable codec are formatted by reflection.
+ */
+public class CodecJSONToObjectFormatter extends JSONToObjectFormatter implements CodecReadContext {
+
+    private final CodecProvider codecProvider;
+
+    public CodecJSONToObjectFormatter(CodecProvider codecProvider) {
+        this.codecProvider = codecProvider;
+    }
+
+    @Override
+    public void readField(Object object, FieldPlan fieldPlan, JSONTokenizer tokenizer) {
+        formatByCase(object, fieldPlan, tokenizer);
+    }
+
+    @Override
+    public <T> T readObject(Class<T> type, JSONTokenizer tokenizer) {
+
+        if (tokenizer.getTokenType() == JSONTokenType.NULL) {
+            return null;
+        }
+
+        tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_OBJECT);
+
+        return formatObject(type, tokenizer);
+    }
+
+    @Override
+    <T> T formatObject(Class<T> objectClass, JSONTokenizer tokenizer) {
+
+        JSONCodec<T> codec = codecProvider.getCodec(objectClass);
+
+        if (codec == null || !codec.isReadable()) {
+            return super.formatObject(objectClass, tokenizer);
+        }
+
+        return codec.read(tokenizer, this);
+    }
+}
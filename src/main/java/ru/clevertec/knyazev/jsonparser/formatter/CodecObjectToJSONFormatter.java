@@ -0,0 +1,44 @@
+package ru.clevertec.knyazev.jsonparser.formatter;
+
+import ru.clevertec.knyazev.jsonparser.codec.CodecProvider;
+import ru.clevertec.knyazev.jsonparser.codec.CodecWriteContext;
+import ru.clevertec.knyazev.jsonparser.codec.JSONCodec;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents Formatter for formatting objects to JSON by codecs of {@link CodecProvider}.
+ * Objects of classes without codec are formatted by reflection.
+ */
+public class CodecObjectToJSONFormatter extends ObjectToJSONFormatterImpl implements CodecWriteContext {
+
+    private final CodecProvider codecProvider;
+
+    public CodecObjectToJSONFormatter(CodecProvider codecProvider) {
+        this.codecProvider = codecProvider;
+    }
+
+    public CodecObjectToJSONFormatter(CodecProvider codecProvider, int parallelThreshold, ForkJoinPool pool) {
+        super(parallelThreshold, pool);
+        this.codecProvider = codecProvider;
+    }
+
+    @Override
+    public void writeValue(Object value, JSONWriter writer) {
+        formatByCase(value, writer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void formatObject(Object baseObject, JSONWriter writer) {
+
+        JSONCodec<Object> codec = (JSONCodec<Object>) codecProvider.getCodec(baseObject.getClass());
+
+        if (codec == null) {
+            super.formatObject(baseObject, writer);
+        } else {
+            codec.write(baseObject, writer, this);
+        }
+    }
+}
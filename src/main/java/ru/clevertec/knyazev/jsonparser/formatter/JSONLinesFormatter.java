@@ -0,0 +1,403 @@
+package ru.clevertec.knyazev.jsonparser.formatter;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.json.UTF8Buffer;
+import ru.clevertec.knyazev.jsonparser.json.UTF8CharSequence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Represents Formatter for formatting JSON lines (newline delimited JSON) files to objects
+ * and objects to JSON lines files in parallel. Every not blank line of file is one JSON value.
+ * <p>
+ * File is read by chunks of about 1 MB which end at line end. Chunks are mapped to memory and
+ * formatted to objects by {@link JSONToObjectFormatter} on {@link ForkJoinPool} shared by calls,
+ * common pool by default. Only two chunks per thread of call parallelism are formatted ahead of stream
+ * consumer, so slow consumer holds reading back and one call doesn't flood shared pool.
+ * Objects are formatted to lines by {@link ObjectToJSONFormatter} in chunks on pool threads,
+ * chunks are written to file in stream order.
+ * <p>
+ * Example: for file with lines {"name":"Miko"} and {"name":"Margo"}
+ * formatJSONLinesToObjects(Human.class, file, 4, true) returns stream of Miko and Margo.
+ */
+public class JSONLinesFormatter {
+
+    private static final String PARALLELISM_ERROR = "Error. Parallelism should be positive but was %d";
+    private static final String FILE_READING_ERROR = "Error when reading JSON lines from file %s";
+    private static final String FILE_WRITING_ERROR = "Error when writing JSON lines to file %s";
+    private static final String LINE_ERROR = "Error in JSON line at byte %d of file %s";
+
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private static final int CHUNK_OBJECTS = 512;
+
+    /**
+     * Quantity of chunks formatted ahead per pool thread
+     */
+    private static final int CHUNKS_AHEAD = 2;
+
+    private final ObjectToJSONFormatter objectToJSONFormatter;
+
+    private final JSONToObjectFormatter jsonToObjectFormatter;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Create formatter which formats chunks on common pool
+     *
+     * @param objectToJSONFormatter formatter of objects to lines
+     * @param jsonToObjectFormatter formatter of lines to objects
+     */
+    public JSONLinesFormatter(ObjectToJSONFormatter objectToJSONFormatter, JSONToObjectFormatter jsonToObjectFormatter) {
+        this(objectToJSONFormatter, jsonToObjectFormatter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create formatter which formats chunks on given pool, pool isn't shut down by formatter
+     *
+     * @param objectToJSONFormatter formatter of objects to lines
+     * @param jsonToObjectFormatter formatter of lines to objects
+     * @param pool                  pool for formatting
+     */
+    public JSONLinesFormatter(ObjectToJSONFormatter objectToJSONFormatter, JSONToObjectFormatter jsonToObjectFormatter,
+                              ForkJoinPool pool) {
+        this.objectToJSONFormatter = objectToJSONFormatter;
+        this.jsonToObjectFormatter = jsonToObjectFormatter;
+        this.pool = pool;
+    }
+
+    /**
+     * Format UTF-8 JSON lines file to stream of objects. Stream should be closed when
+     * it isn't read to the end, e.g. by try-with-resources
+     *
+     * @param objectClass class of objects in lines
+     * @param file        JSON lines file
+     * @param parallelism quantity of threads formatting lines, it's limited by pool parallelism
+     * @param ordered     true if objects should be streamed in file order, otherwise -
+     *                    objects of chunk which is formatted first are streamed first
+     * @param <T>         object type
+     * @return lazy stream of objects
+     * @throws JSONParserException when parallelism isn't positive or file can't be opened,
+     *                             stream throws it when file line can't be formatted
+     */
+    public <T> Stream<T> formatJSONLinesToObjects(Class<T> objectClass, Path file, int parallelism, boolean ordered)
+            throws JSONParserException {
+
+        checkParallelism(parallelism);
+
+        LinesSpliterator<T> spliterator = new LinesSpliterator<>(objectClass, file, parallelism, ordered);
+
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Format objects of stream to UTF-8 JSON lines file. Existing file is rewritten
+     *
+     * @param objects     objects, every object is written to its own line in stream order
+     * @param file        JSON lines file
+     * @param parallelism quantity of threads formatting objects, it's limited by pool parallelism
+     * @param <T>         object type
+     * @throws JSONParserException when parallelism isn't positive, object can't be formatted
+     *                             or file writing error
+     */
+    public <T> void formatObjectsToJSONLines(Stream<T> objects, Path file, int parallelism)
+            throws JSONParserException {
+
+        checkParallelism(parallelism);
+
+        Deque<ForkJoinTask<byte[]>> chunks = new ArrayDeque<>();
+        int chunksAhead = chunksAhead(parallelism);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            Iterator<T> iterator = objects.iterator();
+
+            while (iterator.hasNext()) {
+                List<T> chunk = new ArrayList<>(CHUNK_OBJECTS);
+
+                while (chunk.size() < CHUNK_OBJECTS && iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                }
+
+                if (chunks.size() == chunksAhead) {
+                    write(channel, chunks.poll().join());
+                }
+
+                chunks.add(pool.submit(() -> formatLines(chunk)));
+            }
+
+            while (!chunks.isEmpty()) {
+                write(channel, chunks.poll().join());
+            }
+        } catch (IOException e) {
+            throw new JSONParserException(String.format(FILE_WRITING_ERROR, file), e);
+        } finally {
+            cancel(chunks);
+        }
+    }
+
+    private byte[] formatLines(List<?> objects) {
+
+        UTF8Buffer buffer = UTF8Buffer.acquire();
+
+        try {
+            for (Object object : objects) {
+                objectToJSONFormatter.formatObjectToJSON(object, buffer.writer());
+                buffer.append('\n');
+            }
+
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private void write(FileChannel channel, byte[] lines) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines);
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Quantity of chunks submitted to pool at once by call
+     */
+    private int chunksAhead(int parallelism) {
+        return Math.min(parallelism, pool.getParallelism()) * CHUNKS_AHEAD;
+    }
+
+    /**
+     * Cancel chunks which aren't taken by pool threads yet, shared pool isn't shut down
+     */
+    private void cancel(Deque<? extends ForkJoinTask<?>> chunks) {
+
+        for (ForkJoinTask<?> chunk : chunks) {
+            chunk.cancel(false);
+        }
+
+        chunks.clear();
+    }
+
+    private void checkParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new JSONParserException(String.format(PARALLELISM_ERROR, parallelism));
+        }
+    }
+
+    /**
+     * Represents lazy source of objects which submits formatting of file chunks
+     * to pool while objects of previous chunks are consumed
+     */
+    private final class LinesSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Class<T> objectClass;
+
+        private final Path file;
+
+        private final boolean ordered;
+
+        private final int chunksAhead;
+
+        private final FileChannel channel;
+
+        private final long fileSize;
+
+        private final Deque<ForkJoinTask<List<T>>> chunks = new ArrayDeque<>();
+
+        private Iterator<T> chunkObjects = Collections.emptyIterator();
+
+        private long position;
+
+        private boolean closed;
+
+        private LinesSpliterator(Class<T> objectClass, Path file, int parallelism, boolean ordered) {
+            super(Long.MAX_VALUE, ordered ? Spliterator.ORDERED : 0);
+
+            this.objectClass = objectClass;
+            this.file = file;
+            this.ordered = ordered;
+            this.chunksAhead = chunksAhead(parallelism);
+
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ);
+                this.fileSize = channel.size();
+            } catch (IOException e) {
+                throw new JSONParserException(String.format(FILE_READING_ERROR, file), e);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+
+            try {
+                while (!chunkObjects.hasNext()) {
+                    submitChunks();
+
+                    if (chunks.isEmpty()) {
+                        close();
+                        return false;
+                    }
+
+                    chunkObjects = nextChunk().join().iterator();
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+
+            action.accept(chunkObjects.next());
+
+            return true;
+        }
+
+        private void submitChunks() {
+            while (chunks.size() < chunksAhead && position < fileSize) {
+                long chunkPosition = position;
+                ByteBuffer chunk = mapChunk();
+
+                chunks.add(pool.submit(() -> formatChunk(chunk, chunkPosition)));
+            }
+        }
+
+        /**
+         * Get the first chunk for ordered stream or the first formatted chunk for unordered stream
+         */
+        private ForkJoinTask<List<T>> nextChunk() {
+
+            if (!ordered) {
+                for (Iterator<ForkJoinTask<List<T>>> iterator = chunks.iterator(); iterator.hasNext(); ) {
+                    ForkJoinTask<List<T>> chunk = iterator.next();
+
+                    if (chunk.isDone()) {
+                        iterator.remove();
+                        return chunk;
+                    }
+                }
+            }
+
+            return chunks.poll();
+        }
+
+        /**
+         * Map bytes from current position to the last line end not farther than chunk size.
+         * Chunk is enlarged while it contains no line end
+         */
+        private ByteBuffer mapChunk() {
+
+            long size = Math.min(CHUNK_SIZE, fileSize - position);
+
+            try {
+                while (true) {
+                    MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+
+                    int end = position + size == fileSize
+                            ? (int) size
+                            : lastLineEnd(chunk);
+
+                    if (end > 0) {
+                        position += end;
+                        return chunk.limit(end);
+                    }
+
+                    size = Math.min(size << 1, fileSize - position);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                throw new JSONParserException(String.format(FILE_READING_ERROR, file), e);
+            }
+        }
+
+        /**
+         * @return index after the last '\n' of chunk or 0 when chunk has no '\n'
+         */
+        private int lastLineEnd(ByteBuffer chunk) {
+
+            for (int i = chunk.limit() - 1; i >= 0; i--) {
+                if (chunk.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+
+            return 0;
+        }
+
+        private List<T> formatChunk(ByteBuffer chunk, long chunkPosition) {
+
+            List<T> objects = new ArrayList<>();
+
+            int limit = chunk.limit();
+            int lineStart = 0;
+
+            for (int i = 0; i <= limit; i++) {
+
+                if (i < limit && chunk.get(i) != '\n') {
+                    continue;
+                }
+
+                if (!isBlank(chunk, lineStart, i)) {
+                    try {
+                        JSONTokenizer tokenizer = new JSONTokenizer(new UTF8CharSequence(chunk, lineStart, i));
+
+                        objects.add(jsonToObjectFormatter.formatJSONToObject(objectClass, tokenizer));
+                    } catch (JSONParserException e) {
+                        throw new JSONParserException(String.format(LINE_ERROR, chunkPosition + lineStart, file), e);
+                    }
+                }
+
+                lineStart = i + 1;
+            }
+
+            return objects;
+        }
+
+        private boolean isBlank(ByteBuffer chunk, int start, int end) {
+
+            for (int i = start; i < end; i++) {
+                byte ch = chunk.get(i);
+
+                if (ch != ' ' && ch != '\r' && ch != '\t') {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void close() {
+
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            cancel(chunks);
+
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new JSONParserException(String.format(FILE_READING_ERROR, file), e);
+            }
+        }
+    }
+}
@@ -1,120 +1,694 @@
 package ru.clevertec.knyazev.jsonparser.formatter;
 
+import ru.clevertec.knyazev.jsonparser.accessor.FieldAccessor;
+import ru.clevertec.knyazev.jsonparser.converter.Converter;
 import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
 import ru.clevertec.knyazev.jsonparser.json.JSON;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenType;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
+import ru.clevertec.knyazev.jsonparser.plan.FieldCategory;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+import ru.clevertec.knyazev.jsonparser.plan.ObjectInstantiator;
+import ru.clevertec.knyazev.jsonparser.plan.SimpleType;
+import ru.clevertec.knyazev.jsonparser.plan.TypePlan;
 import ru.clevertec.knyazev.jsonparser.util.JSONDeterminerUtil;
 import ru.clevertec.knyazev.jsonparser.util.ObjectDeterminerUtil;
 
-import java.lang.reflect.Field;
-import java.util.Arrays;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * Represents Formatter for formatting JSON to objects. JSON is read by single pass of
+ * {@link JSONTokenizer}: JSON keys are walked in order and every key value is bound
+ * to the object field with the same name found in {@link ClassPlan}, unknown keys are skipped.
+ * <p>
+ * Arrays, collections and maps are formatted by {@link TypePlan} of field generic type.
+ * Containers are created with size of JSON array or object counted by
+ * {@link JSONTokenizer#countElements()}, so they are never regrown or rehashed.
+ * Values of Object type are formatted to LinkedHashMap, ArrayList, String, Double or Boolean.
+ * <p>
+ * Objects are created by {@link ObjectInstantiator} of class plan: fields of object created by
+ * no-arg constructor are set as keys are read, values of record or builder fields are buffered
+ * and passed to canonical constructor or builder at object end.
+ * <p>
+ * JSON may be formatted into existing object, then its nested objects, arrays and containers
+ * are reused instead of created, see {@link #formatJSONToObject(Object, JSONTokenizer)}.
+ * <p>
+ * Formatter is stateless, formatting state is kept by tokenizer of the call,
+ * so one formatter is shared by threads.
+ */
 public class JSONToObjectFormatter implements JSONDeterminerUtil, ObjectDeterminerUtil {
 
+    private static final String FIELD_VALUE_ERROR = "Error. Field %s can't be set from JSON %s";
+    private static final String MAP_KEY_ERROR = "Error. Unsupported map key type %s";
+    private static final String MAP_KEY_VALUE_ERROR = "Error. Map key \"%s\" can't be converted to %s";
+    private static final String VALUE_ERROR = "Error. Unexpected JSON %s";
+    private static final String TARGET_ERROR = "Error. Target object is null";
+    private static final String NULL_ELEMENT_ERROR = "Error. %s doesn't permit null elements";
+
+    private static final TypePlan UNTYPED_MAP_PLAN = TypePlan.of(LinkedHashMap.class);
+    private static final TypePlan UNTYPED_LIST_PLAN = TypePlan.of(ArrayList.class);
+
+    public <T> T formatJSONToObject(Class<T> objectClass, JSON jSon) {
+        return formatJSONToObject(objectClass, jSon.tokenizer());
+    }
+
+    /**
+     * Format whole JSON read by given tokenizer to object
+     *
+     * @param objectClass object class
+     * @param tokenizer   tokenizer positioned at the beginning of JSON,
+     *                    e.g. tokenizer over {@link ru.clevertec.knyazev.jsonparser.json.UTF8CharSequence}
+     * @param <T>         object type
+     * @return formatted object
+     * @throws JSONParserException when JSON doesn't match object class
+     */
     @SuppressWarnings("unchecked")
-    public <T, U> U formatJSONToObject(Class<T> objectClass, JSON jSon, U... parentObject) {
+    public <T> T formatJSONToObject(Class<T> objectClass, JSONTokenizer tokenizer) throws JSONParserException {
+        return (T) formatDocument(TypePlan.of(objectClass), tokenizer);
+    }
 
-        boolean isValidParentObject = parentObject != null &&
-                parentObject.length == 1 &&
-                parentObject[0] != null;
+    /**
+     * Format whole JSON read by given tokenizer into existing object. JSON keys overwrite fields
+     * of object, fields without JSON keys keep their values. Current values of fields are reused:
+     * nested objects are formatted in place, arrays of the same length are refilled,
+     * collections and maps are cleared and refilled keeping their capacity.
+     * Collections and maps which can't be cleared, e.g. List.of(), are replaced by new ones.
+     * <p>
+     * Example: for car with productionYear 1958 and JSON {"productionYear":2000} returns the same car
+     * with productionYear 2000, other fields of car aren't changed
+     *
+     * @param target    object for formatting into, e.g. pooled object
+     * @param tokenizer tokenizer positioned at the beginning of JSON
+     * @param <T>       object type
+     * @return target or new value when target can't be reused: for JSON null, array of other length,
+     * record or object created by builder
+     * @throws JSONParserException when target is null or JSON doesn't match target class
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T formatJSONToObject(T target, JSONTokenizer tokenizer) throws JSONParserException {
 
-        U parentObjectInstance;
+        if (target == null) {
+            throw new JSONParserException(TARGET_ERROR);
+        }
 
-        if (isValidParentObject) {
-            T childObjectInstance = instantiateObject(objectClass);
-            parentObjectInstance = parentObject[0];
+        tokenizer.next();
 
-            formatFields(childObjectInstance, jSon);
+        T objectInstance = (T) formatValue(target, TypePlan.of(target.getClass()), tokenizer);
 
-            try {
+        tokenizer.next(JSONTokenType.END_DOCUMENT);
+
+        return objectInstance;
+    }
+
+    /**
+     * Format batch of JSONs to objects of one class. Plan of object class is looked up once per batch
+     *
+     * @param objectClass object class
+     * @param jsons       JSONs of objects
+     * @param <T>         object type
+     * @return formatted objects in order of JSONs
+     * @throws JSONParserException when any JSON doesn't match object class
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> formatJSONsToObjects(Class<T> objectClass, List<? extends CharSequence> jsons)
+            throws JSONParserException {
+
+        TypePlan typePlan = TypePlan.of(objectClass);
+        List<T> objects = new ArrayList<>(jsons.size());
+
+        for (CharSequence json : jsons) {
+            objects.add((T) formatDocument(typePlan, new JSONTokenizer(json)));
+        }
+
+        return objects;
+    }
+
+    private Object formatDocument(TypePlan typePlan, JSONTokenizer tokenizer) {
+
+        tokenizer.next();
+
+        Object objectInstance = formatValue(typePlan, tokenizer);
 
-                Field parentObjectField = parentObjectInstance.getClass()
-                        .getDeclaredField(jSon.getFormattingField());
+        tokenizer.next(JSONTokenType.END_DOCUMENT);
 
-                parentObjectField.setAccessible(true);
-                parentObjectField.set(parentObjectInstance, childObjectInstance);
+        return objectInstance;
+    }
+
+    /**
+     * Format JSON value to object of planned type
+     * <p>
+     * Example: for [[1,2],[3]] and plan of List&lt;int[]&gt; returns ArrayList of int[]{1,2} and int[]{3}
+     *
+     * @param typePlan  plan of value type
+     * @param tokenizer tokenizer which current token is the first token of value,
+     *                  after formatting stays on the last token of value
+     * @return formatted value or null for JSON null
+     * @throws JSONParserException when JSON value doesn't match value type
+     */
+    Object formatValue(TypePlan typePlan, JSONTokenizer tokenizer) throws JSONParserException {
+
+        JSONTokenType tokenType = tokenizer.getTokenType();
+
+        if (tokenType == JSONTokenType.NULL) {
+            return null;
+        }
+
+        if (typePlan.getType() == Object.class) {
+            return formatUntyped(tokenizer);
+        }
+
+        return switch (typePlan.getCategory()) {
+            case SIMPLE -> {
+                expectScalar(tokenizer);
 
-            } catch (IllegalAccessException | NoSuchFieldException e) {
-                throw new JSONParserException(e);
+                yield convertSimple(typePlan.getType(), typePlan.getSimpleType(), tokenizer);
             }
-        } else {
-            parentObjectInstance = (U) instantiateObject(objectClass);
+            case ARRAY -> formatArray(typePlan, tokenizer);
+            case COLLECTION -> formatCollection(typePlan, tokenizer);
+            case MAP -> formatMap(typePlan, tokenizer);
+            case OBJECT -> {
+                tokenizer.expect(tokenType, JSONTokenType.BEGIN_OBJECT);
+
+                yield formatObject(typePlan.getType(), tokenizer);
+            }
+        };
+    }
+
+    /**
+     * Format JSON value into current value of planned type when it can be reused, otherwise to new value
+     *
+     * @param current   current value, e.g. value of object field
+     * @param typePlan  plan of value type
+     * @param tokenizer tokenizer which current token is the first token of value,
+     *                  after formatting stays on the last token of value
+     * @return current value or new value, null for JSON null
+     */
+    @SuppressWarnings("unchecked")
+    private Object formatValue(Object current, TypePlan typePlan, JSONTokenizer tokenizer) {
+
+        if (current == null || tokenizer.getTokenType() == JSONTokenType.NULL || typePlan.getType() == Object.class) {
+            return formatValue(typePlan, tokenizer);
+        }
+
+        return switch (typePlan.getCategory()) {
+            case SIMPLE -> formatValue(typePlan, tokenizer);
+            case ARRAY -> formatArray(current, typePlan, tokenizer);
+            case COLLECTION -> formatCollection((Collection<Object>) current, typePlan, tokenizer);
+            case MAP -> formatMap((Map<Object, Object>) current, typePlan, tokenizer);
+            case OBJECT -> {
+                tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_OBJECT);
+
+                if (ClassPlan.of(current.getClass()).getInstantiator().isBuffered()) {
+                    yield formatObject(typePlan.getType(), tokenizer);
+                }
+
+                formatFields(current, tokenizer, true);
+
+                yield current;
+            }
+        };
+    }
+
+    /**
+     * Format JSON object to new instance of given class
+     *
+     * @param objectClass class of formatting object
+     * @param tokenizer   tokenizer which current token is object begin, after formatting stays on object end
+     * @param <T>         object type
+     * @return formatted object
+     */
+    <T> T formatObject(Class<T> objectClass, JSONTokenizer tokenizer) {
 
-            formatFields(parentObjectInstance, jSon);
+        ClassPlan<T> classPlan = ClassPlan.of(objectClass);
+        ObjectInstantiator<T> instantiator = classPlan.getInstantiator();
+
+        if (instantiator.isBuffered()) {
+            Object[] values = instantiator.newValues();
+
+            formatFieldValues(classPlan, values, tokenizer);
+
+            return instantiator.newInstance(values);
         }
 
-        return parentObjectInstance;
+        T objectInstance = instantiator.newInstance();
+
+        formatFields(objectInstance, tokenizer, false);
+
+        return objectInstance;
     }
 
-    <T> T formatSimple(T object, Field field, JSON jSon) {
+    /**
+     * Format simple JSON value to object field. Numbers and booleans are converted
+     * directly from tokenizer without copying token text, type dispatch is decided
+     * by simple type of field
+     *
+     * @param object    object which field should be set
+     * @param fieldPlan plan of object field
+     * @param tokenizer tokenizer which current token is simple value or null
+     * @param <T>       object type
+     * @return object with set field
+     */
+    <T> T formatSimple(T object, FieldPlan fieldPlan, JSONTokenizer tokenizer) {
+
+        SimpleType simpleType = fieldPlan.getSimpleType();
+
+        if (tokenizer.getTokenType() == JSONTokenType.NULL || simpleType == SimpleType.STRING ||
+                simpleType == SimpleType.NONE) {
+            String fieldValue = getSimpleFieldValueFromJSON(tokenizer);
+            setSimpleObjectField(object, fieldPlan, fieldValue);
+
+            return object;
+        }
 
-        String fieldValue = getSimpleFieldValueFromJSON(jSon.getFormattingJSON());
-        setSimpleObjectField(object, field, fieldValue);
+        FieldAccessor accessor = fieldPlan.getAccessor();
+
+        if (!fieldPlan.isPrimitive()) {
+            accessor.set(object, convertSimple(fieldPlan.getType(), simpleType, tokenizer));
+
+            return object;
+        }
+
+        switch (simpleType) {
+            case BOOLEAN -> accessor.setBoolean(object, Converter.convertToBooleanValue(tokenizer));
+            case BYTE -> accessor.setByte(object, Converter.convertToByteValue(tokenizer));
+            case SHORT -> accessor.setShort(object, Converter.convertToShortValue(tokenizer));
+            case CHAR -> accessor.setChar(object, Converter.convertToCharValue(tokenizer));
+            case INT -> accessor.setInt(object, Converter.convertToIntValue(tokenizer));
+            case LONG -> accessor.setLong(object, Converter.convertToLongValue(tokenizer));
+            case FLOAT -> accessor.setFloat(object, Converter.convertToFloatValue(tokenizer));
+            case DOUBLE -> accessor.setDouble(object, Converter.convertToDoubleValue(tokenizer));
+            default -> throw new JSONParserException(String.format(SIMPLE_TYPE_ERROR, fieldPlan.getType()));
+        }
 
         return object;
     }
 
-    <T> T formatArray(T object, Field field, JSON jSon) {
+    /**
+     * Format JSON array to array of planned type. Elements of primitive array are set
+     * without boxing, null elements are skipped for primitive array
+     *
+     * @param arrayPlan plan of array type
+     * @param tokenizer tokenizer which current token is array begin, after formatting stays on array end
+     * @return formatted array
+     */
+    Object formatArray(TypePlan arrayPlan, JSONTokenizer tokenizer) {
+
+        tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_ARRAY);
+
+        Object array = arrayPlan.newContainer(tokenizer.countElements());
+
+        return fillArray(array, arrayPlan.getElementPlan(), tokenizer, false);
+    }
+
+    /**
+     * Format JSON array into current array when it has the same class and length,
+     * otherwise to new array. Elements of current array are reused
+     */
+    private Object formatArray(Object current, TypePlan arrayPlan, JSONTokenizer tokenizer) {
+
+        tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_ARRAY);
+
+        int length = tokenizer.countElements();
+
+        if (current.getClass() != arrayPlan.getType() || Array.getLength(current) != length) {
+            return fillArray(arrayPlan.newContainer(length), arrayPlan.getElementPlan(), tokenizer, false);
+        }
+
+        return fillArray(current, arrayPlan.getElementPlan(), tokenizer, true);
+    }
+
+    private Object fillArray(Object array, TypePlan componentPlan, JSONTokenizer tokenizer, boolean reuse) {
+
+        JSONTokenType tokenType = tokenizer.next();
+
+        for (int i = 0; tokenType != JSONTokenType.END_ARRAY; i++) {
+
+            if (!componentPlan.isPrimitive()) {
+                Object[] elements = (Object[]) array;
+
+                elements[i] = reuse
+                        ? formatValue(elements[i], componentPlan, tokenizer)
+                        : formatValue(componentPlan, tokenizer);
+            } else if (tokenType != JSONTokenType.NULL) {
+                expectScalar(tokenizer);
+                setPrimitiveElement(array, i, componentPlan, tokenizer);
+            } else if (reuse) {
+                clearPrimitiveElement(array, i, componentPlan);
+            }
+
+            tokenType = nextElement(tokenizer, JSONTokenType.END_ARRAY);
+        }
+
+        return array;
+    }
+
+    /**
+     * Format JSON array to collection of planned type
+     *
+     * @param collectionPlan plan of collection type
+     * @param tokenizer      tokenizer which current token is array begin, after formatting stays on array end
+     * @return formatted collection
+     * @throws JSONParserException when JSON array has null and collection doesn't permit it, e.g. ArrayDeque
+     */
+    Collection<Object> formatCollection(TypePlan collectionPlan, JSONTokenizer tokenizer) {
+
+        tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_ARRAY);
+
+        Collection<Object> collection = collectionPlan.newContainer(tokenizer.countElements());
+
+        return fillCollection(collection, collectionPlan, tokenizer);
+    }
+
+    /**
+     * Format JSON array into current collection, it's cleared so its capacity is reused.
+     * Collection which isn't known to be mutable is replaced by new one
+     */
+    private Collection<Object> formatCollection(Collection<Object> current, TypePlan collectionPlan,
+                                                JSONTokenizer tokenizer) {
+
+        if (!collectionPlan.isReusable(current)) {
+            return formatCollection(collectionPlan, tokenizer);
+        }
+
+        tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_ARRAY);
+
+        current.clear();
+
+        return fillCollection(current, collectionPlan, tokenizer);
+    }
+
+    private Collection<Object> fillCollection(Collection<Object> collection, TypePlan collectionPlan,
+                                              JSONTokenizer tokenizer) {
+
+        TypePlan elementPlan = collectionPlan.getElementPlan();
+
+        JSONTokenType tokenType = tokenizer.next();
+
+        while (tokenType != JSONTokenType.END_ARRAY) {
+            Object element = formatValue(elementPlan, tokenizer);
+
+            try {
+                collection.add(element);
+            } catch (NullPointerException e) {
+                throw new JSONParserException(String.format(NULL_ELEMENT_ERROR, collection.getClass()), e);
+            }
+
+            tokenType = nextElement(tokenizer, JSONTokenType.END_ARRAY);
+        }
+
+        return collection;
+    }
+
+    /**
+     * Format JSON object to map of planned type. JSON keys are converted to map key type
+     * <p>
+     * Example: for {"1":{"productionYear":1958}} and plan of Map&lt;Integer, Car&gt;
+     * returns map with key 1 and car of 1958 production year
+     *
+     * @param mapPlan   plan of map type
+     * @param tokenizer tokenizer which current token is object begin, after formatting stays on object end
+     * @return formatted map
+     * @throws JSONParserException when JSON object has null and map doesn't permit it, e.g. ConcurrentHashMap
+     */
+    Map<Object, Object> formatMap(TypePlan mapPlan, JSONTokenizer tokenizer) {
+
+        tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_OBJECT);
+
+        Map<Object, Object> map = mapPlan.newContainer(tokenizer.countElements());
+
+        return fillMap(map, mapPlan, tokenizer);
+    }
+
+    /**
+     * Format JSON object into current map, it's cleared so its capacity is reused.
+     * Map which isn't known to be mutable is replaced by new one
+     */
+    private Map<Object, Object> formatMap(Map<Object, Object> current, TypePlan mapPlan, JSONTokenizer tokenizer) {
+
+        if (!mapPlan.isReusable(current)) {
+            return formatMap(mapPlan, tokenizer);
+        }
+
+        tokenizer.expect(tokenizer.getTokenType(), JSONTokenType.BEGIN_OBJECT);
+
+        current.clear();
+
+        return fillMap(current, mapPlan, tokenizer);
+    }
+
+    private Map<Object, Object> fillMap(Map<Object, Object> map, TypePlan mapPlan, JSONTokenizer tokenizer) {
+
+        TypePlan keyPlan = mapPlan.getKeyPlan();
+        TypePlan valuePlan = mapPlan.getElementPlan();
+
+        JSONTokenType tokenType = tokenizer.next();
+
+        while (tokenType != JSONTokenType.END_OBJECT) {
+            tokenizer.expect(tokenType, JSONTokenType.STRING);
+
+            Object key = formatMapKey(keyPlan, tokenizer);
+
+            tokenizer.next(JSONTokenType.COLON);
+            tokenizer.next();
+
+            Object value = formatValue(valuePlan, tokenizer);
+
+            try {
+                map.put(key, value);
+            } catch (NullPointerException e) {
+                throw new JSONParserException(String.format(NULL_ELEMENT_ERROR, map.getClass()), e);
+            }
+
+            tokenType = nextElement(tokenizer, JSONTokenType.END_OBJECT);
+        }
+
+        return map;
+    }
+
+    /**
+     * Format value of JSON key depends on value token and object's field category
+     *
+     * @param object    object which field should be set
+     * @param fieldPlan plan of object field for JSON key
+     * @param tokenizer tokenizer which current token is the first token of value
+     * @param <T>       object type
+     * @return object with set field
+     * @throws JSONParserException when JSON value doesn't match field type
+     */
+    <T> T formatByCase(T object, FieldPlan fieldPlan, JSONTokenizer tokenizer) throws JSONParserException {
+        return formatByCase(object, fieldPlan, tokenizer, false);
+    }
+
+    /**
+     * Format value of JSON key, when reuse is true current value of field is reused
+     */
+    private <T> T formatByCase(T object, FieldPlan fieldPlan, JSONTokenizer tokenizer, boolean reuse) {
 
+        FieldCategory fieldCategory = fieldPlan.getCategory();
+        JSONTokenType tokenType = tokenizer.getTokenType();
 
-        if (isComposite(field.getType().getComponentType())) {
-            //TODO
-            throw new JSONParserException("Error parsing composite array");
+        if (tokenType == JSONTokenType.NULL || tokenType.isScalar()) {
+            formatSimple(object, fieldPlan, tokenizer);
+        } else if (fieldPlan.getType() == Object.class ||
+                (tokenType == JSONTokenType.BEGIN_ARRAY &&
+                        (fieldCategory == FieldCategory.ARRAY || fieldCategory == FieldCategory.COLLECTION)) ||
+                (tokenType == JSONTokenType.BEGIN_OBJECT &&
+                        (fieldCategory == FieldCategory.MAP || fieldCategory == FieldCategory.OBJECT))) {
+            Object current = reuse ? fieldPlan.get(object) : null;
+
+            fieldPlan.set(object, formatValue(current, fieldPlan.getValuePlan(), tokenizer));
         } else {
-            List<String> arrayValuesFromJSON = getSimpleArrayValuesFromJSON(jSon.getFormattingJSON());
-            setSimpleArrayField(object, field, arrayValuesFromJSON);
+            throw new JSONParserException(String.format(FIELD_VALUE_ERROR, fieldPlan.getName(), tokenType));
         }
 
         return object;
     }
 
-    @SuppressWarnings("unchecked")
-    <T> T formatByCase(T object, JSON jSon, Field... field) {
+    /**
+     * Format value of JSON key to buffer of field values. JSON null or not converted value of primitive field
+     * is skipped, so field keeps its default value as field of object created by constructor
+     *
+     * @param values    field values by field index, see {@link ObjectInstantiator#newValues()}
+     * @param fieldPlan plan of object field for JSON key
+     * @param tokenizer tokenizer which current token is the first token of value
+     * @throws JSONParserException when JSON value doesn't match field type
+     */
+    void formatFieldValue(Object[] values, FieldPlan fieldPlan, JSONTokenizer tokenizer) throws JSONParserException {
+
+        if (tokenizer.getTokenType() == JSONTokenType.NULL && fieldPlan.isPrimitive()) {
+            return;
+        }
 
-        boolean isValidObjectField = field != null &&
-                field.length == 1 &&
-                field[0] != null;
+        Object value = formatValue(fieldPlan.getValuePlan(), tokenizer);
+
+        if (value != null || !fieldPlan.isPrimitive()) {
+            values[fieldPlan.getIndex()] = value;
+        }
+    }
 
-        Class<?> checkingClass = isValidObjectField
-                ? field[0].getType()
-                : object.getClass();
+    private void formatFieldValues(ClassPlan<?> classPlan, Object[] values, JSONTokenizer tokenizer) {
 
-        String formattingJSON = isComposite(checkingClass)
-                ? getCompositeJSON(jSon.getFormattingField(), jSon.getAllJSON())
-                : getSimpleJSON(jSon.getFormattingField(), jSon.getAllJSON());
-        jSon.setFormattingJSON(formattingJSON);
+        JSONTokenType tokenType = tokenizer.next();
+        FieldPlan previousField = null;
 
-        if (isComposite(checkingClass)) {
+        while (tokenType != JSONTokenType.END_OBJECT) {
+            tokenizer.expect(tokenType, JSONTokenType.STRING);
 
-            if (isArray(checkingClass)) {
-                object = formatArray(object, field[0], jSon);
+            FieldPlan fieldPlan = classPlan.getField(tokenizer, previousField);
+
+            tokenizer.next(JSONTokenType.COLON);
+            tokenizer.next();
+
+            if (fieldPlan == null) {
+                tokenizer.skipValue();
             } else {
-                object = formatJSONToObject(field[0].getType(), jSon, object);
+                formatFieldValue(values, fieldPlan, tokenizer);
+                previousField = fieldPlan;
             }
 
-        } else {
-            formatSimple(object, field[0], jSon);
+            tokenType = nextElement(tokenizer, JSONTokenType.END_OBJECT);
         }
+    }
 
-        String allJSON = removeFromJSON(jSon.getAllJSON(), formattingJSON);
-        jSon.setAllJSON(allJSON);
+    private <T> void formatFields(T objectInstance, JSONTokenizer tokenizer, boolean reuse) {
 
-        return object;
+        ClassPlan<?> classPlan = ClassPlan.of(objectInstance.getClass());
+
+        JSONTokenType tokenType = tokenizer.next();
+        FieldPlan previousField = null;
+
+        while (tokenType != JSONTokenType.END_OBJECT) {
+            tokenizer.expect(tokenType, JSONTokenType.STRING);
+
+            FieldPlan fieldPlan = classPlan.getField(tokenizer, previousField);
+
+            tokenizer.next(JSONTokenType.COLON);
+            tokenizer.next();
+
+            if (fieldPlan == null) {
+                tokenizer.skipValue();
+            } else {
+                formatByCase(objectInstance, fieldPlan, tokenizer, reuse);
+                previousField = fieldPlan;
+            }
+
+            tokenType = nextElement(tokenizer, JSONTokenType.END_OBJECT);
+        }
+    }
+
+    private void expectScalar(JSONTokenizer tokenizer) {
+
+        JSONTokenType tokenType = tokenizer.getTokenType();
+
+        if (!tokenType.isScalar()) {
+            throw new JSONParserException(String.format(SIMPLE_VALUE_ERROR, tokenType));
+        }
+    }
+
+    /**
+     * Convert current simple token to value of not primitive simple type
+     */
+    private Object convertSimple(Class<?> type, SimpleType simpleType, JSONTokenizer tokenizer) {
+
+        return switch (simpleType) {
+            case BOOLEAN -> Converter.convertToBoolean(tokenizer);
+            case BYTE -> Converter.convertToByte(tokenizer);
+            case SHORT -> Converter.convertToShort(tokenizer);
+            case CHAR -> Converter.convertToCharacter(tokenizer);
+            case INT -> Converter.convertToInteger(tokenizer);
+            case LONG -> Converter.convertToLong(tokenizer);
+            case FLOAT -> Converter.convertToFloat(tokenizer);
+            case DOUBLE -> Converter.convertToDouble(tokenizer);
+            case STRING -> tokenizer.tokenString();
+            case NONE -> type.isAssignableFrom(Double.class)
+                    ? Converter.convertToDouble(tokenizer)
+                    : null;
+        };
     }
 
-    private <T> void formatFields(T objectInstance, JSON jSON) {
+    private void setPrimitiveElement(Object array, int index, TypePlan componentPlan, JSONTokenizer tokenizer) {
+        switch (componentPlan.getSimpleType()) {
+            case BOOLEAN -> ((boolean[]) array)[index] = Converter.convertToBooleanValue(tokenizer);
+            case BYTE -> ((byte[]) array)[index] = Converter.convertToByteValue(tokenizer);
+            case SHORT -> ((short[]) array)[index] = Converter.convertToShortValue(tokenizer);
+            case CHAR -> ((char[]) array)[index] = Converter.convertToCharValue(tokenizer);
+            case INT -> ((int[]) array)[index] = Converter.convertToIntValue(tokenizer);
+            case LONG -> ((long[]) array)[index] = Converter.convertToLongValue(tokenizer);
+            case FLOAT -> ((float[]) array)[index] = Converter.convertToFloatValue(tokenizer);
+            case DOUBLE -> ((double[]) array)[index] = Converter.convertToDoubleValue(tokenizer);
+            default -> throw new JSONParserException(String.format(SIMPLE_TYPE_ERROR, componentPlan.getType()));
+        }
+    }
+
+    /**
+     * Set default value to element of primitive array for JSON null
+     */
+    private void clearPrimitiveElement(Object array, int index, TypePlan componentPlan) {
+        switch (componentPlan.getSimpleType()) {
+            case BOOLEAN -> ((boolean[]) array)[index] = false;
+            case BYTE -> ((byte[]) array)[index] = 0;
+            case SHORT -> ((short[]) array)[index] = 0;
+            case CHAR -> ((char[]) array)[index] = 0;
+            case INT -> ((int[]) array)[index] = 0;
+            case LONG -> ((long[]) array)[index] = 0;
+            case FLOAT -> ((float[]) array)[index] = 0;
+            case DOUBLE -> ((double[]) array)[index] = 0;
+            default -> throw new JSONParserException(String.format(SIMPLE_TYPE_ERROR, componentPlan.getType()));
+        }
+    }
 
-        Field[] objectFields = objectInstance.getClass().getDeclaredFields();
+    /**
+     * Convert current JSON key to map key of planned type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object formatMapKey(TypePlan keyPlan, JSONTokenizer tokenizer) {
+
+        Class<?> keyType = keyPlan.getType();
+
+        if (keyType == String.class || keyType == Object.class) {
+            return tokenizer.tokenString();
+        } else if (keyType.isEnum()) {
+            try {
+                return Enum.valueOf((Class<Enum>) keyType, tokenizer.tokenString());
+            } catch (IllegalArgumentException e) {
+                throw new JSONParserException(String.format(MAP_KEY_VALUE_ERROR, tokenizer.tokenString(), keyType), e);
+            }
+        } else if (keyPlan.getCategory() == FieldCategory.SIMPLE && keyPlan.getSimpleType() != SimpleType.NONE) {
+            Object key = convertSimple(keyType, keyPlan.getSimpleType(), tokenizer);
+
+            // not converted key would be put as null key
+            if (key == null) {
+                throw new JSONParserException(String.format(MAP_KEY_VALUE_ERROR, tokenizer.tokenString(), keyType));
+            }
+
+            return key;
+        }
+
+        throw new JSONParserException(String.format(MAP_KEY_ERROR, keyPlan.getGenericType()));
+    }
 
-        Arrays.stream(objectFields)
-                .peek(objectField -> objectField.setAccessible(true))
-                .peek(objectField -> jSON.setFormattingField(objectField.getName()))
-                .peek(objectField -> {
-                    if (isComposite(objectField.getType())) {
-                        jSON.setFormattingField(objectField.getName());
-                    }
-                })
-                .forEach(objectField -> formatByCase(objectInstance, jSON, objectField));
+    /**
+     * Format JSON value of Object type as Gson does: objects to LinkedHashMap,
+     * arrays to ArrayList, numbers to Double
+     */
+    private Object formatUntyped(JSONTokenizer tokenizer) {
+
+        JSONTokenType tokenType = tokenizer.getTokenType();
+
+        return switch (tokenType) {
+            case BEGIN_OBJECT -> formatMap(UNTYPED_MAP_PLAN, tokenizer);
+            case BEGIN_ARRAY -> formatCollection(UNTYPED_LIST_PLAN, tokenizer);
+            case STRING -> tokenizer.tokenString();
+            case NUMBER -> Converter.convertToDouble(tokenizer);
+            case TRUE, FALSE -> tokenizer.booleanValue();
+            default -> throw new JSONParserException(String.format(VALUE_ERROR, tokenType));
+        };
     }
 
 }
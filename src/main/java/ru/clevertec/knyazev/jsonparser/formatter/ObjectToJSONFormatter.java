@@ -1,17 +1,27 @@
 package ru.clevertec.knyazev.jsonparser.formatter;
 
 import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+import ru.clevertec.knyazev.jsonparser.json.UTF8Buffer;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
 import ru.clevertec.knyazev.jsonparser.util.ObjectDeterminerUtil;
 
-import java.lang.reflect.Field;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Represents Formatter for formatting simple and composite objects to JSON
+ * Represents Formatter for formatting simple and composite objects to JSON.
+ * Formatting result is streamed into {@link JSONWriter}, every JSON token is written once.
  */
 public abstract class ObjectToJSONFormatter implements ObjectDeterminerUtil {
 
     /**
-     * Format any object to JSON String
+     * Format any object to JSON and write it into given sink
      * <p>
      * Example:
      * Class A {
@@ -19,159 +29,250 @@ public abstract class ObjectToJSONFormatter implements ObjectDeterminerUtil {
      * private int id = 5;
      * }
      * <p>
-     * or
-     * <p>
-     * String b = "1";
-     * <p>
-     * should return {"b":"1","id":5}, or throws {@link JSONParserException},
-     * <p>
-     * If second param (objectTypeName) has been given like "A" than in first example should return
-     * A:"b":"1","id":5}
+     * should write {"b":"1","id":5}, null object should write {},
+     * or throws {@link JSONParserException},
+     *
+     * @param object input object
+     * @param sink   sink for JSON
+     * @param <T>    given object type
+     * @throws JSONParserException if object has primitive type (String, Boolean, Number) or
+     *                             when sink writing error
+     */
+    public abstract <T> void formatObjectToJSON(T object, Appendable sink) throws JSONParserException;
+
+    /**
+     * Format any object to JSON and write it by given writer
+     *
+     * @param object input object
+     * @param writer JSON writer
+     * @param <T>    given object type
+     * @throws JSONParserException if object has primitive type (String, Boolean, Number)
+     */
+    abstract <T> void formatObjectToJSON(T object, JSONWriter writer) throws JSONParserException;
+
+    /**
+     * Format any object to JSON String
      *
-     * @param object         input object
-     * @param objectTypeName the type name of object
-     * @param <T>            given object type
+     * @param object input object
+     * @param <T>    given object type
      * @return JSON result as String
      * @throws JSONParserException if object has primitive type (String, Boolean, Number)
      */
-    public abstract <T> String formatObjectToJSON(T object, String... objectTypeName) throws JSONParserException;
+    public <T> String formatObjectToJSON(T object) throws JSONParserException {
+
+        StringBuilder json = new StringBuilder();
+        formatObjectToJSON(object, json);
+
+        return json.toString();
+    }
+
+    /**
+     * Format batch of objects to JSON Strings. Objects are written by one writer
+     * into one reused buffer, so only result Strings are created
+     *
+     * @param objects input objects
+     * @param <T>     given objects type
+     * @return JSON Strings in order of objects
+     * @throws JSONParserException if any object has primitive type (String, Boolean, Number)
+     */
+    public <T> List<String> formatObjectsToJSONs(List<T> objects) throws JSONParserException {
+
+        List<String> jsons = new ArrayList<>(objects.size());
+        StringBuilder json = new StringBuilder();
+        JSONWriter writer = new JSONWriter(json);
+
+        for (T object : objects) {
+            json.setLength(0);
+            writer.reset();
+
+            formatObjectToJSON(object, writer);
+            jsons.add(json.toString());
+        }
+
+        return jsons;
+    }
+
+    /**
+     * Format any object to UTF-8 encoded JSON. JSON is encoded while writing into
+     * {@link UTF8Buffer} recycled by current thread, so only result array is created
+     *
+     * @param object input object
+     * @param <T>    given object type
+     * @return UTF-8 bytes of JSON
+     * @throws JSONParserException if object has primitive type (String, Boolean, Number)
+     */
+    public <T> byte[] formatObjectToJSONBytes(T object) throws JSONParserException {
+
+        UTF8Buffer buffer = UTF8Buffer.acquire();
+
+        try {
+            formatObjectToJSON(object, buffer.writer());
+
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Format any object to UTF-8 encoded JSON and put it into given buffer
+     *
+     * @param object input object
+     * @param target buffer for JSON, its position is moved after JSON
+     * @param <T>    given object type
+     * @throws JSONParserException if object has primitive type (String, Boolean, Number) or
+     *                             when JSON doesn't fit into remaining space of target
+     */
+    public <T> void formatObjectToJSON(T object, ByteBuffer target) throws JSONParserException {
+
+        UTF8Buffer buffer = UTF8Buffer.acquire();
+
+        try {
+            formatObjectToJSON(object, buffer.writer());
+
+            buffer.writeTo(target);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Format any object to UTF-8 encoded JSON and write it into given output stream. JSON is encoded
+     * into {@link UTF8Buffer} recycled by current thread and written to output stream by one call
+     *
+     * @param object       input object
+     * @param outputStream output stream for JSON, it isn't flushed
+     * @param <T>          given object type
+     * @return quantity of written bytes
+     * @throws JSONParserException if object has primitive type (String, Boolean, Number) or
+     *                             when output stream writing error
+     */
+    public <T> int formatObjectToJSON(T object, OutputStream outputStream) throws JSONParserException {
+
+        UTF8Buffer buffer = UTF8Buffer.acquire();
+
+        try {
+            formatObjectToJSON(object, buffer.writer());
+
+            buffer.writeTo(outputStream);
+
+            return buffer.size();
+        } finally {
+            buffer.release();
+        }
+    }
 
     /**
-     * Format to JSON simple Object or Object's field type
+     * Format to JSON composite object fields
      * <p>
      * Example:
      * Class A {
      * private String b = "1";
+     * private int id = 5;
      * }
      * <p>
-     * or
+     * should write {"b":"1","id":5}
+     *
+     * @param baseObject object that should be formatted to JSON
+     * @param writer     JSON writer
+     */
+    abstract void formatObject(Object baseObject, JSONWriter writer);
+
+    /**
+     * Format to JSON simple Object
+     * <p>
+     * Example:
      * <p>
-     * String b = "1";
+     * String b = "1"; int id = 5;
      * <p>
-     * should return "b":"1", or "1",
+     * should write "1" or 5
      *
-     * @param baseObject object that field should be formatted to JSON or object that
-     *                   should be formatted to JSON
-     * @param baseField  field of base object that should be formatted to JSON
-     * @return formatted JSON String
+     * @param baseObject object that should be formatted to JSON
+     * @param writer     JSON writer
      */
-    abstract String formatSimple(Object baseObject, Field... baseField);
+    abstract void formatSimple(Object baseObject, JSONWriter writer);
 
     /**
-     * Format to JSON array or object's array field
+     * Format to JSON primitive field of object without boxing field value
      * <p>
      * Example:
-     * <p>
-     * class A{
-     * private Integer[] arr = {1, 2 ,3};
+     * Class A {
+     * private int id = 5;
      * }
      * <p>
-     * or
+     * should write 5
+     *
+     * @param baseObject object which primitive field should be formatted to JSON
+     * @param fieldPlan  plan of primitive field
+     * @param writer     JSON writer
+     */
+    abstract void formatPrimitive(Object baseObject, FieldPlan fieldPlan, JSONWriter writer);
+
+    /**
+     * Format to JSON array
+     * <p>
+     * Example:
      * <p>
      * private Integer[] arr = {1, 2 ,3}
      * <p>
-     * should return "arr":[1,2,3], or [1,2,3],
+     * should write [1,2,3]
      *
-     * @param baseObject   object which field is array that should be formatted to JSON or
-     *                     object array that should be formatted to JSON
-     * @param baseArrField array field of base object that should be formatted to JSON
-     * @return formatted JSON String
+     * @param baseArray array that should be formatted to JSON
+     * @param writer    JSON writer
      */
-    abstract String formatArray(Object baseObject, Field... baseArrField);
+    abstract void formatArray(Object baseArray, JSONWriter writer);
 
     /**
-     * Format to JSON Collection or object's collection field
+     * Format to JSON Collection
      * <p>
      * Example:
      * <p>
-     * class A{
-     * private Collection<Integer> values = List.of(1, 2, 3);
-     * }
-     * <p>
-     * or
-     * <p>
      * private Collection<Integer> values = List.of(1, 2, 3);
      * <p>
-     * should return "values":[1,2,3], or [1,2,3],
+     * should write [1,2,3]
      *
-     * @param baseObject          object which field is collection that should be formatted to JSON or
-     *                            object collection that should be formatted to JSON
-     * @param baseCollectionField collection field of base object that should be formatted to JSON
-     * @return formatted JSON String
+     * @param baseCollection collection that should be formatted to JSON
+     * @param writer         JSON writer
      */
-    abstract String formatCollection(Object baseObject, Field... baseCollectionField);
+    abstract void formatCollection(Collection<?> baseCollection, JSONWriter writer);
 
     /**
-     * Format to JSON Map or object's Map field
+     * Format to JSON Map
      * <p>
      * Example:
      * <p>
-     * class A{
-     * private Map<String, Integer> map = new HashMap<>() {{
-     * put("Чай", 1);
-     * put("Кофе", 2);
-     * }};
-     * }
-     *
-     * <p>
-     * or
-     * <p>
      * private Map<String, Integer> map = new HashMap<>() {{
      * put("Чай", 1);
      * put("Кофе", 2);
      * }};
      * <p>
-     * should return "map":{"Чай":1,"Кофе":2}, or {"Чай":1,"Кофе":2},
+     * should write {"Чай":1,"Кофе":2}
      *
-     * @param baseObject   object which field is Map that should be formatted to JSON or
-     *                     object Map that should be formatted to JSON
-     * @param baseMapField Map field of base object that should be formatted to JSON
-     * @return formatted JSON String
+     * @param baseMap Map that should be formatted to JSON
+     * @param writer  JSON writer
      */
-    abstract String formatMap(Object baseObject, Field... baseMapField);
+    abstract void formatMap(Map<?, ?> baseMap, JSONWriter writer);
 
     /**
-     * Formatting given Object to JSON depends on object type or formatting
-     * object's field to JSON depends on field type
+     * Formatting given Object to JSON depends on object type
      *
      * @param parsingObject object for parsing to JSON
-     * @return JSON parsing result
+     * @param writer        JSON writer
      * @throws JSONParserException when haven't permissions for working with field
      */
-    String formatByCase(Object parsingObject, Field... objectField) throws JSONParserException {
-
-        String result;
-
-        boolean isValidObjectField = objectField != null && objectField.length == 1;
-
-        Class<?> checkingClass = isValidObjectField
-                ? objectField[0].getType()
-                : parsingObject.getClass();
-
-        if (isComposite(checkingClass)) {
-            if (isArray(checkingClass)) {
-                result = formatArray(parsingObject, objectField);
-            } else if (isCollection(checkingClass)) {
-                result = formatCollection(parsingObject, objectField);
-            } else if (isMap(checkingClass)) {
-                result = formatMap(parsingObject, objectField);
-            } else {
-                try {
-
-                    if (isValidObjectField) {
-                        result = formatObjectToJSON(objectField[0].get(parsingObject), objectField[0].getName());
-                    } else {
-                        result = formatObjectToJSON(parsingObject);
-                    }
-
-                } catch (IllegalAccessException e) {
-                    throw new JSONParserException(e);
-                }
-            }
-        } else {
-            result = formatSimple(parsingObject, objectField);
+    void formatByCase(Object parsingObject, JSONWriter writer) throws JSONParserException {
+
+        if (parsingObject == null) {
+            writer.nullValue();
+            return;
         }
 
-        return result;
+        switch (ClassPlan.of(parsingObject.getClass()).getCategory()) {
+            case SIMPLE -> formatSimple(parsingObject, writer);
+            case ARRAY -> formatArray(parsingObject, writer);
+            case COLLECTION -> formatCollection((Collection<?>) parsingObject, writer);
+            case MAP -> formatMap((Map<?, ?>) parsingObject, writer);
+            default -> formatObject(parsingObject, writer);
+        }
     }
 }
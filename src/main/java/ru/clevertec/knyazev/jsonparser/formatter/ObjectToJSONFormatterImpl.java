@@ -1,199 +1,343 @@
 package ru.clevertec.knyazev.jsonparser.formatter;
 
-import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ru.clevertec.knyazev.jsonparser.accessor.FieldAccessor;
 import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+import ru.clevertec.knyazev.jsonparser.plan.SimpleType;
 
-import java.lang.reflect.Array;
-import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Represents Formatter for formatting objects to JSON by reflection.
+ * <p>
+ * Arrays of objects, collections and maps which have at least parallel threshold elements
+ * are formatted in parallel: chunks of elements are written by forked {@link JSONWriter}s
+ * on {@link ForkJoinPool} and joined to JSON in elements order. Parallel formatting is off
+ * by default and is turned on by {@link #ObjectToJSONFormatterImpl(int, ForkJoinPool)}.
+ * <p>
+ * Formatter is stateless, formatting state is kept by writer of the call,
+ * so one formatter is shared by threads.
+ */
 @Slf4j
-@NoArgsConstructor
 public class ObjectToJSONFormatterImpl extends ObjectToJSONFormatter {
 
     private static final String PRIMITIVE_TYPE_FORMATTING_ERROR = "Primitive type formatting to JSON illegal";
-    private static final String FORMATTING_SIMPLE_FIELD_ERROR = "Error when formatting simple field";
-    private static final String FORMATTING_ARRAY_ERROR = "Error when formatting array";
-    private static final String FORMATTING_COLLECTION_ERROR = "Error when formatting collection";
-    private static final String FORMATTING_MAP_ERROR = "Error when formatting map";
+    private static final String PARALLEL_THRESHOLD_ERROR = "Error. Parallel threshold should be positive but was %d";
 
-    @Override
-    public <T> String formatObjectToJSON(T object, String... objectTypeName) {
+    /**
+     * Threshold which no container reaches, so containers are formatted sequentially
+     */
+    private static final int SEQUENTIAL_THRESHOLD = Integer.MAX_VALUE;
+
+    /**
+     * Minimal quantity of elements in chunk formatted by one task
+     */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int parallelThreshold;
 
-        String objTypeName = "";
+    private final ForkJoinPool pool;
 
-        if (objectTypeName != null && objectTypeName.length == 1) {
-            objTypeName = "\"" + objectTypeName[0] +"\":";
+    /**
+     * Create formatter which formats all containers sequentially on calling thread
+     */
+    public ObjectToJSONFormatterImpl() {
+        this(SEQUENTIAL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create formatter which formats containers in parallel on given pool
+     *
+     * @param parallelThreshold minimal quantity of container elements formatted in parallel,
+     *                          Integer.MAX_VALUE disables parallel formatting
+     * @param pool              pool for formatting, pool with parallelism 1 disables parallel formatting
+     */
+    public ObjectToJSONFormatterImpl(int parallelThreshold, ForkJoinPool pool) {
+
+        if (parallelThreshold <= 0) {
+            throw new JSONParserException(String.format(PARALLEL_THRESHOLD_ERROR, parallelThreshold));
         }
 
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+    }
+
+    @Override
+    public <T> void formatObjectToJSON(T object, Appendable sink) {
+        formatObjectToJSON(object, new JSONWriter(sink));
+    }
+
+    @Override
+    <T> void formatObjectToJSON(T object, JSONWriter writer) {
+
         if (object == null) {
-            return "{},";
+            writer.beginObject().endObject();
+            return;
         }
 
         if (!isComposite(object.getClass())) {
             throw new JSONParserException(PRIMITIVE_TYPE_FORMATTING_ERROR);
         }
 
-        Field[] fields = object.getClass().getDeclaredFields();
-
-        if (fields.length == 0) {
-            return "{},";
-        }
-
-        return objTypeName + Stream.of(fields)
-                .peek(field -> field.setAccessible(true))
-                .map(field -> formatByCase(object, field))
-                .collect(Collectors.joining("", "{", "}"))
-                .replaceFirst(",}$", "},");
+        formatByCase(object, writer);
     }
 
     @Override
-    String formatSimple(Object baseObject, Field... baseField) {
+    void formatObject(Object baseObject, JSONWriter writer) {
 
-        String result;
+        writer.beginObject();
 
-        if (baseObject == null)
-            return "";
+        List<FieldPlan> fieldPlans = ClassPlan.of(baseObject.getClass()).getFields();
 
-        if (baseField != null && baseField.length == 1) {
+        // indexed loop doesn't create iterators
+        for (int i = 0; i < fieldPlans.size(); i++) {
+            FieldPlan fieldPlan = fieldPlans.get(i);
 
-            try {
-                Object value = baseField[0].get(baseObject);
-                if (value instanceof String) {
-                    result = "\"" + baseField[0].getName() + "\"" + ":" + "\"" + value + "\",";
-                } else {
-                    result = "\"" + baseField[0].getName() + "\"" + ":" + value + ",";
-                }
-            } catch (IllegalAccessException e) {
-                throw new JSONParserException(FORMATTING_SIMPLE_FIELD_ERROR, e);
+            if (fieldPlan.isPrimitive()) {
+                writer.encodedName(fieldPlan.getJsonKey());
+                formatPrimitive(baseObject, fieldPlan, writer);
+                continue;
             }
 
-        } else {
-            result = "\"" + baseObject + "\",";
+            Object value = fieldPlan.get(baseObject);
+
+            if (value == null) {
+                continue;
+            }
+
+            writer.encodedName(fieldPlan.getJsonKey());
+
+            switch (fieldPlan.getCategory()) {
+                case SIMPLE -> formatSimple(value, writer);
+                case ARRAY -> formatArray(value, writer);
+                case COLLECTION -> formatCollection((Collection<?>) value, writer);
+                case MAP -> formatMap((Map<?, ?>) value, writer);
+                default -> formatByCase(value, writer);
+            }
         }
 
-        return result;
+        writer.endObject();
     }
 
     @Override
-    String formatArray(Object baseObject, Field... baseArrField) {
-        String result;
-        Object array;
+    void formatSimple(Object baseObject, JSONWriter writer) {
 
-        if (baseObject == null)
-            return "";
+        if (baseObject instanceof Number number) {
+            writer.value(number);
+        } else if (baseObject instanceof Boolean bool) {
+            writer.value(bool.booleanValue());
+        } else {
+            writer.value(baseObject.toString());
+        }
+    }
 
-        if (baseArrField != null && baseArrField.length == 1) {
+    @Override
+    void formatPrimitive(Object baseObject, FieldPlan fieldPlan, JSONWriter writer) {
+
+        FieldAccessor accessor = fieldPlan.getAccessor();
+
+        switch (fieldPlan.getSimpleType()) {
+            case BOOLEAN -> writer.value(accessor.getBoolean(baseObject));
+            case BYTE -> writer.value(accessor.getByte(baseObject));
+            case SHORT -> writer.value(accessor.getShort(baseObject));
+            case CHAR -> writer.value(accessor.getChar(baseObject));
+            case INT -> writer.value(accessor.getInt(baseObject));
+            case LONG -> writer.value(accessor.getLong(baseObject));
+            case FLOAT -> writer.value(accessor.getFloat(baseObject));
+            case DOUBLE -> writer.value(accessor.getDouble(baseObject));
+            default -> throw new JSONParserException(String.format(SIMPLE_TYPE_ERROR, fieldPlan.getType()));
+        }
+    }
 
-            try {
-                array = baseArrField[0].get(baseObject);
-            } catch (IllegalAccessException e) {
-                throw new JSONParserException(FORMATTING_ARRAY_ERROR, e);
-            }
+    @Override
+    void formatArray(Object baseArray, JSONWriter writer) {
+
+        writer.beginArray();
 
-            result = "\"" + baseArrField[0].getName() + "\"" + ":[";
+        Class<?> componentType = baseArray.getClass().getComponentType();
 
+        if (componentType.isPrimitive()) {
+            formatPrimitiveArray(baseArray, SimpleType.of(componentType), writer);
         } else {
-            array = baseObject;
-            result = "[";
+            Object[] elements = (Object[]) baseArray;
+
+            if (isParallel(elements.length)) {
+                formatInParallel(elements.length, (from, to, part) -> {
+                    for (int i = from; i < to; i++) {
+                        formatByCase(elements[i], part);
+                    }
+                }, writer);
+            } else {
+                for (Object arrObject : elements) {
+                    formatByCase(arrObject, writer);
+                }
+            }
         }
 
-        int arrLength = Array.getLength(array);
-        if (arrLength == 0) {
-            return "";
-        }
+        writer.endArray();
+    }
 
-        for (int i = 0; i < arrLength; i++) {
-            Object arrObject = Array.get(array, i);
+    private void formatPrimitiveArray(Object baseArray, SimpleType componentType, JSONWriter writer) {
 
-            result += formatByCase(arrObject);
+        switch (componentType) {
+            case BOOLEAN -> {
+                for (boolean arrValue : (boolean[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            case BYTE -> {
+                for (byte arrValue : (byte[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            case SHORT -> {
+                for (short arrValue : (short[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            case CHAR -> {
+                for (char arrValue : (char[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            case INT -> {
+                for (int arrValue : (int[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            case LONG -> {
+                for (long arrValue : (long[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            case FLOAT -> {
+                for (float arrValue : (float[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            case DOUBLE -> {
+                for (double arrValue : (double[]) baseArray) {
+                    writer.value(arrValue);
+                }
+            }
+            default -> throw new JSONParserException(String.format(SIMPLE_TYPE_ERROR, componentType));
         }
-
-        result = result.substring(0, result.length() - 1);
-        result += "],";
-
-        return result;
     }
 
     @Override
-    String formatCollection(Object baseObject, Field... baseCollectionField) {
-        String result;
-        Collection<?> collectionObject;
-
-        if (baseObject == null)
-            return "";
-
-        if (baseCollectionField != null && baseCollectionField.length == 1) {
-            try {
-                collectionObject = (Collection<?>) baseCollectionField[0].get(baseObject);
-            } catch (IllegalAccessException e) {
-                throw new JSONParserException(FORMATTING_COLLECTION_ERROR, e);
-            }
-            result = "\"" + baseCollectionField[0].getName() + "\"" + ":[";
-        } else {
-            collectionObject = (Collection<?>) baseObject;
-            result = "[";
-        }
+    void formatCollection(Collection<?> baseCollection, JSONWriter writer) {
 
-        if (collectionObject == null || collectionObject.size() == 0)
-            return "";
+        writer.beginArray();
 
-        for (Object innerCollObject : collectionObject) {
-            result += formatByCase(innerCollObject);
-        }
+        if (isParallel(baseCollection.size())) {
+            List<?> elements = baseCollection instanceof List<?> list && list instanceof RandomAccess
+                    ? list
+                    : Arrays.asList(baseCollection.toArray());
 
-        result = result.substring(0, result.length() - 1);
-        result += "],";
+            formatInParallel(elements.size(), (from, to, part) -> {
+                for (int i = from; i < to; i++) {
+                    formatByCase(elements.get(i), part);
+                }
+            }, writer);
+        } else {
+            for (Object innerCollObject : baseCollection) {
+                formatByCase(innerCollObject, writer);
+            }
+        }
 
-        return result;
+        writer.endArray();
     }
 
     @Override
-    String formatMap(Object baseObject, Field... baseMapField) {
-        String result;
-        Map<?, ?> mapObject;
-
-        if (baseObject == null)
-            return "";
-
-        if (baseMapField != null && baseMapField.length == 1) {
-            try {
-                mapObject = (Map<?, ?>) baseMapField[0].get(baseObject);
-            } catch (IllegalAccessException e) {
-                throw new JSONParserException(FORMATTING_MAP_ERROR, e);
-            }
+    void formatMap(Map<?, ?> baseMap, JSONWriter writer) {
+
+        writer.beginObject();
+
+        if (isParallel(baseMap.size())) {
+            Map.Entry<?, ?>[] entries = baseMap.entrySet().toArray(new Map.Entry<?, ?>[0]);
 
-            result = "\"" + baseMapField[0].getName() + "\"" + ":{";
+            formatInParallel(entries.length, (from, to, part) -> {
+                for (int i = from; i < to; i++) {
+                    formatEntry(entries[i], part);
+                }
+            }, writer);
         } else {
-            mapObject = (Map<?, ?>) baseObject;
-            result = "{";
+            for (Map.Entry<?, ?> kvMap : baseMap.entrySet()) {
+                formatEntry(kvMap, writer);
+            }
         }
 
-        if (mapObject == null || mapObject.isEmpty())
-            return "";
+        writer.endObject();
+    }
 
-        for (Map.Entry<?, ?> kvMap : mapObject.entrySet()) {
-            Object keyKvMap = kvMap.getKey();
-            Object valueKvMap = kvMap.getValue();
+    private void formatEntry(Map.Entry<?, ?> kvMap, JSONWriter writer) {
 
-            result += formatByCase(keyKvMap);
+        Object valueKvMap = kvMap.getValue();
 
-            result = result.substring(0, result.length() - 1);
-            result += ":";
+        if (valueKvMap != null) {
+            writer.name(String.valueOf(kvMap.getKey()));
+            formatByCase(valueKvMap, writer);
+        }
+    }
 
-            result += formatByCase(valueKvMap);
+    private boolean isParallel(int size) {
+        return size >= parallelThreshold && pool.getParallelism() > 1;
+    }
 
-            result = result.substring(0, result.length() - 1);
-            result += ",";
+    /**
+     * Format container elements by chunks on pool. Every chunk is written by forked writer,
+     * chunks are joined to writer in elements order as soon as they are written
+     *
+     * @param size           quantity of container elements
+     * @param chunkFormatter formatter of elements from index to index
+     * @param writer         JSON writer
+     */
+    private void formatInParallel(int size, ChunkFormatter chunkFormatter, JSONWriter writer) {
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<ForkJoinTask<JSONWriter>> chunks = new ArrayList<>(size / chunkSize + 1);
+
+        for (int from = 0; from < size; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + chunkSize, size);
+
+            ForkJoinTask<JSONWriter> chunk = ForkJoinTask.adapt(() -> {
+                JSONWriter part = writer.fork();
+                chunkFormatter.format(chunkFrom, chunkTo, part);
+
+                return part;
+            });
+
+            // nested containers fork chunks into queue of current pool thread
+            if (ForkJoinTask.getPool() == pool) {
+                chunk.fork();
+            } else {
+                pool.execute(chunk);
+            }
+
+            chunks.add(chunk);
+        }
+
+        for (ForkJoinTask<JSONWriter> chunk : chunks) {
+            writer.join(chunk.join());
         }
+    }
 
-        result = result.substring(0, result.length() - 1);
-        result += "},";
+    @FunctionalInterface
+    private interface ChunkFormatter {
 
-        return result;
+        void format(int from, int to, JSONWriter part);
     }
 }
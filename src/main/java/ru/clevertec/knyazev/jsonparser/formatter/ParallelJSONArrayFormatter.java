@@ -0,0 +1,272 @@
+package ru.clevertec.knyazev.jsonparser.formatter;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents Formatter for formatting large top-level JSON array to array of objects in parallel.
+ * <p>
+ * Boundaries of array elements are found by one structural scan which tracks brackets depth and
+ * skips strings, so element values aren't tokenized twice. Elements are formatted to objects by
+ * {@link JSONToObjectFormatter} with own {@link JSONTokenizer} per element on {@link ForkJoinPool}
+ * shared by calls, common pool by default: not more workers than parallelism of call take ranges
+ * of elements one by one, so worker which is done takes remaining ranges.
+ * <p>
+ * Example: for [{"name":"Miko"},{"name":"Margo"}] formatJSONArrayToObjects(Human.class, json, 4)
+ * returns array of Miko and Margo.
+ */
+public class ParallelJSONArrayFormatter {
+
+    private static final String PARALLELISM_ERROR = "Error. Parallelism should be positive but was %d";
+    private static final String ELEMENT_TYPE_ERROR = "Error. Array elements can't be formatted to primitive type %s";
+    private static final String ARRAY_EXPECTED_ERROR = "Error. Expected JSON array at position %d";
+    private static final String UNEXPECTED_CHARACTER_ERROR = "Unexpected character '%s' at position %d";
+    private static final String UNTERMINATED_STRING_ERROR = "Unterminated string at position %d";
+    private static final String UNEXPECTED_END_ERROR = "Unexpected end of JSON at position %d";
+
+    /**
+     * Quantity of element ranges per thread, more ranges balance elements of different size
+     */
+    private static final int RANGES_PER_THREAD = 16;
+
+    private final JSONToObjectFormatter jsonToObjectFormatter;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Create formatter which formats elements on common pool
+     *
+     * @param jsonToObjectFormatter formatter of elements
+     */
+    public ParallelJSONArrayFormatter(JSONToObjectFormatter jsonToObjectFormatter) {
+        this(jsonToObjectFormatter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create formatter which formats elements on given pool, pool isn't shut down by formatter
+     *
+     * @param jsonToObjectFormatter formatter of elements
+     * @param pool                  pool for formatting
+     */
+    public ParallelJSONArrayFormatter(JSONToObjectFormatter jsonToObjectFormatter, ForkJoinPool pool) {
+        this.jsonToObjectFormatter = jsonToObjectFormatter;
+        this.pool = pool;
+    }
+
+    /**
+     * Format JSON array to array of objects in parallel
+     *
+     * @param elementClass class of array elements
+     * @param json         JSON array, e.g. String or {@link ru.clevertec.knyazev.jsonparser.json.UTF8CharSequence}
+     * @param parallelism  the largest quantity of threads formatting elements, it's limited by pool parallelism
+     * @param <T>          element type
+     * @return array of formatted elements in JSON order
+     * @throws JSONParserException when parallelism isn't positive, JSON isn't array
+     *                             or element can't be formatted to element class
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] formatJSONArrayToObjects(Class<T> elementClass, CharSequence json, int parallelism)
+            throws JSONParserException {
+
+        if (parallelism <= 0) {
+            throw new JSONParserException(String.format(PARALLELISM_ERROR, parallelism));
+        }
+
+        if (elementClass.isPrimitive()) {
+            throw new JSONParserException(String.format(ELEMENT_TYPE_ERROR, elementClass));
+        }
+
+        int[] separators = findSeparators(json);
+        int elementsQuantity = separators.length - 1;
+
+        if (elementsQuantity == 1 && isBlank(json, separators[0] + 1, separators[1])) {
+            elementsQuantity = 0;
+        }
+
+        T[] objects = (T[]) Array.newInstance(elementClass, elementsQuantity);
+
+        if (elementsQuantity == 0) {
+            return objects;
+        }
+
+        int workers = Math.min(parallelism, pool.getParallelism());
+        int rangeSize = Math.max(1, elementsQuantity / (workers * RANGES_PER_THREAD));
+
+        AtomicInteger nextElement = new AtomicInteger();
+        List<ElementsAction<T>> actions = new ArrayList<>(workers);
+
+        for (int i = 0; i < workers; i++) {
+            actions.add(new ElementsAction<>(elementClass, json, separators, objects, rangeSize, nextElement));
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(actions)));
+
+        return objects;
+    }
+
+    /**
+     * Find positions of opening bracket, commas between elements and closing bracket of JSON array
+     *
+     * @return separator positions, element i is between separators i and i + 1
+     */
+    private int[] findSeparators(CharSequence json) {
+
+        int length = json.length();
+        int position = skipWhitespaces(json, 0);
+
+        if (position == length || json.charAt(position) != '[') {
+            throw new JSONParserException(String.format(ARRAY_EXPECTED_ERROR, position));
+        }
+
+        int[] separators = new int[Math.max(16, length >>> 6)];
+        int separatorsQuantity = 0;
+        int depth = 0;
+
+        separators[separatorsQuantity++] = position;
+
+        for (int i = position + 1; i < length; i++) {
+
+            char ch = json.charAt(i);
+
+            if (ch == '"') {
+                i = skipString(json, i + 1);
+            } else if (ch == '{' || ch == '[') {
+                depth++;
+            } else if ((ch == '}' || ch == ']') && depth > 0) {
+                depth--;
+            } else if (ch == ',' || ch == ']') {
+
+                if (ch == ',' && depth > 0) {
+                    continue;
+                }
+
+                if (separatorsQuantity == separators.length) {
+                    separators = Arrays.copyOf(separators, separatorsQuantity << 1);
+                }
+
+                separators[separatorsQuantity++] = i;
+
+                if (ch == ']') {
+                    checkEnd(json, i + 1);
+
+                    return Arrays.copyOf(separators, separatorsQuantity);
+                }
+            } else if (ch == '}') {
+                throw new JSONParserException(String.format(UNEXPECTED_CHARACTER_ERROR, ch, i));
+            }
+        }
+
+        throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, length));
+    }
+
+    /**
+     * Check that only whitespaces follow array
+     */
+    private void checkEnd(CharSequence json, int position) {
+
+        int end = skipWhitespaces(json, position);
+
+        if (end != json.length()) {
+            throw new JSONParserException(String.format(UNEXPECTED_CHARACTER_ERROR, json.charAt(end), end));
+        }
+    }
+
+    /**
+     * @return position of closing quote of string which content starts at given position
+     */
+    private int skipString(CharSequence json, int contentStart) {
+
+        int length = json.length();
+
+        for (int i = contentStart; i < length; i++) {
+            char ch = json.charAt(i);
+
+            if (ch == '"') {
+                return i;
+            }
+
+            if (ch == '\\') {
+                i++;
+            }
+        }
+
+        throw new JSONParserException(String.format(UNTERMINATED_STRING_ERROR, contentStart - 1));
+    }
+
+    private int skipWhitespaces(CharSequence json, int position) {
+
+        int length = json.length();
+
+        while (position < length) {
+            char ch = json.charAt(position);
+
+            if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                return position;
+            }
+
+            position++;
+        }
+
+        return position;
+    }
+
+    private boolean isBlank(CharSequence json, int start, int end) {
+        return skipWhitespaces(json, start) >= end;
+    }
+
+    /**
+     * Represents worker which formats ranges of array elements one by one until all elements are taken
+     */
+    private final class ElementsAction<T> extends RecursiveAction {
+
+        private final Class<T> elementClass;
+
+        private final CharSequence json;
+
+        private final int[] separators;
+
+        private final T[] objects;
+
+        private final int rangeSize;
+
+        /**
+         * Index of the first element which isn't taken by workers, shared by workers of call
+         */
+        private final AtomicInteger nextElement;
+
+        private ElementsAction(Class<T> elementClass, CharSequence json, int[] separators, T[] objects,
+                               int rangeSize, AtomicInteger nextElement) {
+            this.elementClass = elementClass;
+            this.json = json;
+            this.separators = separators;
+            this.objects = objects;
+            this.rangeSize = rangeSize;
+            this.nextElement = nextElement;
+        }
+
+        @Override
+        protected void compute() {
+
+            int from;
+
+            while ((from = nextElement.getAndAdd(rangeSize)) < objects.length) {
+                int to = Math.min(from + rangeSize, objects.length);
+
+                for (int i = from; i < to; i++) {
+                    JSONTokenizer tokenizer = new JSONTokenizer(json, separators[i] + 1, separators[i + 1]);
+
+                    objects[i] = jsonToObjectFormatter.formatJSONToObject(elementClass, tokenizer);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package ru.clevertec.knyazev.jsonparser.formatter;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenType;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+import ru.clevertec.knyazev.jsonparser.json.UTF8CharSequence;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
+import ru.clevertec.knyazev.jsonparser.plan.FieldCategory;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+import ru.clevertec.knyazev.jsonparser.plan.ObjectInstantiator;
+import ru.clevertec.knyazev.jsonparser.plan.TypePlan;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents resumable Formatter for formatting UTF-8 JSON which arrives by chunks, e.g. from
+ * non-blocking channel, to object. Chunks are scanned as they are fed: scanner state (nesting
+ * depth, string and escape state) is kept between chunks, so tokens and UTF-8 chars may be split
+ * by chunk boundaries.
+ * <p>
+ * Keys of top-level JSON object formatted to object class and elements of top-level JSON array
+ * formatted to array class are bound as soon as their last byte arrives, and their bytes are
+ * dropped. So only the current key or element is buffered and binding overlaps with input.
+ * Other JSON values (maps, collections, scalars) are buffered as bytes and bound at their end.
+ * <p>
+ * Example: formatter.feed(chunk1) returns false, formatter.feed(chunk2) returns true when chunk2
+ * contains the last byte of JSON object, formatter.finish() returns bound object.
+ * <p>
+ * Formatter reads one JSON value and should be used by one thread.
+ *
+ * @param <T> object type
+ */
+public class PushJSONToObjectFormatter<T> {
+
+    private static final String UNEXPECTED_CHARACTER_ERROR = "Unexpected character '%s' at position %d";
+    private static final String UNEXPECTED_END_ERROR = "Unexpected end of JSON at position %d";
+    private static final String UNMATCHED_BRACKET_ERROR = "Unmatched '%s' at position %d";
+    private static final String INCOMPLETE_BOM_ERROR = "Incomplete byte order mark at position %d";
+    private static final String FINISHED_ERROR = "Error. JSON is already finished";
+    private static final String FAILED_ERROR = "Error. JSON formatting has already failed";
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final JSONToObjectFormatter jsonToObjectFormatter;
+
+    private final Class<T> objectClass;
+
+    private final TypePlan typePlan;
+
+    /**
+     * Not bound bytes, the first byte is at position dropped of JSON
+     */
+    private byte[] pending = new byte[INITIAL_CAPACITY];
+
+    private int pendingLength;
+
+    private long dropped;
+
+    /**
+     * Index of the first not scanned byte in pending bytes
+     */
+    private int scanned;
+
+    /**
+     * Index of the first byte of current key or element in pending bytes
+     */
+    private int partStart;
+
+    private int depth;
+
+    private boolean inString;
+
+    private boolean escaped;
+
+    private byte openBracket;
+
+    /**
+     * Quantity of matched bytes of byte order mark at JSON start
+     */
+    private int bomMatched;
+
+    private boolean started;
+
+    private boolean complete;
+
+    private boolean finished;
+
+    /**
+     * True when feeding failed, so scanner state is not consistent and formatter can't resume
+     */
+    private boolean failed;
+
+    /**
+     * True when keys or elements of top-level value are bound as soon as they arrive
+     */
+    private boolean incremental;
+
+    /**
+     * True when at least one key or element of top-level value is bound
+     */
+    private boolean partBound;
+
+    private Object object;
+
+    /**
+     * Buffered field values of top-level object of record or builder class
+     */
+    private Object[] values;
+
+    /**
+     * Plan of the last known field of top-level object, unknown keys don't change it
+     */
+    private FieldPlan previousField;
+
+    private List<Object> elements;
+
+    public PushJSONToObjectFormatter(JSONToObjectFormatter jsonToObjectFormatter, Class<T> objectClass) {
+        this.jsonToObjectFormatter = jsonToObjectFormatter;
+        this.objectClass = objectClass;
+        this.typePlan = TypePlan.of(objectClass);
+    }
+
+    /**
+     * Scan next chunk of JSON and bind keys or elements completed by it
+     *
+     * @param chunk UTF-8 bytes of JSON, all remaining bytes are read and buffer position is moved to its limit
+     * @return true when chunk contains the last byte of JSON object, array or string,
+     * scalars are completed only by {@link #finish()}
+     * @throws JSONParserException when JSON is malformed or doesn't match object class,
+     *                             or formatter is finished, after exception formatter is finished
+     */
+    public boolean feed(ByteBuffer chunk) throws JSONParserException {
+
+        if (finished) {
+            throw new JSONParserException(failed ? FAILED_ERROR : FINISHED_ERROR);
+        }
+
+        try {
+            int chunkLength = chunk.remaining();
+
+            ensureCapacity(chunkLength);
+            chunk.get(pending, pendingLength, chunkLength);
+            pendingLength += chunkLength;
+
+            scan();
+            drop();
+        } catch (RuntimeException e) {
+            failed = true;
+            finished = true;
+            pending = null;
+            object = null;
+
+            throw e;
+        }
+
+        return complete;
+    }
+
+    /**
+     * Mark end of JSON
+     *
+     * @return object bound from JSON
+     * @throws JSONParserException when JSON ends before its value ends, JSON is malformed
+     *                             or doesn't match object class, or feeding failed
+     */
+    @SuppressWarnings("unchecked")
+    public T finish() throws JSONParserException {
+
+        if (failed) {
+            throw new JSONParserException(FAILED_ERROR);
+        }
+
+        if (finished) {
+            return (T) object;
+        }
+
+        if (!started || inString || depth > 0) {
+            throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, dropped + pendingLength));
+        }
+
+        if (!complete) {
+            object = bindValue(partStart, pendingLength);
+        }
+
+        finished = true;
+        pending = null;
+
+        return (T) object;
+    }
+
+    private void scan() {
+
+        for (int i = scanned; i < pendingLength; i++) {
+
+            byte ch = pending[i];
+
+            if (complete) {
+                if (!isWhitespace(ch)) {
+                    throw new JSONParserException(
+                            String.format(UNEXPECTED_CHARACTER_ERROR, (char) (ch & 0xFF), dropped + i));
+                }
+            } else if (inString) {
+                scanString(ch, i);
+            } else if (!started) {
+                start(ch, i);
+            } else if (depth > 0) {
+                scanStructure(ch, i);
+            }
+        }
+
+        scanned = pendingLength;
+    }
+
+    private void start(byte ch, int i) {
+
+        long position = dropped + i;
+
+        // byte order mark is skipped only when all its bytes are at JSON start
+        if (position == bomMatched && bomMatched < BOM.length && ch == BOM[bomMatched]) {
+            bomMatched++;
+            partStart = i + 1;
+            return;
+        }
+
+        if (bomMatched > 0 && bomMatched < BOM.length) {
+            throw new JSONParserException(String.format(INCOMPLETE_BOM_ERROR, dropped + i - bomMatched));
+        }
+
+        if (isWhitespace(ch)) {
+            partStart = i + 1;
+            return;
+        }
+
+        started = true;
+        partStart = i;
+
+        if (ch == '{' || ch == '[') {
+            depth = 1;
+            openBracket = ch;
+
+            FieldCategory category = typePlan.getCategory();
+
+            if (ch == '{' && category == FieldCategory.OBJECT && typePlan.getType() != Object.class) {
+                incremental = true;
+
+                ObjectInstantiator<T> instantiator = ClassPlan.of(objectClass).getInstantiator();
+
+                if (instantiator.isBuffered()) {
+                    values = instantiator.newValues();
+                } else {
+                    object = instantiator.newInstance();
+                }
+            } else if (ch == '[' && category == FieldCategory.ARRAY) {
+                incremental = true;
+                elements = new ArrayList<>();
+            }
+
+            if (incremental) {
+                partStart = i + 1;
+            }
+        } else if (ch == '"') {
+            inString = true;
+        }
+    }
+
+    private void scanString(byte ch, int i) {
+
+        if (escaped) {
+            escaped = false;
+        } else if (ch == '\\') {
+            escaped = true;
+        } else if (ch == '"') {
+            inString = false;
+
+            if (depth == 0) {
+                complete(i + 1);
+            }
+        }
+    }
+
+    private void scanStructure(byte ch, int i) {
+
+        if (ch == '"') {
+            inString = true;
+        } else if (ch == '{' || ch == '[') {
+            depth++;
+        } else if (ch == '}' || ch == ']') {
+
+            if (--depth > 0) {
+                return;
+            }
+
+            if (ch != (openBracket == '{' ? '}' : ']')) {
+                throw new JSONParserException(String.format(UNMATCHED_BRACKET_ERROR, (char) ch, dropped + i));
+            }
+
+            if (incremental) {
+                bindLastPart(i);
+            }
+
+            complete(i + 1);
+        } else if (ch == ',' && depth == 1 && incremental) {
+            bindPart(partStart, i);
+            partStart = i + 1;
+        }
+    }
+
+    /**
+     * Bind the last key or element which ends before closing bracket, it's empty only for {} or []
+     */
+    private void bindLastPart(int end) {
+
+        if (!isBlank(partStart, end)) {
+            bindPart(partStart, end);
+        } else if (partBound) {
+            throw new JSONParserException(String.format(UNEXPECTED_CHARACTER_ERROR, (char) pending[end], dropped + end));
+        }
+
+        if (elements != null) {
+            object = toArray();
+        } else if (values != null) {
+            object = ClassPlan.of(objectClass).getInstantiator().newInstance(values);
+        }
+    }
+
+    private void complete(int end) {
+
+        complete = true;
+
+        if (!incremental) {
+            object = bindValue(partStart, end);
+        }
+
+        partStart = end;
+    }
+
+    private void bindPart(int start, int end) {
+
+        JSONTokenizer tokenizer = tokenizer(start, end);
+
+        if (elements != null) {
+            tokenizer.next();
+            elements.add(jsonToObjectFormatter.formatValue(typePlan.getElementPlan(), tokenizer));
+        } else {
+            tokenizer.next(JSONTokenType.STRING);
+
+            FieldPlan fieldPlan = ClassPlan.of(objectClass).getField(tokenizer, previousField);
+
+            tokenizer.next(JSONTokenType.COLON);
+            tokenizer.next();
+
+            if (fieldPlan == null) {
+                tokenizer.skipValue();
+            } else if (values != null) {
+                jsonToObjectFormatter.formatFieldValue(values, fieldPlan, tokenizer);
+            } else {
+                jsonToObjectFormatter.formatByCase(object, fieldPlan, tokenizer);
+            }
+
+            if (fieldPlan != null) {
+                previousField = fieldPlan;
+            }
+        }
+
+        tokenizer.next(JSONTokenType.END_DOCUMENT);
+        partBound = true;
+    }
+
+    private Object bindValue(int start, int end) {
+        return jsonToObjectFormatter.formatJSONToObject(objectClass, tokenizer(start, end));
+    }
+
+    private Object toArray() {
+
+        Object array = typePlan.newContainer(elements.size());
+
+        for (int i = 0; i < elements.size(); i++) {
+            Object element = elements.get(i);
+
+            if (element != null) {
+                Array.set(array, i, element);
+            }
+        }
+
+        return array;
+    }
+
+    private JSONTokenizer tokenizer(int start, int end) {
+        return new JSONTokenizer(new UTF8CharSequence(ByteBuffer.wrap(pending), start, end));
+    }
+
+    /**
+     * Drop bytes of bound keys or elements, so pending bytes hold only current key or element
+     */
+    private void drop() {
+
+        if (!incremental && !complete || partStart == 0) {
+            return;
+        }
+
+        System.arraycopy(pending, partStart, pending, 0, pendingLength - partStart);
+
+        pendingLength -= partStart;
+        scanned -= partStart;
+        dropped += partStart;
+        partStart = 0;
+    }
+
+    private void ensureCapacity(int length) {
+        if (pending.length - pendingLength < length) {
+            pending = Arrays.copyOf(pending, Math.max(pendingLength + length, pending.length << 1));
+        }
+    }
+
+    private boolean isBlank(int start, int end) {
+
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(pending[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isWhitespace(byte ch) {
+        return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t';
+    }
+}
@@ -3,9 +3,6 @@ package ru.clevertec.knyazev.jsonparser.json;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Represents JSON String WRAP
  */
@@ -15,33 +12,26 @@ public class JSON {
 
     private String allJSON;
 
-    private String formattingJSON;
-
-    private List<String> formattingFields;
-
     public JSON(String json) {
         this.allJSON = json;
-        this.formattingJSON = json;
-
-        this.formattingFields = new ArrayList<>();
     }
 
-    public boolean setFormattingField(String formattingField) {
-        return formattingFields.add(formattingField);
+    /**
+     * Create single-pass tokenizer over wrapped JSON String
+     *
+     * @return new tokenizer positioned at the beginning of JSON
+     */
+    public JSONTokenizer tokenizer() {
+        return new JSONTokenizer(allJSON);
     }
 
-    public String getFormattingField() {
-
-        int formattingSize = formattingFields.size();
-        String result = "";
-
-        if (formattingSize > 0) {
-            result = formattingFields.get(formattingFields.size() - 1);
-            formattingFields.remove(result);
-        }
-
-        return result;
-
+    /**
+     * Index wrapped JSON String for on-demand access to its values
+     *
+     * @return new lazy document over wrapped JSON
+     */
+    public JSONDocument document() {
+        return JSONDocument.of(allJSON);
     }
 
 }
@@ -0,0 +1,245 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.util.Arrays;
+
+/**
+ * Represents lazy JSON document with structural index ("tape"). Document is indexed by one
+ * pass which records positions of every {, }, [, ], :, comma and string quote. Matching brackets
+ * are linked in the index, so value lookups jump over nested objects and arrays without
+ * rescanning them. Values are converted only when requested by {@link JSONValue}.
+ * <p>
+ * Example: JSONDocument.of(json).get("man").get("age").asInt() reads age of man
+ * without formatting the whole document to objects.
+ * <p>
+ * Index is built without full syntax validation, so malformed scalar values are reported
+ * when they are accessed. Document reads values by one tokenizer, so document and its
+ * values should be used by one thread.
+ */
+public final class JSONDocument {
+
+    private static final String UNTERMINATED_STRING_ERROR = "Unterminated string at position %d";
+    private static final String UNEXPECTED_END_ERROR = "Unexpected end of JSON at position %d";
+    private static final String UNMATCHED_BRACKET_ERROR = "Unmatched '%s' at position %d";
+
+    private static final int INITIAL_TAPE_LENGTH = 64;
+
+    private final CharSequence source;
+
+    private final int length;
+
+    /**
+     * Source positions of structural chars and string quotes in source order
+     */
+    private int[] tape;
+
+    /**
+     * Tape index of matching closing bracket for opening brackets, otherwise - 0
+     */
+    private int[] jumps;
+
+    private int tapeLength;
+
+    private final JSONTokenizer tokenizer;
+
+    private JSONDocument(CharSequence source) {
+
+        if (source == null) {
+            throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, 0));
+        }
+
+        this.source = source;
+        this.length = source.length();
+        this.tokenizer = new JSONTokenizer(source);
+
+        int initialLength = Math.max(INITIAL_TAPE_LENGTH, length >>> 3);
+        this.tape = new int[initialLength];
+        this.jumps = new int[initialLength];
+
+        index();
+    }
+
+    /**
+     * Index given JSON
+     *
+     * @param json JSON text
+     * @return indexed document
+     * @throws JSONParserException when JSON has unterminated string or unmatched brackets
+     */
+    public static JSONDocument of(CharSequence json) throws JSONParserException {
+        return new JSONDocument(json);
+    }
+
+    /**
+     * Get root value of document
+     *
+     * @return root value
+     */
+    public JSONValue getRoot() {
+        return new JSONValue(this, skipWhitespaces(0), 0);
+    }
+
+    /**
+     * Get value of root object key
+     *
+     * @param key key name
+     * @return key value or null when root object has no given key
+     * @see JSONValue#get(String)
+     */
+    public JSONValue get(String key) {
+        return getRoot().get(key);
+    }
+
+    /**
+     * Get element of root array
+     *
+     * @param index element index
+     * @return element value or null when root array has no element with given index
+     * @see JSONValue#get(int)
+     */
+    public JSONValue get(int index) {
+        return getRoot().get(index);
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * Get quantity of structural positions in tape
+     *
+     * @return tape length
+     */
+    public int getTapeLength() {
+        return tapeLength;
+    }
+
+    char charAt(int position) {
+        return position < length ? source.charAt(position) : '\u0000';
+    }
+
+    /**
+     * Get source position of tape entry
+     */
+    int position(int tapeIndex) {
+        return tapeIndex < tapeLength ? tape[tapeIndex] : length;
+    }
+
+    /**
+     * Get tape index which follows value begun at given source position and tape index.
+     * Nested objects and arrays are jumped over by matching bracket index
+     */
+    int next(int start, int tapeIndex) {
+
+        char ch = charAt(start);
+
+        if (ch == '{' || ch == '[') {
+            return jumps[tapeIndex] + 1;
+        } else if (ch == '"') {
+            return tapeIndex + 2;
+        }
+
+        return tapeIndex;
+    }
+
+    int skipWhitespaces(int position) {
+
+        while (position < length) {
+            char ch = source.charAt(position);
+
+            if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                return position;
+            }
+
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * Move document tokenizer to value which begins at given position and read its first token
+     */
+    JSONTokenizer tokenizer(int start) {
+        tokenizer.seek(start);
+        tokenizer.next();
+
+        return tokenizer;
+    }
+
+    private void index() {
+
+        int[] openBrackets = new int[16];
+        int depth = 0;
+
+        for (int i = 0; i < length; i++) {
+            char ch = source.charAt(i);
+
+            switch (ch) {
+                case '{', '[' -> {
+                    if (depth == openBrackets.length) {
+                        openBrackets = Arrays.copyOf(openBrackets, depth << 1);
+                    }
+
+                    openBrackets[depth++] = tapeLength;
+                    add(i);
+                }
+                case '}', ']' -> {
+                    char openBracket = ch == '}' ? '{' : '[';
+
+                    if (depth == 0 || source.charAt(tape[openBrackets[depth - 1]]) != openBracket) {
+                        throw new JSONParserException(String.format(UNMATCHED_BRACKET_ERROR, ch, i));
+                    }
+
+                    jumps[openBrackets[--depth]] = tapeLength;
+                    add(i);
+                }
+                case ':', ',' -> add(i);
+                case '"' -> {
+                    add(i);
+                    i = skipString(i + 1);
+                    add(i);
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (depth != 0) {
+            throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, length));
+        }
+    }
+
+    /**
+     * Find closing quote of string which content starts at given position
+     *
+     * @return position of closing quote
+     */
+    private int skipString(int contentStart) {
+
+        for (int i = contentStart; i < length; i++) {
+            char ch = source.charAt(i);
+
+            if (ch == '"') {
+                return i;
+            }
+
+            if (ch == '\\') {
+                i++;
+            }
+        }
+
+        throw new JSONParserException(String.format(UNTERMINATED_STRING_ERROR, contentStart - 1));
+    }
+
+    private void add(int position) {
+
+        if (tapeLength == tape.length) {
+            tape = Arrays.copyOf(tape, tapeLength << 1);
+            jumps = Arrays.copyOf(jumps, tapeLength << 1);
+        }
+
+        tape[tapeLength++] = position;
+    }
+}
@@ -0,0 +1,284 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents immutable table of known JSON keys, e.g. field names of class, with perfect hash.
+ * Current STRING token of {@link JSONTokenizer} is hashed by its length and first, middle and
+ * last chars right in the source, so key is found by one slot lookup and one comparison
+ * with source without creating key String. Keys with the same sampled chars are hashed by all chars.
+ * <p>
+ * Not ASCII keys are put into table twice: as chars and as UTF-8 bytes, so keys are found
+ * in String source and in {@link UTF8CharSequence} source. Escaped keys are found by name map.
+ * <p>
+ * Table predicts key order: it remembers which key followed every key last time, so for
+ * documents of the same shape the next key is checked by one comparison with source before hashing.
+ * Predictions are shared by threads without locking: prediction of other thread only costs a miss,
+ * because predicted key is always compared with source. Prediction hits and misses are counted only
+ * after {@link #countPredictions(boolean)}, so table shared by all threads isn't updated on every key.
+ * <p>
+ * Example: JSONKeyTable.of("name", "age").indexOf(tokenizer) returns 1 when current token is "age"
+ * and -1 when current token is "family".
+ */
+public final class JSONKeyTable {
+
+    private static final int SEEDS = 64;
+
+    private static final int SEED_STEP = 0x9E3779B9;
+
+    /**
+     * Quantity of times table may be doubled over the smallest size fitting all keys
+     */
+    private static final int MAX_TABLE_GROWTH = 3;
+
+    private final String[] keys;
+
+    private final Map<String, Integer> indexes;
+
+    /**
+     * Key indexes by hash slots, -1 for empty slot. Null when perfect hash isn't found
+     */
+    private final int[] slots;
+
+    private final boolean sampled;
+
+    private final int seed;
+
+    private final int shift;
+
+    /**
+     * Index of key which followed key with index i last time at i + 1, at 0 - of the first key,
+     * -1 when key isn't predicted
+     */
+    private final int[] predictions;
+
+    private volatile boolean predictionsCounted;
+
+    private final LongAdder predictionHits = new LongAdder();
+
+    private final LongAdder predictionMisses = new LongAdder();
+
+    private JSONKeyTable(String[] keys) {
+        this.keys = keys;
+        this.indexes = new HashMap<>();
+        this.predictions = new int[keys.length + 1];
+
+        Arrays.fill(predictions, -1);
+
+        for (int i = 0; i < keys.length; i++) {
+            indexes.putIfAbsent(keys[i], i);
+        }
+
+        String[] hashedKeys = new String[keys.length * 2];
+        int[] hashedIndexes = new int[keys.length * 2];
+        int hashedQuantity = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            hashedKeys[hashedQuantity] = keys[i];
+            hashedIndexes[hashedQuantity++] = i;
+
+            // every byte of UTF-8 source is read as one char from 0x00 to 0xFF
+            String bytesKey = new String(keys[i].getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+
+            if (!bytesKey.equals(keys[i])) {
+                hashedKeys[hashedQuantity] = bytesKey;
+                hashedIndexes[hashedQuantity++] = i;
+            }
+        }
+
+        int minBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, hashedQuantity - 1)));
+
+        for (boolean sampledHash : new boolean[]{true, false}) {
+
+            int[] hashes = new int[hashedQuantity];
+
+            for (int i = 0; i < hashedQuantity; i++) {
+                hashes[i] = hash(hashedKeys[i], 0, hashedKeys[i].length(), sampledHash);
+            }
+
+            for (int bits = minBits; bits <= minBits + MAX_TABLE_GROWTH; bits++) {
+                for (int s = 1; s <= SEEDS; s++) {
+
+                    int hashSeed = (SEED_STEP * s) | 1;
+                    int[] hashSlots = fill(hashes, hashedIndexes, hashSeed, bits);
+
+                    if (hashSlots != null) {
+                        this.slots = hashSlots;
+                        this.sampled = sampledHash;
+                        this.seed = hashSeed;
+                        this.shift = 32 - bits;
+
+                        return;
+                    }
+                }
+            }
+        }
+
+        this.slots = null;
+        this.sampled = false;
+        this.seed = 0;
+        this.shift = 0;
+    }
+
+    /**
+     * Create table of given keys
+     *
+     * @param keys keys, index of key in table is its index in given array
+     * @return key table
+     */
+    public static JSONKeyTable of(String... keys) {
+        return new JSONKeyTable(keys.clone());
+    }
+
+    /**
+     * Find index of key in current STRING token of tokenizer
+     *
+     * @param tokenizer tokenizer which current token is key
+     * @return key index or -1 when token isn't key of table
+     */
+    public int indexOf(JSONTokenizer tokenizer) {
+
+        if (tokenizer.isTokenEscaped()) {
+            return indexes.getOrDefault(tokenizer.tokenString(), -1);
+        }
+
+        if (slots == null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (tokenizer.tokenEquals(keys[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        int hash = hash(tokenizer.getSource(), tokenizer.getTokenStart(), tokenizer.getTokenEnd(), sampled);
+        int index = slots[(hash * seed) >>> shift];
+
+        return index >= 0 && tokenizer.tokenEquals(keys[index]) ? index : -1;
+    }
+
+    /**
+     * Find index of key in current STRING token of tokenizer. Key which followed previous key
+     * last time is checked first, other keys are found by hash
+     * <p>
+     * Example: int previousIndex = -1; while (has keys) { int keyIndex = keys.indexOf(tokenizer, previousIndex);
+     * if (keyIndex >= 0) previousIndex = keyIndex; }
+     *
+     * @param tokenizer     tokenizer which current token is key
+     * @param previousIndex index of the last known key of the same object, unknown keys are skipped
+     *                      so the same prediction is used after them, -1 for the first key
+     * @return key index or -1 when token isn't key of table
+     */
+    public int indexOf(JSONTokenizer tokenizer, int previousIndex) {
+
+        int predictionSlot = previousIndex + 1;
+        int predicted = predictions[predictionSlot];
+
+        if (predicted >= 0 && !tokenizer.isTokenEscaped() && tokenizer.tokenEquals(keys[predicted])) {
+            if (predictionsCounted) {
+                predictionHits.increment();
+            }
+
+            return predicted;
+        }
+
+        if (predictionsCounted) {
+            predictionMisses.increment();
+        }
+
+        int index = indexOf(tokenizer);
+
+        if (index >= 0) {
+            predictions[predictionSlot] = index;
+        }
+
+        return index;
+    }
+
+    /**
+     * Start or stop counting of prediction hits and misses, e.g. while diagnosing key order of documents
+     *
+     * @param counted true to count predictions, false to stop counting, counted values are kept
+     */
+    public void countPredictions(boolean counted) {
+        this.predictionsCounted = counted;
+    }
+
+    /**
+     * Get quantity of keys found by key order prediction
+     *
+     * @return prediction hits counted since table creation
+     */
+    public long getPredictionHits() {
+        return predictionHits.sum();
+    }
+
+    /**
+     * Get quantity of keys which didn't match predicted key, including unknown keys
+     *
+     * @return prediction misses counted since table creation
+     */
+    public long getPredictionMisses() {
+        return predictionMisses.sum();
+    }
+
+    /**
+     * Get quantity of keys
+     *
+     * @return table size
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Put key indexes into slots by hash
+     *
+     * @return slots or null when keys of different indexes collide
+     */
+    private static int[] fill(int[] hashes, int[] hashedIndexes, int seed, int bits) {
+
+        int[] slots = new int[1 << bits];
+        Arrays.fill(slots, -1);
+
+        for (int i = 0; i < hashes.length; i++) {
+            int slot = (hashes[i] * seed) >>> (32 - bits);
+
+            if (slots[slot] >= 0 && slots[slot] != hashedIndexes[i]) {
+                return null;
+            }
+
+            slots[slot] = hashedIndexes[i];
+        }
+
+        return slots;
+    }
+
+    private static int hash(CharSequence source, int start, int end, boolean sampled) {
+
+        int length = end - start;
+        int hash = length;
+
+        if (length == 0) {
+            return hash;
+        }
+
+        if (sampled) {
+            hash = 31 * hash + source.charAt(start);
+            hash = 31 * hash + source.charAt(start + (length >>> 1));
+
+            return 31 * hash + source.charAt(end - 1);
+        }
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+
+        return hash;
+    }
+}
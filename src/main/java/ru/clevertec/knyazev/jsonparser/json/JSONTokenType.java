@@ -0,0 +1,29 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+/**
+ * Represents types of tokens produced by {@link JSONTokenizer}
+ */
+public enum JSONTokenType {
+
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    COLON,
+    COMMA,
+    STRING,
+    NUMBER,
+    TRUE,
+    FALSE,
+    NULL,
+    END_DOCUMENT;
+
+    /**
+     * Check if token is a scalar JSON value (string, number, boolean)
+     *
+     * @return true if token is string, number, true or false, otherwise - false
+     */
+    public boolean isScalar() {
+        return this == STRING || this == NUMBER || this == TRUE || this == FALSE;
+    }
+}
@@ -0,0 +1,645 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import ru.clevertec.knyazev.jsonparser.converter.NumberParser;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.util.Arrays;
+
+/**
+ * Represents single-pass JSON lexer.
+ * <p>
+ * Every token is described by its type and offsets into the source, so reading
+ * the JSON never copies the source text. Text is copied only when the value of
+ * the current token is requested by {@link #tokenString()}. Numbers are parsed
+ * directly from the source by {@link #intValue()}, {@link #doubleValue()} and etc.
+ * <p>
+ * Example: for {"id":12} tokens are BEGIN_OBJECT, STRING(id), COLON, NUMBER(12),
+ * END_OBJECT, END_DOCUMENT. Offsets of STRING token exclude quotes.
+ * <p>
+ * UTF-8 bytes are tokenized without decoding by {@link UTF8CharSequence} source.
+ */
+public class JSONTokenizer {
+
+    private static final String UNEXPECTED_CHARACTER_ERROR = "Unexpected character '%s' at position %d";
+    private static final String UNEXPECTED_TOKEN_ERROR = "Expected %s but was %s at position %d";
+    private static final String UNTERMINATED_STRING_ERROR = "Unterminated string at position %d";
+    private static final String UNEXPECTED_END_ERROR = "Unexpected end of JSON at position %d";
+    private static final String ILLEGAL_ESCAPE_ERROR = "Illegal escape sequence at position %d";
+
+    private final CharSequence source;
+
+    /**
+     * Position of JSON end in source
+     */
+    private final int length;
+
+    private int position;
+
+    private JSONTokenType tokenType;
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean tokenEscaped;
+
+    private final NumberParser numberParser = new NumberParser();
+
+    /**
+     * Positions after opening brackets of containers counted by the last scan of
+     * {@link #countElements()}, in source order, so nested containers aren't scanned again
+     */
+    private int[] countedPositions;
+
+    /**
+     * Element counts of containers in {@link #countedPositions}
+     */
+    private int[] elementCounts;
+
+    private int countedSize;
+
+    /**
+     * Index of the first counted container which tokenizer hasn't passed yet
+     */
+    private int countedCursor;
+
+    public JSONTokenizer(CharSequence source) {
+        this(source, 0, source == null ? 0 : source.length());
+    }
+
+    /**
+     * Create tokenizer which reads given part of source as whole JSON,
+     * e.g. one element of JSON array. Token positions are positions in source
+     *
+     * @param source source text
+     * @param start  position of JSON begin, inclusive
+     * @param end    position of JSON end, exclusive
+     */
+    public JSONTokenizer(CharSequence source, int start, int end) {
+
+        if (source == null) {
+            throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, 0));
+        }
+
+        this.source = source;
+        this.length = end;
+        this.position = start;
+    }
+
+    /**
+     * Read next token from source
+     *
+     * @return type of read token
+     * @throws JSONParserException when source contains illegal character
+     */
+    public JSONTokenType next() throws JSONParserException {
+
+        skipWhitespaces();
+
+        if (position >= length) {
+            return setToken(JSONTokenType.END_DOCUMENT, position, position);
+        }
+
+        int start = position;
+        char ch = source.charAt(position);
+
+        return switch (ch) {
+            case '{' -> setToken(JSONTokenType.BEGIN_OBJECT, start, ++position);
+            case '}' -> setToken(JSONTokenType.END_OBJECT, start, ++position);
+            case '[' -> setToken(JSONTokenType.BEGIN_ARRAY, start, ++position);
+            case ']' -> setToken(JSONTokenType.END_ARRAY, start, ++position);
+            case ':' -> setToken(JSONTokenType.COLON, start, ++position);
+            case ',' -> setToken(JSONTokenType.COMMA, start, ++position);
+            case '"' -> readString();
+            case 't' -> readLiteral("true", JSONTokenType.TRUE);
+            case 'f' -> readLiteral("false", JSONTokenType.FALSE);
+            case 'n' -> readLiteral("null", JSONTokenType.NULL);
+            default -> {
+                if (ch == '-' || (ch >= '0' && ch <= '9')) {
+                    yield readNumber();
+                }
+                throw new JSONParserException(String.format(UNEXPECTED_CHARACTER_ERROR, ch, position));
+            }
+        };
+    }
+
+    /**
+     * Read next token and check that it has expected type
+     *
+     * @param expected expected token type
+     * @return type of read token
+     * @throws JSONParserException when read token has another type
+     */
+    public JSONTokenType next(JSONTokenType expected) throws JSONParserException {
+        return expect(next(), expected);
+    }
+
+    /**
+     * Check that current token has expected type
+     *
+     * @param actual   current token type
+     * @param expected expected token type
+     * @return current token type
+     * @throws JSONParserException when current token has another type
+     */
+    public JSONTokenType expect(JSONTokenType actual, JSONTokenType expected) throws JSONParserException {
+
+        if (actual != expected) {
+            throw new JSONParserException(String.format(UNEXPECTED_TOKEN_ERROR, expected, actual, tokenStart));
+        }
+
+        return actual;
+    }
+
+    /**
+     * Skip value which begins with current token. For objects and arrays skips
+     * everything up to matching closing bracket without producing tokens.
+     *
+     * @throws JSONParserException when source ends before value end
+     */
+    public void skipValue() throws JSONParserException {
+
+        if (tokenType != JSONTokenType.BEGIN_OBJECT && tokenType != JSONTokenType.BEGIN_ARRAY) {
+            return;
+        }
+
+        int start = tokenStart;
+        int depth = 1;
+
+        while (position < length) {
+            char ch = source.charAt(position++);
+
+            if (ch == '"') {
+                skipString();
+            } else if (ch == '{' || ch == '[') {
+                depth++;
+            } else if (ch == '}' || ch == ']') {
+                depth--;
+
+                if (depth == 0) {
+                    setToken(ch == '}' ? JSONTokenType.END_OBJECT : JSONTokenType.END_ARRAY, start, position);
+                    return;
+                }
+            }
+        }
+
+        throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, position));
+    }
+
+    /**
+     * Count elements of array or object which begins with current token without moving tokenizer.
+     * Elements are counted by commas of the first nesting level, strings and nested values
+     * are scanned without producing tokens, so containers can be created with exact size.
+     * <p>
+     * One scan counts elements of nested containers too and keeps them, so when tokenizer reaches
+     * nested container its count is returned without scanning and the whole JSON is scanned once.
+     * <p>
+     * Example: for [1,[2,3],"a,b"] when tokenizer stays on [ returns 3, for {} returns 0
+     *
+     * @return quantity of array elements or object keys
+     * @throws JSONParserException when current token is not array or object begin or
+     *                             source ends before value end
+     */
+    public int countElements() throws JSONParserException {
+
+        if (tokenType != JSONTokenType.BEGIN_ARRAY) {
+            expect(tokenType, JSONTokenType.BEGIN_OBJECT);
+        }
+
+        while (countedCursor < countedSize && countedPositions[countedCursor] < position) {
+            countedCursor++;
+        }
+
+        if (countedCursor < countedSize && countedPositions[countedCursor] == position) {
+            return elementCounts[countedCursor];
+        }
+
+        return scanElements();
+    }
+
+    /**
+     * Count elements of container which content starts at current position and of all its
+     * nested containers. Container gets 1 element by its first value and 1 more by every comma
+     */
+    private int scanElements() {
+
+        int valuePosition = position;
+
+        countedSize = 0;
+        countedCursor = 0;
+
+        try {
+            int[] openContainers = new int[16];
+            int depth = 0;
+
+            openContainers[0] = addCounted(valuePosition);
+
+            while (position < length) {
+                char ch = source.charAt(position++);
+
+                if (ch == '}' || ch == ']') {
+                    if (depth-- == 0) {
+                        return elementCounts[0];
+                    }
+                } else if (ch == ',') {
+                    elementCounts[openContainers[depth]]++;
+                } else if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t' && ch != ':') {
+                    int container = openContainers[depth];
+
+                    if (elementCounts[container] == 0) {
+                        elementCounts[container] = 1;
+                    }
+
+                    if (ch == '"') {
+                        skipString();
+                    } else if (ch == '{' || ch == '[') {
+                        if (++depth == openContainers.length) {
+                            openContainers = Arrays.copyOf(openContainers, depth * 2);
+                        }
+
+                        openContainers[depth] = addCounted(position);
+                    }
+                }
+            }
+
+            throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, position));
+        } catch (JSONParserException e) {
+            countedSize = 0;
+
+            throw e;
+        } finally {
+            position = valuePosition;
+        }
+    }
+
+    private int addCounted(int contentPosition) {
+
+        if (countedPositions == null) {
+            countedPositions = new int[16];
+            elementCounts = new int[16];
+        } else if (countedSize == countedPositions.length) {
+            countedPositions = Arrays.copyOf(countedPositions, countedSize * 2);
+            elementCounts = Arrays.copyOf(elementCounts, countedSize * 2);
+        }
+
+        countedPositions[countedSize] = contentPosition;
+        elementCounts[countedSize] = 0;
+
+        return countedSize++;
+    }
+
+    /**
+     * Get value of current token as String. For STRING token returns unescaped
+     * string content, for NULL token returns null, for other tokens returns token text.
+     *
+     * @return current token value
+     */
+    public String tokenString() {
+
+        if (tokenType == JSONTokenType.NULL) {
+            return null;
+        }
+
+        String tokenText = source.subSequence(tokenStart, tokenEnd).toString();
+
+        return tokenEscaped
+                ? unescape(tokenText)
+                : tokenText;
+    }
+
+    /**
+     * Check if current token text equals given value without copying token text
+     *
+     * @param value value for comparing
+     * @return true if token text equals value, otherwise - false
+     */
+    public boolean tokenEquals(String value) {
+
+        if (tokenEscaped) {
+            return value.equals(tokenString());
+        }
+
+        if (source instanceof UTF8CharSequence utf8Source) {
+            return utf8Source.regionEquals(tokenStart, tokenEnd, value);
+        }
+
+        int tokenLength = tokenEnd - tokenStart;
+
+        if (tokenLength != value.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < tokenLength; i++) {
+            if (source.charAt(tokenStart + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get value of current token as boolean
+     *
+     * @return true for TRUE token and STRING token equal to true ignoring case, otherwise - false
+     */
+    public boolean booleanValue() {
+        return tokenType == JSONTokenType.TRUE ||
+                (tokenType == JSONTokenType.STRING && "true".equalsIgnoreCase(tokenString()));
+    }
+
+    /**
+     * Get value of current token as char
+     *
+     * @return the only char of token value or '\u0000' when token value hasn't one char
+     */
+    public char charValue() {
+
+        if (!tokenEscaped && tokenType != JSONTokenType.NULL && tokenEnd - tokenStart == 1) {
+            return source.charAt(tokenStart);
+        }
+
+        String value = tokenString();
+
+        return value != null && value.length() == 1
+                ? value.charAt(0)
+                : '\u0000';
+    }
+
+    /**
+     * Parse value of current NUMBER or STRING token without copying token text.
+     * Parsing result is reported by {@link #getNumberStatus()}
+     *
+     * @return parsed value or 0 when token value is not a byte
+     */
+    public byte byteValue() {
+
+        if (tokenEscaped) {
+            String value = tokenString();
+            return numberParser.parseByte(value, 0, value.length());
+        }
+
+        return numberParser.parseByte(source, tokenStart, tokenEnd);
+    }
+
+    /**
+     * @see #byteValue()
+     */
+    public short shortValue() {
+
+        if (tokenEscaped) {
+            String value = tokenString();
+            return numberParser.parseShort(value, 0, value.length());
+        }
+
+        return numberParser.parseShort(source, tokenStart, tokenEnd);
+    }
+
+    /**
+     * @see #byteValue()
+     */
+    public int intValue() {
+
+        if (tokenEscaped) {
+            String value = tokenString();
+            return numberParser.parseInt(value, 0, value.length());
+        }
+
+        return numberParser.parseInt(source, tokenStart, tokenEnd);
+    }
+
+    /**
+     * @see #byteValue()
+     */
+    public long longValue() {
+
+        if (tokenEscaped) {
+            String value = tokenString();
+            return numberParser.parseLong(value, 0, value.length());
+        }
+
+        return numberParser.parseLong(source, tokenStart, tokenEnd);
+    }
+
+    /**
+     * @see #byteValue()
+     */
+    public float floatValue() {
+
+        if (tokenEscaped) {
+            String value = tokenString();
+            return numberParser.parseFloat(value, 0, value.length());
+        }
+
+        return numberParser.parseFloat(source, tokenStart, tokenEnd);
+    }
+
+    /**
+     * @see #byteValue()
+     */
+    public double doubleValue() {
+
+        if (tokenEscaped) {
+            String value = tokenString();
+            return numberParser.parseDouble(value, 0, value.length());
+        }
+
+        return numberParser.parseDouble(source, tokenStart, tokenEnd);
+    }
+
+    /**
+     * Get result of the last number parsing
+     *
+     * @return parsing status
+     */
+    public NumberParser.Status getNumberStatus() {
+        return numberParser.getStatus();
+    }
+
+    /**
+     * Move tokenizer to given source position, so the next token is read from this position
+     *
+     * @param sourcePosition position of token begin or whitespaces before it
+     */
+    void seek(int sourcePosition) {
+        position = sourcePosition;
+        setToken(null, sourcePosition, sourcePosition);
+    }
+
+    public JSONTokenType getTokenType() {
+        return tokenType;
+    }
+
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    public boolean isTokenEscaped() {
+        return tokenEscaped;
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    private JSONTokenType setToken(JSONTokenType type, int start, int end) {
+        tokenType = type;
+        tokenStart = start;
+        tokenEnd = end;
+        tokenEscaped = false;
+
+        return type;
+    }
+
+    private void skipWhitespaces() {
+        while (position < length) {
+            char ch = source.charAt(position);
+
+            if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                return;
+            }
+
+            position++;
+        }
+    }
+
+    private JSONTokenType readString() {
+        int start = ++position;
+        boolean escaped = skipString();
+
+        setToken(JSONTokenType.STRING, start, position - 1);
+        tokenEscaped = escaped;
+
+        return JSONTokenType.STRING;
+    }
+
+    /**
+     * Move position after closing quote of string which content starts at current position
+     *
+     * @return true if string contains escape sequences, otherwise - false
+     */
+    private boolean skipString() {
+        int start = position;
+        boolean escaped = false;
+
+        while (position < length) {
+            char ch = source.charAt(position++);
+
+            if (ch == '"') {
+                return escaped;
+            }
+
+            if (ch == '\\') {
+                escaped = true;
+                position++;
+            }
+        }
+
+        throw new JSONParserException(String.format(UNTERMINATED_STRING_ERROR, start - 1));
+    }
+
+    private JSONTokenType readNumber() {
+        int start = position;
+
+        while (position < length) {
+            char ch = source.charAt(position);
+
+            if ((ch >= '0' && ch <= '9') || ch == '-' || ch == '+' || ch == '.' || ch == 'e' || ch == 'E') {
+                position++;
+            } else {
+                break;
+            }
+        }
+
+        return setToken(JSONTokenType.NUMBER, start, position);
+    }
+
+    private JSONTokenType readLiteral(String literal, JSONTokenType type) {
+        int start = position;
+        int literalLength = literal.length();
+
+        if (start + literalLength > length) {
+            throw new JSONParserException(String.format(UNEXPECTED_END_ERROR, start));
+        }
+
+        for (int i = 0; i < literalLength; i++) {
+            if (source.charAt(start + i) != literal.charAt(i)) {
+                throw new JSONParserException(String.format(UNEXPECTED_CHARACTER_ERROR,
+                        source.charAt(start + i), start + i));
+            }
+        }
+
+        position += literalLength;
+
+        return setToken(type, start, position);
+    }
+
+    private String unescape(String escapedText) {
+        StringBuilder unescaped = new StringBuilder(escapedText.length());
+
+        for (int i = 0; i < escapedText.length(); i++) {
+            char ch = escapedText.charAt(i);
+
+            if (ch != '\\') {
+                unescaped.append(ch);
+                continue;
+            }
+
+            if (++i >= escapedText.length()) {
+                throw new JSONParserException(String.format(ILLEGAL_ESCAPE_ERROR, tokenStart + i));
+            }
+
+            char escapedChar = escapedText.charAt(i);
+
+            switch (escapedChar) {
+                case '"', '\\', '/' -> unescaped.append(escapedChar);
+                case 'b' -> unescaped.append('\b');
+                case 'f' -> unescaped.append('\f');
+                case 'n' -> unescaped.append('\n');
+                case 'r' -> unescaped.append('\r');
+                case 't' -> unescaped.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= escapedText.length()) {
+                        throw new JSONParserException(String.format(ILLEGAL_ESCAPE_ERROR, tokenStart + i));
+                    }
+
+                    int code = 0;
+
+                    // Integer.parseInt accepts sign after backslash-u, so every char is checked to be hex digit
+                    for (int j = i + 1; j <= i + 4; j++) {
+                        int digit = hexDigit(escapedText.charAt(j));
+
+                        if (digit < 0) {
+                            throw new JSONParserException(String.format(ILLEGAL_ESCAPE_ERROR, tokenStart + i));
+                        }
+
+                        code = code << 4 | digit;
+                    }
+
+                    unescaped.append((char) code);
+                    i += 4;
+                }
+                default -> throw new JSONParserException(String.format(ILLEGAL_ESCAPE_ERROR, tokenStart + i));
+            }
+        }
+
+        return unescaped.toString();
+    }
+
+    /**
+     * @return value of ASCII hex digit or -1 for other chars, including non-ASCII digits
+     */
+    private static int hexDigit(char ch) {
+
+        if (ch >= '0' && ch <= '9') {
+            return ch - '0';
+        } else if (ch >= 'a' && ch <= 'f') {
+            return ch - 'a' + 10;
+        } else if (ch >= 'A' && ch <= 'F') {
+            return ch - 'A' + 10;
+        }
+
+        return -1;
+    }
+}
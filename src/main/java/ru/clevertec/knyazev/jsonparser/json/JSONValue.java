@@ -0,0 +1,226 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import ru.clevertec.knyazev.jsonparser.converter.Converter;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+/**
+ * Represents value of {@link JSONDocument}. Value is described by its source position and
+ * tape index of the first structural position at or after value begin, so getting values
+ * of object keys and array elements jumps through document tape. Scalar values are
+ * converted on request only.
+ * <p>
+ * Example: for {"man":{"age":45},"kids":[1,2]} get("man").get("age").asInt() returns 45,
+ * get("kids").size() returns 2, get("kids").get(1).asInt() returns 2.
+ */
+public final class JSONValue {
+
+    private static final String VALUE_TYPE_ERROR = "Error. Expected %s but was %s at position %d";
+
+    private final JSONDocument document;
+
+    /**
+     * Source position of value begin
+     */
+    private final int start;
+
+    /**
+     * Tape index of the first structural position at or after value begin
+     */
+    private final int tapeIndex;
+
+    JSONValue(JSONDocument document, int start, int tapeIndex) {
+        this.document = document;
+        this.start = start;
+        this.tapeIndex = tapeIndex;
+    }
+
+    /**
+     * Get type of value
+     *
+     * @return BEGIN_OBJECT for object, BEGIN_ARRAY for array, otherwise - type of scalar token
+     */
+    public JSONTokenType getType() {
+        return switch (document.charAt(start)) {
+            case '{' -> JSONTokenType.BEGIN_OBJECT;
+            case '[' -> JSONTokenType.BEGIN_ARRAY;
+            case '"' -> JSONTokenType.STRING;
+            case 't' -> JSONTokenType.TRUE;
+            case 'f' -> JSONTokenType.FALSE;
+            case 'n' -> JSONTokenType.NULL;
+            case '\u0000' -> JSONTokenType.END_DOCUMENT;
+            default -> JSONTokenType.NUMBER;
+        };
+    }
+
+    public boolean isNull() {
+        return getType() == JSONTokenType.NULL;
+    }
+
+    /**
+     * Get value of object key. Values of other keys are jumped over without reading
+     *
+     * @param key key name
+     * @return key value or null when object has no given key
+     * @throws JSONParserException when value is not object
+     */
+    public JSONValue get(String key) throws JSONParserException {
+
+        expect(JSONTokenType.BEGIN_OBJECT);
+
+        int keyIndex = tapeIndex + 1;
+
+        while (document.charAt(document.position(keyIndex)) == '"') {
+
+            int valueStart = document.skipWhitespaces(document.position(keyIndex + 2) + 1);
+            int valueIndex = keyIndex + 3;
+
+            if (document.tokenizer(document.position(keyIndex)).tokenEquals(key)) {
+                return new JSONValue(document, valueStart, valueIndex);
+            }
+
+            int nextIndex = document.next(valueStart, valueIndex);
+
+            if (document.charAt(document.position(nextIndex)) != ',') {
+                break;
+            }
+
+            keyIndex = nextIndex + 1;
+        }
+
+        return null;
+    }
+
+    /**
+     * Get element of array. Previous elements are jumped over without reading
+     *
+     * @param index element index
+     * @return element value or null when array has no element with given index
+     * @throws JSONParserException when value is not array
+     */
+    public JSONValue get(int index) throws JSONParserException {
+
+        expect(JSONTokenType.BEGIN_ARRAY);
+
+        int elementStart = document.skipWhitespaces(start + 1);
+        int elementIndex = tapeIndex + 1;
+
+        if (index < 0 || document.charAt(elementStart) == ']') {
+            return null;
+        }
+
+        for (int i = 0; i < index; i++) {
+
+            int nextIndex = document.next(elementStart, elementIndex);
+
+            if (document.charAt(document.position(nextIndex)) != ',') {
+                return null;
+            }
+
+            elementStart = document.skipWhitespaces(document.position(nextIndex) + 1);
+            elementIndex = nextIndex + 1;
+        }
+
+        return new JSONValue(document, elementStart, elementIndex);
+    }
+
+    /**
+     * Get quantity of array elements or object keys
+     *
+     * @return size of array or object
+     * @throws JSONParserException when value is not array or object
+     */
+    public int size() throws JSONParserException {
+
+        JSONTokenType type = getType();
+
+        if (type != JSONTokenType.BEGIN_ARRAY) {
+            expect(JSONTokenType.BEGIN_OBJECT);
+        }
+
+        if (document.charAt(document.skipWhitespaces(start + 1)) == (type == JSONTokenType.BEGIN_ARRAY ? ']' : '}')) {
+            return 0;
+        }
+
+        int size = 1;
+        int closeIndex = document.next(start, tapeIndex) - 1;
+
+        // commas of nested values are jumped over
+        for (int i = tapeIndex + 1; i < closeIndex; i++) {
+            char ch = document.charAt(document.position(i));
+
+            if (ch == ',') {
+                size++;
+            } else if (ch == '{' || ch == '[') {
+                i = document.next(document.position(i), i) - 1;
+            } else if (ch == '"') {
+                i++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Get value as String
+     *
+     * @return unescaped string content for string value, null for null value, otherwise - value text
+     */
+    public String asString() {
+
+        JSONTokenType type = getType();
+
+        if (type == JSONTokenType.BEGIN_OBJECT || type == JSONTokenType.BEGIN_ARRAY) {
+            return toString();
+        }
+
+        return document.tokenizer(start).tokenString();
+    }
+
+    public boolean asBoolean() {
+        return Converter.convertToBooleanValue(document.tokenizer(start));
+    }
+
+    public int asInt() {
+        return Converter.convertToIntValue(document.tokenizer(start));
+    }
+
+    public long asLong() {
+        return Converter.convertToLongValue(document.tokenizer(start));
+    }
+
+    public double asDouble() {
+        return Converter.convertToDoubleValue(document.tokenizer(start));
+    }
+
+    /**
+     * Get JSON text of value
+     *
+     * @return value text as it is in document
+     */
+    @Override
+    public String toString() {
+
+        int end = document.next(start, tapeIndex);
+
+        if (end != tapeIndex) {
+            return document.getSource().subSequence(start, document.position(end - 1) + 1).toString();
+        }
+
+        int scalarEnd = document.position(tapeIndex);
+
+        while (scalarEnd > start && Character.isWhitespace(document.charAt(scalarEnd - 1))) {
+            scalarEnd--;
+        }
+
+        return document.getSource().subSequence(start, scalarEnd).toString();
+    }
+
+    private void expect(JSONTokenType expected) {
+
+        JSONTokenType type = getType();
+
+        if (type != expected) {
+            throw new JSONParserException(String.format(VALUE_TYPE_ERROR, expected, type, start));
+        }
+    }
+}
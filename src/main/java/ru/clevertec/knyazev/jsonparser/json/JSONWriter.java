@@ -0,0 +1,346 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents streaming JSON writer. Every token is written to the sink once,
+ * separators are written before elements, so no trailing comma cleanup is needed.
+ * <p>
+ * Example: beginObject(), name("id"), value(5), name("b"), value("1"), endObject()
+ * writes {"id":5,"b":"1"}
+ * <p>
+ * Numbers are written by {@link NumberWriter} through the writer buffer, so boxed and primitive
+ * numbers are written without creating Strings.
+ */
+public class JSONWriter {
+
+    private static final String WRITING_ERROR = "Error when writing JSON";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Appendable sink;
+
+    private final char[] numberBuffer = new char[NumberWriter.MAX_LENGTH];
+
+    private boolean separatorNeeded;
+
+    public JSONWriter(Appendable sink) {
+        this.sink = sink;
+    }
+
+    public JSONWriter beginObject() {
+        writeSeparator();
+        write('{');
+        separatorNeeded = false;
+
+        return this;
+    }
+
+    public JSONWriter endObject() {
+        write('}');
+        separatorNeeded = true;
+
+        return this;
+    }
+
+    public JSONWriter beginArray() {
+        writeSeparator();
+        write('[');
+        separatorNeeded = false;
+
+        return this;
+    }
+
+    public JSONWriter endArray() {
+        write(']');
+        separatorNeeded = true;
+
+        return this;
+    }
+
+    /**
+     * Write object key. Next written value is value of this key
+     *
+     * @param name key name
+     * @return this writer
+     */
+    public JSONWriter name(String name) {
+        writeSeparator();
+        writeString(name);
+        write(':');
+        separatorNeeded = false;
+
+        return this;
+    }
+
+    /**
+     * Write object key encoded by {@link #encodeName(String)}
+     *
+     * @param encodedName key with quotes and colon, e.g. "name":
+     * @return this writer
+     */
+    public JSONWriter encodedName(String encodedName) {
+        writeSeparator();
+        write(encodedName);
+        separatorNeeded = false;
+
+        return this;
+    }
+
+    public JSONWriter value(String value) {
+
+        if (value == null) {
+            return nullValue();
+        }
+
+        writeSeparator();
+        writeString(value);
+        separatorNeeded = true;
+
+        return this;
+    }
+
+    public JSONWriter value(boolean value) {
+        return rawValue(value ? "true" : "false");
+    }
+
+    public JSONWriter value(Number value) {
+
+        if (value == null) {
+            return nullValue();
+        }
+
+        if (value instanceof Integer || value instanceof Long ||
+                value instanceof Short || value instanceof Byte) {
+            return value(value.longValue());
+        } else if (value instanceof Double doubleValue) {
+            return value(doubleValue.doubleValue());
+        } else if (value instanceof Float floatValue) {
+            return value(floatValue.floatValue());
+        }
+
+        return rawValue(value.toString());
+    }
+
+    public JSONWriter value(long value) {
+        return numberValue(NumberWriter.writeLong(value, numberBuffer, 0));
+    }
+
+    public JSONWriter value(float value) {
+        return numberValue(NumberWriter.writeFloat(value, numberBuffer, 0));
+    }
+
+    public JSONWriter value(double value) {
+        return numberValue(NumberWriter.writeDouble(value, numberBuffer, 0));
+    }
+
+    public JSONWriter value(char value) {
+        return value(String.valueOf(value));
+    }
+
+    public JSONWriter nullValue() {
+        return rawValue("null");
+    }
+
+    /**
+     * Write value as is without quotes and escaping
+     *
+     * @param value JSON value text
+     * @return this writer
+     */
+    public JSONWriter rawValue(CharSequence value) {
+        writeSeparator();
+        write(value);
+        separatorNeeded = true;
+
+        return this;
+    }
+
+    /**
+     * Encode object key to JSON
+     * <p>
+     * Example: name should be encoded to "name":
+     *
+     * @param name key name
+     * @return key with quotes and colon
+     */
+    public static String encodeName(String name) {
+        StringBuilder encodedName = new StringBuilder(name.length() + 3);
+        new JSONWriter(encodedName).name(name);
+
+        return encodedName.toString();
+    }
+
+    /**
+     * Create writer of JSON part, e.g. of chunk of array elements written by other thread.
+     * Part is written into new buffer of the same kind as sink: UTF-8 bytes for {@link UTF8Buffer},
+     * otherwise - chars. Written part is appended to sink by {@link #join(JSONWriter)}
+     *
+     * @return writer of JSON part
+     */
+    public JSONWriter fork() {
+        return new JSONWriter(sink instanceof UTF8Buffer ? new UTF8Buffer() : new StringBuilder());
+    }
+
+    /**
+     * Append values or keys with values written by forked writer. Separator is written
+     * before them when needed, empty part is skipped
+     * <p>
+     * Example: beginArray(), value(1), join(part with 2,3), endArray() writes [1,2,3]
+     *
+     * @param part forked writer
+     * @return this writer
+     */
+    public JSONWriter join(JSONWriter part) {
+
+        if (part.sink instanceof UTF8Buffer partBuffer) {
+
+            if (partBuffer.size() == 0) {
+                return this;
+            }
+
+            writeSeparator();
+
+            if (sink instanceof UTF8Buffer buffer) {
+                buffer.append(partBuffer);
+            } else {
+                write(new String(partBuffer.toByteArray(), StandardCharsets.UTF_8));
+            }
+        } else {
+            CharSequence partChars = (CharSequence) part.sink;
+
+            if (partChars.length() == 0) {
+                return this;
+            }
+
+            writeSeparator();
+            write(partChars);
+        }
+
+        separatorNeeded = true;
+
+        return this;
+    }
+
+    public Appendable getSink() {
+        return sink;
+    }
+
+    /**
+     * Prepare writer for writing new JSON value into the same sink,
+     * e.g. after sink is cleared for the next value of batch
+     */
+    public void reset() {
+        separatorNeeded = false;
+    }
+
+    /**
+     * Write number from number buffer
+     *
+     * @param length length of number in number buffer
+     * @return this writer
+     */
+    private JSONWriter numberValue(int length) {
+        writeSeparator();
+        write(numberBuffer, length);
+        separatorNeeded = true;
+
+        return this;
+    }
+
+    private void writeSeparator() {
+        if (separatorNeeded) {
+            write(',');
+        }
+    }
+
+    private void writeString(String value) {
+        write('"');
+
+        int unescapedStart = 0;
+        int valueLength = value.length();
+
+        for (int i = 0; i < valueLength; i++) {
+            char ch = value.charAt(i);
+
+            if (ch >= 0x20 && ch != '"' && ch != '\\') {
+                continue;
+            }
+
+            write(value, unescapedStart, i);
+            writeEscaped(ch);
+            unescapedStart = i + 1;
+        }
+
+        write(value, unescapedStart, valueLength);
+        write('"');
+    }
+
+    private void writeEscaped(char ch) {
+        switch (ch) {
+            case '"' -> write("\\\"");
+            case '\\' -> write("\\\\");
+            case '\n' -> write("\\n");
+            case '\r' -> write("\\r");
+            case '\t' -> write("\\t");
+            case '\b' -> write("\\b");
+            case '\f' -> write("\\f");
+            default -> {
+                write("\\u00");
+                write(HEX_DIGITS[ch >> 4]);
+                write(HEX_DIGITS[ch & 0xF]);
+            }
+        }
+    }
+
+    private void write(char ch) {
+        try {
+            sink.append(ch);
+        } catch (IOException e) {
+            throw new JSONParserException(WRITING_ERROR, e);
+        }
+    }
+
+    private void write(CharSequence value) {
+        try {
+            sink.append(value);
+        } catch (IOException e) {
+            throw new JSONParserException(WRITING_ERROR, e);
+        }
+    }
+
+    private void write(char[] value, int length) {
+        try {
+            if (sink instanceof StringBuilder builder) {
+                builder.append(value, 0, length);
+            } else if (sink instanceof UTF8Buffer buffer) {
+                buffer.appendASCII(value, length);
+            } else if (sink instanceof Writer writer) {
+                writer.write(value, 0, length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    sink.append(value[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new JSONParserException(WRITING_ERROR, e);
+        }
+    }
+
+    private void write(CharSequence value, int start, int end) {
+
+        if (start == end) {
+            return;
+        }
+
+        try {
+            sink.append(value, start, end);
+        } catch (IOException e) {
+            throw new JSONParserException(WRITING_ERROR, e);
+        }
+    }
+}
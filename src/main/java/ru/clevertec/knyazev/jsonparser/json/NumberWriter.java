@@ -0,0 +1,573 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import java.math.BigInteger;
+
+/**
+ * Represents writer of numbers into char buffer without creating Strings.
+ * <p>
+ * Integers are written by digit pairs from lookup table. Doubles and floats are written
+ * by Schubfach algorithm as the shortest decimal that rounds to the same value, in the
+ * format of {@link Double#toString(double)}: plain for values in [10^-3, 10^7),
+ * otherwise computerized scientific notation.
+ * <p>
+ * Example: writeDouble(0.1, buffer, 0) writes 0.1, writeDouble(1.0E10, buffer, 0) writes 1.0E10
+ *
+ * @see <a href="https://drive.google.com/file/d/1IEeATSVnEE6TkrHlCYNY2GjaraBjOT4f">The Schubfach way to render doubles</a>
+ */
+final class NumberWriter {
+
+    /**
+     * Max length of written number, e.g. -2.2250738585072014E-308 or -9223372036854775808
+     */
+    static final int MAX_LENGTH = 32;
+
+    private static final char[] DIGIT_PAIRS = new char[200];
+
+    // Schubfach constants of doubles
+    private static final int DOUBLE_P = 53;
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final long DOUBLE_C_MIN = 1L << DOUBLE_P - 1;
+    private static final int DOUBLE_BQ_MASK = 0x7ff;
+    private static final long DOUBLE_T_MASK = (1L << DOUBLE_P - 1) - 1;
+    private static final long DOUBLE_C_TINY = 3;
+    private static final int DOUBLE_H = 17;
+
+    // Schubfach constants of floats
+    private static final int FLOAT_P = 24;
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_C_MIN = 1 << FLOAT_P - 1;
+    private static final int FLOAT_BQ_MASK = 0xff;
+    private static final int FLOAT_T_MASK = (1 << FLOAT_P - 1) - 1;
+    private static final int FLOAT_C_TINY = 8;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+
+    /**
+     * Range of k of 10^k for which 126-bit approximations g of 10^-k are computed
+     */
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    /**
+     * Pairs g1, g0 such that g1 2^63 + g0 = floor(10^-k 2^-r) + 1, r = floor(log2(10^-k)) - 125
+     */
+    private static final long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+
+    private static final long[] POWERS_OF_TEN = new long[DOUBLE_H + 1];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i << 1] = (char) ('0' + i / 10);
+            DIGIT_PAIRS[i << 1 | 1] = (char) ('0' + i % 10);
+        }
+
+        POWERS_OF_TEN[0] = 1;
+
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int r = flog2pow10(-k) - 125;
+
+            BigInteger g = k <= 0
+                    ? BigInteger.TEN.pow(-k).shiftRight(r)
+                    : BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+            g = g.add(BigInteger.ONE);
+
+            G[k - K_MIN << 1] = g.shiftRight(63).longValue();
+            G[k - K_MIN << 1 | 1] = g.longValue() & MASK_63;
+        }
+    }
+
+    private NumberWriter() {
+    }
+
+    /**
+     * Write long value
+     *
+     * @param value  value
+     * @param buffer buffer that has at least {@link #MAX_LENGTH} chars after offset
+     * @param offset position of the first char
+     * @return position after the last written char
+     */
+    static int writeLong(long value, char[] buffer, int offset) {
+
+        int end = offset + length(value);
+        int position = end;
+
+        // digits are computed on negative value, so Long.MIN_VALUE is written without overflow
+        long negativeValue = value < 0 ? value : -value;
+
+        while (negativeValue <= Integer.MIN_VALUE) {
+            long quotient = negativeValue / 100;
+            int pair = (int) (quotient * 100 - negativeValue);
+            negativeValue = quotient;
+
+            position = writePair(pair, buffer, position);
+        }
+
+        int intValue = (int) negativeValue;
+
+        while (intValue <= -100) {
+            int quotient = intValue / 100;
+            int pair = quotient * 100 - intValue;
+            intValue = quotient;
+
+            position = writePair(pair, buffer, position);
+        }
+
+        if (intValue < -9) {
+            position = writePair(-intValue, buffer, position);
+        } else {
+            buffer[--position] = (char) ('0' - intValue);
+        }
+
+        if (value < 0) {
+            buffer[--position] = '-';
+        }
+
+        return end;
+    }
+
+    /**
+     * Write double value in the format of {@link Double#toString(double)}
+     *
+     * @param value  value
+     * @param buffer buffer that has at least {@link #MAX_LENGTH} chars after offset
+     * @param offset position of the first char
+     * @return position after the last written char
+     */
+    static int writeDouble(double value, char[] buffer, int offset) {
+
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & DOUBLE_T_MASK;
+        int bq = (int) (bits >>> DOUBLE_P - 1) & DOUBLE_BQ_MASK;
+
+        if (bq == DOUBLE_BQ_MASK) {
+            return writeSpecial(t != 0, bits < 0, buffer, offset);
+        }
+
+        int position = offset;
+
+        if (bits < 0) {
+            buffer[position++] = '-';
+        }
+
+        if (bq != 0) {
+            int mq = -DOUBLE_Q_MIN + 1 - bq;
+            long c = DOUBLE_C_MIN | t;
+
+            // integer values are written without Schubfach
+            if (0 < mq && mq < DOUBLE_P) {
+                long f = c >> mq;
+
+                if (f << mq == c) {
+                    return writeDecimal(f, 0, buffer, position);
+                }
+            }
+
+            return writeDouble(-mq, c, 0, buffer, position);
+        }
+
+        if (t != 0) {
+            return t < DOUBLE_C_TINY
+                    ? writeDouble(DOUBLE_Q_MIN, 10 * t, -1, buffer, position)
+                    : writeDouble(DOUBLE_Q_MIN, t, 0, buffer, position);
+        }
+
+        buffer[position++] = '0';
+        buffer[position++] = '.';
+        buffer[position++] = '0';
+
+        return position;
+    }
+
+    /**
+     * Write float value in the format of {@link Float#toString(float)}
+     *
+     * @param value  value
+     * @param buffer buffer that has at least {@link #MAX_LENGTH} chars after offset
+     * @param offset position of the first char
+     * @return position after the last written char
+     */
+    static int writeFloat(float value, char[] buffer, int offset) {
+
+        int bits = Float.floatToRawIntBits(value);
+        int t = bits & FLOAT_T_MASK;
+        int bq = (bits >>> FLOAT_P - 1) & FLOAT_BQ_MASK;
+
+        if (bq == FLOAT_BQ_MASK) {
+            return writeSpecial(t != 0, bits < 0, buffer, offset);
+        }
+
+        int position = offset;
+
+        if (bits < 0) {
+            buffer[position++] = '-';
+        }
+
+        if (bq != 0) {
+            int mq = -FLOAT_Q_MIN + 1 - bq;
+            int c = FLOAT_C_MIN | t;
+
+            if (0 < mq && mq < FLOAT_P) {
+                int f = c >> mq;
+
+                if (f << mq == c) {
+                    return writeDecimal(f, 0, buffer, position);
+                }
+            }
+
+            return writeFloat(-mq, c, 0, buffer, position);
+        }
+
+        if (t != 0) {
+            return t < FLOAT_C_TINY
+                    ? writeFloat(FLOAT_Q_MIN, 10 * t, -1, buffer, position)
+                    : writeFloat(FLOAT_Q_MIN, t, 0, buffer, position);
+        }
+
+        buffer[position++] = '0';
+        buffer[position++] = '.';
+        buffer[position++] = '0';
+
+        return position;
+    }
+
+    /**
+     * Find the shortest decimal in the rounding interval of double c 2^q
+     */
+    private static int writeDouble(int q, long c, int dk, char[] buffer, int offset) {
+
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = G[k - K_MIN << 1];
+        long g0 = G[k - K_MIN << 1 | 1];
+
+        long vb = roundOdd(g1, g0, cb << h);
+        long vbl = roundOdd(g1, g0, cbl << h);
+        long vbr = roundOdd(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+
+        if (s >= 100) {
+            // s / 10 = floor(s 115_292_150_460_684_698 2^4 / 2^64)
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) {
+                return writeDecimal(upin ? sp10 : tp10, k, buffer, offset);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+
+        if (uin != win) {
+            return writeDecimal(uin ? s : t, k + dk, buffer, offset);
+        }
+
+        long cmp = vb - (s + t << 1);
+
+        return writeDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, offset);
+    }
+
+    /**
+     * Find the shortest decimal in the rounding interval of float c 2^q
+     */
+    private static int writeFloat(int q, int c, int dk, char[] buffer, int offset) {
+
+        int out = c & 0x1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+
+        int h = q + flog2pow10(-k) + 33;
+
+        long g = G[k - K_MIN << 1] + 1;
+
+        int vb = roundOdd(g, cb << h);
+        int vbl = roundOdd(g, cbl << h);
+        int vbr = roundOdd(g, cbr << h);
+
+        int s = vb >> 2;
+
+        if (s >= 100) {
+            // s / 10 = floor(s 1_717_986_919 / 2^34)
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) {
+                return writeDecimal(upin ? sp10 : tp10, k, buffer, offset);
+            }
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+
+        if (uin != win) {
+            return writeDecimal(uin ? s : t, k + dk, buffer, offset);
+        }
+
+        int cmp = vb - (s + t << 1);
+
+        return writeDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, offset);
+    }
+
+    /**
+     * Write decimal f 10^e, f < 10^17, in the format of {@link Double#toString(double)}
+     */
+    private static int writeDecimal(long f, int e, char[] buffer, int offset) {
+
+        int length = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+
+        if (f >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+
+        // normalize to 17 digits: f 10^e = 0.f 10^exponent
+        f *= POWERS_OF_TEN[DOUBLE_H - length];
+        int exponent = e + length;
+
+        // f = h 10^16 + m 10^8 + l, floor(f / 10^8) = floor(floor(f 193_428_131_138_340_668 / 2^64) / 2^20)
+        long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+
+        int position = offset;
+
+        if (0 < exponent && exponent <= 7) {
+            // plain format without leading zeroes
+            buffer[position++] = (char) ('0' + h);
+
+            int y = digitsFraction(m);
+            int i = 1;
+
+            for (; i < exponent; i++) {
+                int t = 10 * y;
+                buffer[position++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+
+            buffer[position++] = '.';
+
+            for (; i <= 8; i++) {
+                int t = 10 * y;
+                buffer[position++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+
+            return writeLowDigits(l, buffer, position);
+        }
+
+        if (-3 < exponent && exponent <= 0) {
+            // plain format with leading zeroes
+            buffer[position++] = '0';
+            buffer[position++] = '.';
+
+            for (; exponent < 0; exponent++) {
+                buffer[position++] = '0';
+            }
+
+            buffer[position++] = (char) ('0' + h);
+            position = write8Digits(m, buffer, position);
+
+            return writeLowDigits(l, buffer, position);
+        }
+
+        // computerized scientific notation
+        buffer[position++] = (char) ('0' + h);
+        buffer[position++] = '.';
+        position = write8Digits(m, buffer, position);
+        position = writeLowDigits(l, buffer, position);
+
+        return writeExponent(exponent - 1, buffer, position);
+    }
+
+    private static int writeLowDigits(int l, char[] buffer, int offset) {
+
+        int position = offset;
+
+        if (l != 0) {
+            position = write8Digits(l, buffer, position);
+        }
+
+        // remove trailing zeroes but keep the one directly after the point
+        while (buffer[position - 1] == '0') {
+            position--;
+        }
+
+        if (buffer[position - 1] == '.') {
+            position++;
+        }
+
+        return position;
+    }
+
+    private static int write8Digits(int m, char[] buffer, int offset) {
+
+        int position = offset;
+        int y = digitsFraction(m);
+
+        for (int i = 0; i < 8; i++) {
+            int t = 10 * y;
+            buffer[position++] = (char) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+
+        return position;
+    }
+
+    /**
+     * Get 28-bit fraction y such that digits of m, m < 10^8, are extracted
+     * from left to right by multiplying y by 10
+     */
+    private static int digitsFraction(int m) {
+        return (int) (Math.multiplyHigh((long) (m + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int writeExponent(int e, char[] buffer, int offset) {
+
+        int position = offset;
+
+        buffer[position++] = 'E';
+
+        if (e < 0) {
+            buffer[position++] = '-';
+            e = -e;
+        }
+
+        if (e < 10) {
+            buffer[position++] = (char) ('0' + e);
+
+            return position;
+        }
+
+        if (e >= 100) {
+            buffer[position++] = (char) ('0' + e / 100);
+            e %= 100;
+        }
+
+        writePair(e, buffer, position + 2);
+
+        return position + 2;
+    }
+
+    private static int writeSpecial(boolean nan, boolean negative, char[] buffer, int offset) {
+
+        String special = nan
+                ? "NaN"
+                : negative ? "-Infinity" : "Infinity";
+
+        special.getChars(0, special.length(), buffer, offset);
+
+        return offset + special.length();
+    }
+
+    /**
+     * Write two digits of pair before given position
+     *
+     * @return position of the first written digit
+     */
+    private static int writePair(int pair, char[] buffer, int position) {
+        buffer[position - 1] = DIGIT_PAIRS[pair << 1 | 1];
+        buffer[position - 2] = DIGIT_PAIRS[pair << 1];
+
+        return position - 2;
+    }
+
+    private static int length(long value) {
+
+        int sign = 0;
+        long negativeValue = value;
+
+        if (value >= 0) {
+            negativeValue = -value;
+        } else {
+            sign = 1;
+        }
+
+        long bound = -10;
+
+        for (int i = 1; i < 19; i++) {
+            if (negativeValue > bound) {
+                return i + sign;
+            }
+
+            bound *= 10;
+        }
+
+        return 19 + sign;
+    }
+
+    /**
+     * floor(log10(2^e))
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * floor(log10(3/4 2^e))
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * floor(log2(10^e))
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    private static long roundOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int roundOdd(long g, long cp) {
+        long x1 = Math.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+}
@@ -0,0 +1,360 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents growable byte buffer which encodes appended chars to UTF-8, so JSON is written
+ * to bytes without intermediate String. Buffer owns {@link JSONWriter} writing into it.
+ * <p>
+ * Buffers are recycled: {@link #acquire()} returns buffer cached for current platform thread,
+ * virtual threads share small lock-free set of buffers, so buffers aren't created per virtual
+ * thread and carrier threads aren't pinned. Buffer is returned for reuse by {@link #release()}.
+ * Nested acquiring in the same platform thread gets new buffer, which isn't kept for reuse.
+ * <p>
+ * Example: buffer.writer().value("Чай") makes buffer contain 8 bytes "\"Чай\"".
+ * Unpaired surrogates are encoded as '?' like by {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+public final class UTF8Buffer implements Appendable {
+
+    private static final String BUFFER_OVERFLOW_ERROR = "Error. JSON of %d bytes doesn't fit into buffer with %d bytes remaining";
+    private static final String WRITING_ERROR = "Error when writing JSON bytes to output stream";
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    /**
+     * Buffers which grew larger are not kept for reuse
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final ThreadLocal<UTF8Buffer> THREAD_BUFFERS = ThreadLocal.withInitial(UTF8Buffer::new);
+
+    private static final AtomicReferenceArray<UTF8Buffer> SHARED_BUFFERS =
+            new AtomicReferenceArray<>(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1);
+
+    /**
+     * Thread#isVirtual of Java 21, null for earlier versions without virtual threads
+     */
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private final JSONWriter writer = new JSONWriter(this);
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+    private int size;
+
+    private char highSurrogate;
+
+    private boolean inUse;
+
+    /**
+     * Buffer is acquired by virtual thread and is returned to shared buffers on releasing
+     */
+    private boolean shared;
+
+    /**
+     * Create buffer which isn't recycled, e.g. buffer of JSON part written by other thread
+     */
+    UTF8Buffer() {
+    }
+
+    /**
+     * Get empty buffer for current thread. Buffer should be released after using
+     *
+     * @return recycled or new buffer
+     */
+    public static UTF8Buffer acquire() {
+
+        UTF8Buffer buffer;
+        boolean virtualThread = isVirtualThread();
+
+        if (virtualThread) {
+            buffer = SHARED_BUFFERS.getAndSet(sharedIndex(), null);
+        } else {
+            buffer = THREAD_BUFFERS.get();
+
+            if (buffer.inUse) {
+                buffer = null;
+            }
+        }
+
+        if (buffer == null) {
+            buffer = new UTF8Buffer();
+        }
+
+        buffer.inUse = true;
+        buffer.shared = virtualThread;
+
+        return buffer;
+    }
+
+    /**
+     * Clear buffer and return it for reuse. Buffer mustn't be used after releasing,
+     * repeated releasing is ignored
+     */
+    public void release() {
+
+        if (!inUse) {
+            return;
+        }
+
+        size = 0;
+        highSurrogate = 0;
+        inUse = false;
+
+        if (bytes.length > MAX_RETAINED_CAPACITY) {
+            bytes = new byte[INITIAL_CAPACITY];
+        }
+
+        if (shared) {
+            shared = false;
+            SHARED_BUFFERS.compareAndSet(sharedIndex(), null, this);
+        }
+    }
+
+    /**
+     * Get writer which writes JSON into this buffer
+     *
+     * @return writer ready for writing new JSON value
+     */
+    public JSONWriter writer() {
+        writer.reset();
+
+        return writer;
+    }
+
+    @Override
+    public UTF8Buffer append(char ch) {
+
+        if (ch < 0x80 && highSurrogate == 0) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) ch;
+        } else {
+            appendChar(ch);
+        }
+
+        return this;
+    }
+
+    @Override
+    public UTF8Buffer append(CharSequence value) {
+
+        if (value == null) {
+            return append("null", 0, 4);
+        }
+
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public UTF8Buffer append(CharSequence value, int start, int end) {
+
+        if (value == null) {
+            return append("null", start, end);
+        }
+
+        ensureCapacity(end - start);
+
+        int i = start;
+
+        if (highSurrogate == 0) {
+            for (; i < end; i++) {
+                char ch = value.charAt(i);
+
+                if (ch >= 0x80) {
+                    break;
+                }
+
+                bytes[size++] = (byte) ch;
+            }
+        }
+
+        for (; i < end; i++) {
+            appendChar(value.charAt(i));
+        }
+
+        return this;
+    }
+
+    /**
+     * Append content of other buffer by one bulk copy
+     *
+     * @param other buffer with UTF-8 bytes
+     * @return this buffer
+     */
+    UTF8Buffer append(UTF8Buffer other) {
+        flushSurrogate();
+
+        int otherSize = other.size();
+
+        ensureCapacity(otherSize);
+        System.arraycopy(other.bytes, 0, bytes, size, otherSize);
+        size += otherSize;
+
+        return this;
+    }
+
+    /**
+     * Append ASCII chars, e.g. digits of number
+     *
+     * @param value  ASCII chars
+     * @param length quantity of chars to append from the beginning of value
+     * @return this buffer
+     */
+    UTF8Buffer appendASCII(char[] value, int length) {
+
+        if (highSurrogate != 0) {
+            for (int i = 0; i < length; i++) {
+                appendChar(value[i]);
+            }
+
+            return this;
+        }
+
+        ensureCapacity(length);
+
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) value[i];
+        }
+
+        return this;
+    }
+
+    /**
+     * Get quantity of written bytes
+     *
+     * @return size of buffer content
+     */
+    public int size() {
+        flushSurrogate();
+
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        flushSurrogate();
+
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Put buffer content into given buffer starting at its position
+     *
+     * @param target target buffer, its position is moved after written content
+     * @throws JSONParserException when target hasn't enough remaining space
+     */
+    public void writeTo(ByteBuffer target) throws JSONParserException {
+        flushSurrogate();
+
+        if (target.remaining() < size) {
+            throw new JSONParserException(String.format(BUFFER_OVERFLOW_ERROR, size, target.remaining()));
+        }
+
+        target.put(bytes, 0, size);
+    }
+
+    /**
+     * Write buffer content into given output stream
+     *
+     * @param outputStream output stream
+     * @throws JSONParserException when output stream writing error
+     */
+    public void writeTo(OutputStream outputStream) throws JSONParserException {
+        flushSurrogate();
+
+        try {
+            outputStream.write(bytes, 0, size);
+        } catch (IOException e) {
+            throw new JSONParserException(WRITING_ERROR, e);
+        }
+    }
+
+    private void appendChar(char ch) {
+
+        ensureCapacity(4);
+
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+
+            if (Character.isLowSurrogate(ch)) {
+                int codePoint = Character.toCodePoint(high, ch);
+
+                bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+
+                return;
+            }
+
+            bytes[size++] = '?';
+        }
+
+        if (ch < 0x80) {
+            bytes[size++] = (byte) ch;
+        } else if (ch < 0x800) {
+            bytes[size++] = (byte) (0xC0 | (ch >> 6));
+            bytes[size++] = (byte) (0x80 | (ch & 0x3F));
+        } else if (Character.isHighSurrogate(ch)) {
+            highSurrogate = ch;
+        } else if (Character.isLowSurrogate(ch)) {
+            bytes[size++] = '?';
+        } else {
+            bytes[size++] = (byte) (0xE0 | (ch >> 12));
+            bytes[size++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+            bytes[size++] = (byte) (0x80 | (ch & 0x3F));
+        }
+    }
+
+    /**
+     * Encode pending high surrogate which isn't followed by low surrogate
+     */
+    private void flushSurrogate() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            ensureCapacity(1);
+            bytes[size++] = '?';
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (bytes.length - size < length) {
+            bytes = Arrays.copyOf(bytes, Math.max(size + length, bytes.length << 1));
+        }
+    }
+
+    private static int sharedIndex() {
+        return (int) Thread.currentThread().getId() & (SHARED_BUFFERS.length() - 1);
+    }
+
+    private static boolean isVirtualThread() {
+
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.clevertec.knyazev.jsonparser.json;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents UTF-8 encoded JSON bytes as char sequence for {@link JSONTokenizer} without
+ * decoding them. Every byte is one char of sequence: structural chars, quotes, escapes,
+ * digits and literals of JSON are ASCII, and bytes of multibyte UTF-8 chars are never equal
+ * to ASCII chars, so JSON is tokenized by bytes. Positions of tokens are byte offsets.
+ * <p>
+ * Text is decoded from UTF-8 only by {@link #subSequence(int, int)} and {@link #toString()},
+ * so only string values which are requested by {@link JSONTokenizer#tokenString()} are decoded.
+ * Keys are compared with UTF-8 bytes by {@link #regionEquals(int, int, String)} without decoding.
+ * <p>
+ * Example: for bytes of {"name":"Žana"} length is 16 and subSequence(9, 14) returns "Žana".
+ */
+public final class UTF8CharSequence implements CharSequence {
+
+    private static final int BOM_LENGTH = 3;
+
+    private final ByteBuffer bytes;
+
+    private final int offset;
+
+    private final int length;
+
+    /**
+     * Wrap remaining bytes of given buffer, buffer position isn't changed.
+     * UTF-8 byte order mark is skipped
+     *
+     * @param bytes UTF-8 encoded JSON, e.g. {@link java.nio.MappedByteBuffer} of JSON file
+     */
+    public UTF8CharSequence(ByteBuffer bytes) {
+        this(bytes, bytes.position(), bytes.limit());
+    }
+
+    /**
+     * Wrap bytes of given buffer between given indexes, e.g. one line of JSON lines.
+     * UTF-8 byte order mark is skipped
+     *
+     * @param bytes UTF-8 encoded JSON
+     * @param start index of the first byte, inclusive
+     * @param end   index of the last byte, exclusive
+     */
+    public UTF8CharSequence(ByteBuffer bytes, int start, int end) {
+
+        if (end - start >= BOM_LENGTH && bytes.get(start) == (byte) 0xEF &&
+                bytes.get(start + 1) == (byte) 0xBB && bytes.get(start + 2) == (byte) 0xBF) {
+            start += BOM_LENGTH;
+        }
+
+        this.bytes = bytes;
+        this.offset = start;
+        this.length = end - start;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Get byte at given position as char. Bytes of multibyte UTF-8 chars are returned
+     * as chars from 0x80 to 0xFF
+     *
+     * @param index byte offset
+     * @return byte as char
+     */
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    /**
+     * Decode bytes between given byte offsets from UTF-8
+     *
+     * @param start the start byte offset, inclusive
+     * @param end   the end byte offset, exclusive
+     * @return decoded String, its length may be less than end - start
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException(String.format("start %d, end %d, length %d", start, end, length));
+        }
+
+        byte[] region = new byte[end - start];
+        bytes.get(offset + start, region);
+
+        return new String(region, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check if UTF-8 bytes between given byte offsets encode given value
+     *
+     * @param start the start byte offset, inclusive
+     * @param end   the end byte offset, exclusive
+     * @param value value for comparing
+     * @return true if bytes encode value, otherwise - false
+     */
+    public boolean regionEquals(int start, int end, String value) {
+
+        int position = offset + start;
+        int regionEnd = offset + end;
+        int valueLength = value.length();
+
+        for (int i = 0; i < valueLength; i++) {
+            int ch = value.charAt(i);
+
+            if (ch < 0x80) {
+                if (position >= regionEnd || bytes.get(position++) != ch) {
+                    return false;
+                }
+
+                continue;
+            }
+
+            int codePoint = ch;
+
+            if (Character.isHighSurrogate(value.charAt(i)) && i + 1 < valueLength &&
+                    Character.isLowSurrogate(value.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(value.charAt(i), value.charAt(++i));
+            }
+
+            int byteCount = codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+
+            if (regionEnd - position < byteCount) {
+                return false;
+            }
+
+            int leadByte = switch (byteCount) {
+                case 2 -> 0xC0 | (codePoint >> 6);
+                case 3 -> 0xE0 | (codePoint >> 12);
+                default -> 0xF0 | (codePoint >> 18);
+            };
+
+            if ((bytes.get(position++) & 0xFF) != leadByte) {
+                return false;
+            }
+
+            for (int shift = (byteCount - 2) * 6; shift >= 0; shift -= 6) {
+                if ((bytes.get(position++) & 0xFF) != (0x80 | ((codePoint >> shift) & 0x3F))) {
+                    return false;
+                }
+            }
+        }
+
+        return position == regionEnd;
+    }
+
+    /**
+     * Decode all bytes from UTF-8
+     *
+     * @return decoded String
+     */
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.clevertec.knyazev.jsonparser.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents concurrent counters of parser calls of one root class
+ */
+final class ClassMetrics {
+
+    private final LongAdder lengthOut = new LongAdder();
+
+    private final LongAdder lengthIn = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LatencyHistogram serializationLatency = new LatencyHistogram();
+
+    private final LatencyHistogram deserializationLatency = new LatencyHistogram();
+
+    void recordSerialization(long length, long nanos) {
+        lengthOut.add(length);
+        serializationLatency.record(nanos);
+    }
+
+    void recordDeserialization(long length, long nanos, long conversionErrors) {
+        lengthIn.add(length);
+        deserializationLatency.record(nanos);
+
+        if (conversionErrors > 0) {
+            errors.add(conversionErrors);
+        }
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    ClassMetricsSnapshot snapshot(String rootClass) {
+
+        LatencySnapshot serializations = serializationLatency.snapshot();
+        LatencySnapshot deserializations = deserializationLatency.snapshot();
+
+        return new ClassMetricsSnapshot(rootClass, serializations.getCount(), deserializations.getCount(),
+                lengthOut.sum(), lengthIn.sum(), errors.sum(), serializations, deserializations);
+    }
+
+    void reset() {
+        lengthOut.reset();
+        lengthIn.reset();
+        errors.reset();
+        serializationLatency.reset();
+        deserializationLatency.reset();
+    }
+}
@@ -0,0 +1,47 @@
+package ru.clevertec.knyazev.jsonparser.metrics;
+
+import lombok.Getter;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Represents immutable metrics of parser calls of one root class. JSON length is counted
+ * in UTF-8 bytes for both String and UTF-8 JSON
+ */
+@Getter
+public final class ClassMetricsSnapshot {
+
+    private final String rootClass;
+
+    private final long serializations;
+
+    private final long deserializations;
+
+    private final long lengthOut;
+
+    private final long lengthIn;
+
+    /**
+     * Failed calls and values which couldn't be converted and were replaced by default value
+     */
+    private final long errors;
+
+    private final LatencySnapshot serializationLatency;
+
+    private final LatencySnapshot deserializationLatency;
+
+    @ConstructorParameters({"rootClass", "serializations", "deserializations", "lengthOut", "lengthIn", "errors",
+            "serializationLatency", "deserializationLatency"})
+    public ClassMetricsSnapshot(String rootClass, long serializations, long deserializations, long lengthOut,
+                                long lengthIn, long errors, LatencySnapshot serializationLatency,
+                                LatencySnapshot deserializationLatency) {
+        this.rootClass = rootClass;
+        this.serializations = serializations;
+        this.deserializations = deserializations;
+        this.lengthOut = lengthOut;
+        this.lengthIn = lengthIn;
+        this.errors = errors;
+        this.serializationLatency = serializationLatency;
+        this.deserializationLatency = deserializationLatency;
+    }
+}
@@ -0,0 +1,156 @@
+package ru.clevertec.knyazev.jsonparser.metrics;
+
+import ru.clevertec.knyazev.jsonparser.converter.ConversionErrors;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents optional registry of parser metrics by root class of parser call: quantity of calls,
+ * UTF-8 length of JSON, errors and latency histograms. Counters are striped {@link java.util.concurrent.atomic.LongAdder}s
+ * and classes are looked up by name in {@link ConcurrentHashMap} without locking, so recording threads don't contend.
+ * Classes are kept by name only, so registry doesn't keep their class loaders.
+ * JSON lines and push parser calls aren't counted, see {@link ru.clevertec.knyazev.jsonparser.JSONParserImpl}.
+ * Parser without registry doesn't measure its calls at all.
+ * <p>
+ * Registry is exposed to JMX by {@link #register()}, e.g. for JConsole or JDK Mission Control.
+ * <p>
+ * Example: JSONParser parser = new JSONParserImpl().withMetrics(metrics); metrics.register();
+ * metrics.classMetricsOf("ru.clevertec.Car").getDeserializationLatency().getP99()
+ */
+public final class JSONParserMetrics implements JSONParserMetricsMXBean {
+
+    public static final String OBJECT_NAME = "ru.clevertec.knyazev.jsonparser:type=JSONParserMetrics";
+
+    private static final String REGISTRATION_ERROR = "Error when registering parser metrics as %s";
+    private static final String UNREGISTRATION_ERROR = "Error when unregistering parser metrics %s";
+
+    /**
+     * Root class of null objects
+     */
+    private static final String NULL_CLASS = Void.class.getName();
+
+    /**
+     * Metrics by root class name
+     */
+    private final Map<String, ClassMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Count successful formatting of object to JSON
+     *
+     * @param rootClass class of object, null for null object
+     * @param length    UTF-8 length of JSON
+     * @param startTime {@link System#nanoTime()} at call start
+     */
+    public void recordSerialization(Class<?> rootClass, long length, long startTime) {
+        metricsOf(rootClass).recordSerialization(length, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Count successful formatting of JSON to object
+     *
+     * @param rootClass        class of object
+     * @param length           UTF-8 length of JSON
+     * @param startTime        {@link System#nanoTime()} at call start
+     * @param conversionErrors values of JSON which couldn't be converted and were replaced by default value
+     */
+    public void recordDeserialization(Class<?> rootClass, long length, long startTime, long conversionErrors) {
+        metricsOf(rootClass).recordDeserialization(length, System.nanoTime() - startTime, conversionErrors);
+    }
+
+    /**
+     * Count failed call
+     *
+     * @param rootClass class of formatted object, null for null object
+     */
+    public void recordError(Class<?> rootClass) {
+        metricsOf(rootClass).recordError();
+    }
+
+    @Override
+    public List<String> getRootClasses() {
+        return metrics.keySet().stream()
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public List<ClassMetricsSnapshot> getClassMetrics() {
+        return metrics.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(ClassMetricsSnapshot::getRootClass))
+                .toList();
+    }
+
+    @Override
+    public ClassMetricsSnapshot classMetricsOf(String rootClass) {
+        ClassMetrics classMetrics = rootClass == null ? null : metrics.get(rootClass);
+
+        return classMetrics == null ? null : classMetrics.snapshot(rootClass);
+    }
+
+    @Override
+    public long getConversionErrors() {
+        return ConversionErrors.total();
+    }
+
+    @Override
+    public void reset() {
+        metrics.values().forEach(ClassMetrics::reset);
+    }
+
+    /**
+     * Register registry in platform MBean server with name {@value #OBJECT_NAME}
+     *
+     * @return registered name
+     * @throws JSONParserException when name is already registered
+     */
+    public ObjectName register() throws JSONParserException {
+        return register(OBJECT_NAME);
+    }
+
+    /**
+     * Register registry in platform MBean server, e.g. with name of parser instance
+     *
+     * @param name object name, e.g. ru.clevertec.knyazev.jsonparser:type=JSONParserMetrics,name=market
+     * @return registered name
+     * @throws JSONParserException when name is malformed or already registered
+     */
+    public ObjectName register(String name) throws JSONParserException {
+        try {
+            return ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName(name))
+                    .getObjectName();
+        } catch (JMException e) {
+            throw new JSONParserException(String.format(REGISTRATION_ERROR, name), e);
+        }
+    }
+
+    /**
+     * Unregister registry from platform MBean server
+     *
+     * @param name registered name
+     * @throws JSONParserException when name isn't registered
+     */
+    public void unregister(ObjectName name) throws JSONParserException {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            throw new JSONParserException(String.format(UNREGISTRATION_ERROR, name), e);
+        }
+    }
+
+    private ClassMetrics metricsOf(Class<?> rootClass) {
+
+        String name = rootClass == null ? NULL_CLASS : rootClass.getName();
+        ClassMetrics classMetrics = metrics.get(name);
+
+        return classMetrics != null ? classMetrics : metrics.computeIfAbsent(name, key -> new ClassMetrics());
+    }
+}
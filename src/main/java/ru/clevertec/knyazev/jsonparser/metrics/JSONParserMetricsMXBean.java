@@ -0,0 +1,43 @@
+package ru.clevertec.knyazev.jsonparser.metrics;
+
+import java.util.List;
+
+/**
+ * Represents JMX view of {@link JSONParserMetrics}
+ */
+public interface JSONParserMetricsMXBean {
+
+    /**
+     * Get names of root classes of parser calls
+     *
+     * @return class names in alphabetical order
+     */
+    List<String> getRootClasses();
+
+    /**
+     * Get metrics of all root classes
+     *
+     * @return metrics in alphabetical order of class names
+     */
+    List<ClassMetricsSnapshot> getClassMetrics();
+
+    /**
+     * Get metrics of one root class
+     *
+     * @param rootClass class name
+     * @return metrics or null when parser wasn't called for class
+     */
+    ClassMetricsSnapshot classMetricsOf(String rootClass);
+
+    /**
+     * Get quantity of values of all parsers which couldn't be converted and were replaced by default value
+     *
+     * @return conversion failures since application start
+     */
+    long getConversionErrors();
+
+    /**
+     * Reset counters of all root classes
+     */
+    void reset();
+}
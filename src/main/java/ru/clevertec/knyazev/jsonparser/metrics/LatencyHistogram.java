@@ -0,0 +1,117 @@
+package ru.clevertec.knyazev.jsonparser.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents concurrent latency histogram with log-linear buckets as in HdrHistogram: every power
+ * of two range of nanoseconds is split into {@value #SUB_BUCKETS} equal buckets, so recorded latency
+ * is reported with relative error up to 1/{@value #SUB_BUCKETS}. Buckets are striped {@link LongAdder}s,
+ * so recording threads don't contend.
+ * <p>
+ * Example: latencies of 1030 and 1100 ns are counted in bucket of 1024 - 1151 ns.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Count latency
+     *
+     * @param nanos latency in nanoseconds, negative latency is counted as 0
+     */
+    void record(long nanos) {
+
+        long latency = Math.max(0, nanos);
+
+        counts[bucketOf(latency)].increment();
+        totalNanos.add(latency);
+    }
+
+    /**
+     * Create snapshot of histogram, latencies recorded during snapshot may be partly counted
+     *
+     * @return latency percentiles
+     */
+    LatencySnapshot snapshot() {
+
+        long[] bucketCounts = new long[BUCKETS];
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketCounts[i] = counts[i].sum();
+            count += bucketCounts[i];
+        }
+
+        return new LatencySnapshot(count, count == 0 ? 0 : totalNanos.sum() / count,
+                percentile(bucketCounts, count, 0.5), percentile(bucketCounts, count, 0.9),
+                percentile(bucketCounts, count, 0.99), percentile(bucketCounts, count, 0.999),
+                percentile(bucketCounts, count, 1));
+    }
+
+    void reset() {
+        for (LongAdder bucketCount : counts) {
+            bucketCount.reset();
+        }
+
+        totalNanos.reset();
+    }
+
+    /**
+     * Get the highest latency of bucket where given share of latencies is reached
+     */
+    private static long percentile(long[] bucketCounts, long count, double share) {
+
+        long rank = (long) Math.ceil(count * share);
+        long counted = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counted += bucketCounts[i];
+
+            if (counted >= rank && counted > 0) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : lowestOf(i + 1) - 1;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Bucket of latency: latencies below {@value #SUB_BUCKETS} have own buckets, others are split
+     * by position of the highest bit and {@value #SUB_BUCKET_BITS} next bits
+     */
+    static int bucketOf(long nanos) {
+
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+
+        return (shift + 1) * SUB_BUCKETS + (int) (nanos >>> shift) - SUB_BUCKETS;
+    }
+
+    static long lowestOf(int bucket) {
+
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int shift = bucket / SUB_BUCKETS - 1;
+
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    }
+}
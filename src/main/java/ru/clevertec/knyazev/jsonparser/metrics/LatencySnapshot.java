@@ -0,0 +1,38 @@
+package ru.clevertec.knyazev.jsonparser.metrics;
+
+import lombok.Getter;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Represents immutable percentiles of {@link LatencyHistogram} in nanoseconds. Percentile is the highest
+ * latency of its histogram bucket, so it's never underestimated
+ */
+@Getter
+public final class LatencySnapshot {
+
+    private final long count;
+
+    private final long mean;
+
+    private final long p50;
+
+    private final long p90;
+
+    private final long p99;
+
+    private final long p999;
+
+    private final long max;
+
+    @ConstructorParameters({"count", "mean", "p50", "p90", "p99", "p999", "max"})
+    public LatencySnapshot(long count, long mean, long p50, long p90, long p99, long p999, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+}
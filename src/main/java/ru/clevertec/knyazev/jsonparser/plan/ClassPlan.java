@@ -0,0 +1,148 @@
+package ru.clevertec.knyazev.jsonparser.plan;
+
+import lombok.Getter;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONKeyTable;
+import ru.clevertec.knyazev.jsonparser.json.JSONTokenizer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents immutable per-class description used for formatting objects to JSON
+ * and from JSON. Plan is computed once per class and stored in {@link ClassValue},
+ * so lookups don't contend.
+ * <p>
+ * Plan of OBJECT category class contains not static and not transient fields
+ * of class and its superclasses, subclass fields go first. Objects of class are created
+ * by {@link ObjectInstantiator} resolved with plan.
+ *
+ * @param <T> planned class type
+ */
+@Getter
+public final class ClassPlan<T> {
+
+    private static final String FIELD_ACCESS_ERROR = "Error. Can't get access to field %s of %s";
+
+    private static final ClassValue<ClassPlan<?>> CLASS_PLANS = new ClassValue<>() {
+        @Override
+        protected ClassPlan<?> computeValue(Class<?> type) {
+            return new ClassPlan<>(type);
+        }
+    };
+
+    private final Class<T> type;
+
+    private final FieldCategory category;
+
+    private final List<FieldPlan> fields;
+
+    private final Map<String, FieldPlan> fieldsByName;
+
+    /**
+     * Field names with perfect hash, key index is field index
+     */
+    private final JSONKeyTable fieldNames;
+
+    private final ObjectInstantiator<T> instantiator;
+
+    private ClassPlan(Class<T> type) {
+        this.type = type;
+        this.category = FieldCategory.of(type);
+
+        List<FieldPlan> planFields = new ArrayList<>();
+        Map<String, FieldPlan> planFieldsByName = new HashMap<>();
+
+        if (category == FieldCategory.OBJECT) {
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+
+                    int modifiers = field.getModifiers();
+
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) ||
+                            field.isSynthetic() || planFieldsByName.containsKey(field.getName())) {
+                        continue;
+                    }
+
+                    try {
+                        field.setAccessible(true);
+                    } catch (InaccessibleObjectException | SecurityException e) {
+                        throw new JSONParserException(String.format(FIELD_ACCESS_ERROR, field.getName(), type), e);
+                    }
+
+                    FieldPlan fieldPlan = new FieldPlan(field, planFields.size());
+
+                    planFields.add(fieldPlan);
+                    planFieldsByName.put(fieldPlan.getName(), fieldPlan);
+                }
+            }
+        }
+
+        this.fields = Collections.unmodifiableList(planFields);
+        this.fieldsByName = Collections.unmodifiableMap(planFieldsByName);
+        this.fieldNames = JSONKeyTable.of(planFields.stream()
+                .map(FieldPlan::getName)
+                .toArray(String[]::new));
+        this.instantiator = ObjectInstantiator.of(type, fields);
+    }
+
+    /**
+     * Get plan of given class
+     *
+     * @param type class
+     * @param <T>  class type
+     * @return class plan computed once per class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ClassPlan<T> of(Class<T> type) {
+        return (ClassPlan<T>) CLASS_PLANS.get(type);
+    }
+
+    /**
+     * Get field plan by field name
+     *
+     * @param name field name
+     * @return field plan or null when class has no field with given name
+     */
+    public FieldPlan getField(String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * Get field plan by name in current STRING token of tokenizer. Not escaped name
+     * is found by perfect hash of {@link JSONKeyTable} and compared with token source,
+     * so name isn't copied or decoded
+     *
+     * @param tokenizer tokenizer which current token is field name
+     * @return field plan or null when class has no field with given name
+     */
+    public FieldPlan getField(JSONTokenizer tokenizer) {
+
+        int index = fieldNames.indexOf(tokenizer);
+
+        return index < 0 ? null : fields.get(index);
+    }
+
+    /**
+     * Get field plan by name in current STRING token of tokenizer. Field which followed previous
+     * field last time is checked first by one comparison, so keys of documents of the same shape
+     * are matched without hashing
+     *
+     * @param tokenizer     tokenizer which current token is field name
+     * @param previousField plan of field of the last known key of the same object, unknown keys
+     *                      are skipped so the same prediction is used after them, null for the first key
+     * @return field plan or null when class has no field with given name
+     */
+    public FieldPlan getField(JSONTokenizer tokenizer, FieldPlan previousField) {
+
+        int index = fieldNames.indexOf(tokenizer, previousField == null ? -1 : previousField.getIndex());
+
+        return index < 0 ? null : fields.get(index);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.clevertec.knyazev.jsonparser.plan;
+
+import ru.clevertec.knyazev.jsonparser.util.ObjectDeterminerUtil;
+
+/**
+ * Represents category of class or class field which defines how it is formatted
+ * to JSON and from JSON
+ */
+public enum FieldCategory {
+
+    SIMPLE,
+    ARRAY,
+    COLLECTION,
+    MAP,
+    OBJECT;
+
+    private static final ObjectDeterminerUtil OBJECT_DETERMINER = new ObjectDeterminerUtil() {
+    };
+
+    /**
+     * Determine category of given class
+     *
+     * @param clazz input class
+     * @return SIMPLE for primitives, Number, String, Boolean and Character,
+     * ARRAY, COLLECTION or MAP for containers, otherwise - OBJECT
+     */
+    public static FieldCategory of(Class<?> clazz) {
+
+        if (!OBJECT_DETERMINER.isComposite(clazz) || Character.class == clazz) {
+            return SIMPLE;
+        } else if (OBJECT_DETERMINER.isArray(clazz)) {
+            return ARRAY;
+        } else if (OBJECT_DETERMINER.isCollection(clazz)) {
+            return COLLECTION;
+        } else if (OBJECT_DETERMINER.isMap(clazz)) {
+            return MAP;
+        }
+
+        return OBJECT;
+    }
+}
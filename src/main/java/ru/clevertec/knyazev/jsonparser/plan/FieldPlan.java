@@ -0,0 +1,91 @@
+package ru.clevertec.knyazev.jsonparser.plan;
+
+import lombok.Getter;
+import ru.clevertec.knyazev.jsonparser.accessor.FieldAccessor;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.json.JSONWriter;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents immutable description of class field used for formatting
+ * the field to JSON and from JSON
+ */
+@Getter
+public final class FieldPlan {
+
+    private final String name;
+
+    /**
+     * Position of field in class plan fields
+     */
+    private final int index;
+
+    private final Field field;
+
+    private final Class<?> type;
+
+    private final FieldCategory category;
+
+    private final SimpleType simpleType;
+
+    private final boolean primitive;
+
+    private final FieldAccessor accessor;
+
+    /**
+     * Plan of field generic type, e.g. of Map&lt;Integer, Car&gt;
+     */
+    private final TypePlan valuePlan;
+
+    /**
+     * JSON key with quotes and colon, e.g. "name":
+     */
+    private final String jsonKey;
+
+    /**
+     * JSON key with quotes and colon in UTF-8
+     */
+    private final byte[] jsonKeyBytes;
+
+    FieldPlan(Field field, int index) {
+        this.name = field.getName();
+        this.index = index;
+        this.field = field;
+        this.type = field.getType();
+        this.category = FieldCategory.of(type);
+        this.simpleType = SimpleType.of(type);
+        this.primitive = type.isPrimitive();
+        this.accessor = FieldAccessor.of(field);
+        this.valuePlan = TypePlan.of(field.getGenericType());
+        this.jsonKey = JSONWriter.encodeName(name);
+        this.jsonKeyBytes = jsonKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] getJsonKeyBytes() {
+        return jsonKeyBytes.clone();
+    }
+
+    /**
+     * Get field value of given object, primitive value is boxed
+     *
+     * @param object object which field value should be returned
+     * @return field value
+     * @throws JSONParserException if field not accessible
+     */
+    public Object get(Object object) throws JSONParserException {
+        return accessor.get(object);
+    }
+
+    /**
+     * Set field value of given object
+     *
+     * @param object object which field value should be set
+     * @param value  field value
+     * @throws JSONParserException if field not accessible
+     */
+    public void set(Object object, Object value) throws JSONParserException {
+        accessor.set(object, value);
+    }
+}
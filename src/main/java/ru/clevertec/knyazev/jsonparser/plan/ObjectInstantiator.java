@@ -0,0 +1,337 @@
+package ru.clevertec.knyazev.jsonparser.plan;
+
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.List;
+
+/**
+ * Represents per-class way of object creation, resolved once and kept as method handles:
+ * <ul>
+ *     <li>no-arg constructor of any visibility - object is created first and its fields are set</li>
+ *     <li>canonical constructor of record - field values are buffered and passed to constructor</li>
+ *     <li>builder created by static builder() method, e.g. Lombok @Builder - field values are buffered
+ *     and passed to builder methods named as fields or as their setters, fields without builder method,
+ *     e.g. inherited fields, are skipped as absent JSON keys</li>
+ * </ul>
+ * Field values are buffered in array of {@link #newValues()} by field index of {@link ClassPlan}.
+ * <p>
+ * Example: for record Point(int x, int y) instantiator.newInstance(new Object[]{1, 2}) returns Point[x=1, y=2]
+ *
+ * @param <T> instantiated class type
+ */
+public final class ObjectInstantiator<T> {
+
+    private static final String INSTANTIATION_ERROR = "Error. Can't instantiate object of %s";
+    private static final String VALUES_ERROR = "Error. Object of %s is created without field values";
+
+    private static final String BUILDER_METHOD = "builder";
+    private static final String BUILD_METHOD = "build";
+    private static final String SETTER_PREFIX = "set";
+
+    private enum Kind {
+        CONSTRUCTOR, RECORD, BUILDER, NONE
+    }
+
+    private final Class<T> type;
+
+    private final Kind kind;
+
+    /**
+     * ()Object for CONSTRUCTOR and BUILDER, (Object[])Object for RECORD
+     */
+    private final MethodHandle creator;
+
+    /**
+     * (Object, Object)void builder methods by field index for BUILDER, their result is ignored,
+     * null for field without builder method, e.g. inherited field
+     */
+    private final MethodHandle[] builderMethods;
+
+    /**
+     * (Object)Object build method for BUILDER
+     */
+    private final MethodHandle buildMethod;
+
+    /**
+     * Field indexes by canonical constructor parameters for RECORD, null when they're the same
+     */
+    private final int[] argumentFields;
+
+    /**
+     * Initial field values: zeros of primitive fields for RECORD, otherwise nulls
+     */
+    private final Object[] defaultValues;
+
+    private final Throwable failure;
+
+    private ObjectInstantiator(Class<T> type, Kind kind, MethodHandle creator, MethodHandle[] builderMethods,
+                               MethodHandle buildMethod, int[] argumentFields, Object[] defaultValues,
+                               Throwable failure) {
+        this.type = type;
+        this.kind = kind;
+        this.creator = creator;
+        this.builderMethods = builderMethods;
+        this.buildMethod = buildMethod;
+        this.argumentFields = argumentFields;
+        this.defaultValues = defaultValues;
+        this.failure = failure;
+    }
+
+    /**
+     * Resolve instantiator of given class. Record is created by canonical constructor,
+     * other class - by no-arg constructor or when it's absent - by builder
+     *
+     * @param type   class
+     * @param fields planned fields of class
+     * @param <T>    class type
+     * @return instantiator, when class can't be instantiated it throws on object creation
+     */
+    static <T> ObjectInstantiator<T> of(Class<T> type, List<FieldPlan> fields) {
+
+        Object[] nullValues = new Object[fields.size()];
+
+        if (Modifier.isAbstract(type.getModifiers()) || type.isInterface() || type.isArray() || type.isPrimitive()) {
+            return new ObjectInstantiator<>(type, Kind.NONE, null, null, null, null, nullValues, null);
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        try {
+            if (type.isRecord()) {
+                return ofRecord(type, fields, lookup);
+            }
+
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            MethodHandle creator = lookup.unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+
+            return new ObjectInstantiator<>(type, Kind.CONSTRUCTOR, creator, null, null, null, nullValues, null);
+        } catch (NoSuchMethodException e) {
+            return ofBuilder(type, fields, lookup, nullValues, e);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new ObjectInstantiator<>(type, Kind.NONE, null, null, null, null, nullValues, e);
+        }
+    }
+
+    /**
+     * Check if fields are buffered and passed to {@link #newInstance(Object[])}
+     *
+     * @return true for records and builders, false when object is created before its fields are set
+     */
+    public boolean isBuffered() {
+        return kind == Kind.RECORD || kind == Kind.BUILDER;
+    }
+
+    /**
+     * Create object by no-arg constructor
+     *
+     * @return new object
+     * @throws JSONParserException when class has no no-arg constructor or constructor throws
+     */
+    public T newInstance() throws JSONParserException {
+
+        if (kind != Kind.CONSTRUCTOR) {
+            throw instantiationError(kind == Kind.NONE ? failure : null);
+        }
+
+        try {
+            return type.cast(creator.invokeExact());
+        } catch (Throwable e) {
+            throw instantiationError(e);
+        }
+    }
+
+    /**
+     * Create buffer of field values
+     *
+     * @return values by field index, primitive fields of record are zeros, other fields are nulls
+     */
+    public Object[] newValues() {
+        return defaultValues.clone();
+    }
+
+    /**
+     * Create object of buffered field values. Builder methods are called only for not null values,
+     * so builder defaults are kept for absent fields and fields without builder method
+     *
+     * @param values field values by field index
+     * @return new object
+     * @throws JSONParserException when class is created by no-arg constructor or can't be instantiated
+     */
+    public T newInstance(Object[] values) throws JSONParserException {
+
+        try {
+            return switch (kind) {
+                case RECORD -> type.cast(creator.invokeExact(arguments(values)));
+                case BUILDER -> type.cast(build(values));
+                case CONSTRUCTOR -> throw new JSONParserException(String.format(VALUES_ERROR, type));
+                case NONE -> throw instantiationError(failure);
+            };
+        } catch (JSONParserException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw instantiationError(e);
+        }
+    }
+
+    private Object[] arguments(Object[] values) {
+
+        if (argumentFields == null) {
+            return values;
+        }
+
+        Object[] arguments = new Object[argumentFields.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = values[argumentFields[i]];
+        }
+
+        return arguments;
+    }
+
+    private Object build(Object[] values) throws Throwable {
+
+        Object builder = creator.invokeExact();
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && builderMethods[i] != null) {
+                builderMethods[i].invokeExact(builder, values[i]);
+            }
+        }
+
+        return buildMethod.invokeExact(builder);
+    }
+
+    private JSONParserException instantiationError(Throwable cause) {
+        return new JSONParserException(String.format(INSTANTIATION_ERROR, type), cause);
+    }
+
+    private static <T> ObjectInstantiator<T> ofRecord(Class<T> type, List<FieldPlan> fields,
+                                                      MethodHandles.Lookup lookup)
+            throws ReflectiveOperationException {
+
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        int[] argumentFields = new int[components.length];
+        boolean ordered = components.length == fields.size();
+
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            argumentFields[i] = indexOf(fields, components[i].getName());
+
+            if (argumentFields[i] < 0) {
+                throw new NoSuchFieldException(components[i].getName());
+            }
+
+            ordered &= argumentFields[i] == i;
+        }
+
+        Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+        constructor.setAccessible(true);
+
+        MethodHandle creator = lookup.unreflectConstructor(constructor)
+                .asType(MethodType.methodType(Object.class, parameterTypes))
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        Object[] defaultValues = new Object[fields.size()];
+
+        for (FieldPlan fieldPlan : fields) {
+            if (fieldPlan.isPrimitive()) {
+                defaultValues[fieldPlan.getIndex()] = Array.get(Array.newInstance(fieldPlan.getType(), 1), 0);
+            }
+        }
+
+        return new ObjectInstantiator<>(type, Kind.RECORD, creator, null, null, ordered ? null : argumentFields,
+                defaultValues, null);
+    }
+
+    private static <T> ObjectInstantiator<T> ofBuilder(Class<T> type, List<FieldPlan> fields,
+                                                       MethodHandles.Lookup lookup, Object[] nullValues,
+                                                       NoSuchMethodException noConstructor) {
+        try {
+            Method builderMethod = type.getDeclaredMethod(BUILDER_METHOD);
+
+            if (!Modifier.isStatic(builderMethod.getModifiers())) {
+                throw noConstructor;
+            }
+
+            Class<?> builderType = builderMethod.getReturnType();
+            Method buildMethod = builderType.getDeclaredMethod(BUILD_METHOD);
+
+            if (!type.isAssignableFrom(buildMethod.getReturnType())) {
+                throw noConstructor;
+            }
+
+            MethodHandle[] builderMethods = new MethodHandle[fields.size()];
+
+            for (FieldPlan fieldPlan : fields) {
+                Method fieldMethod = findBuilderMethod(builderType, fieldPlan);
+
+                if (fieldMethod == null) {
+                    continue;
+                }
+
+                fieldMethod.setAccessible(true);
+
+                builderMethods[fieldPlan.getIndex()] = lookup.unreflect(fieldMethod)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+
+            builderMethod.setAccessible(true);
+            buildMethod.setAccessible(true);
+
+            MethodHandle creator = lookup.unreflect(builderMethod)
+                    .asType(MethodType.methodType(Object.class));
+            MethodHandle build = lookup.unreflect(buildMethod)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+
+            return new ObjectInstantiator<>(type, Kind.BUILDER, creator, builderMethods, build, null, nullValues,
+                    null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new ObjectInstantiator<>(type, Kind.NONE, null, null, null, null, nullValues, e);
+        }
+    }
+
+    /**
+     * Find builder method of field named as field, e.g. name(String), or as its setter, e.g. setName(String)
+     *
+     * @return builder method or null when builder has no method of field
+     */
+    private static Method findBuilderMethod(Class<?> builderType, FieldPlan fieldPlan) {
+
+        String name = fieldPlan.getName();
+        String setterName = SETTER_PREFIX + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        try {
+            return builderType.getDeclaredMethod(name, fieldPlan.getType());
+        } catch (NoSuchMethodException e) {
+            try {
+                return builderType.getDeclaredMethod(setterName, fieldPlan.getType());
+            } catch (NoSuchMethodException noSetter) {
+                return null;
+            }
+        }
+    }
+
+    private static int indexOf(List<FieldPlan> fields, String name) {
+
+        for (FieldPlan fieldPlan : fields) {
+            if (fieldPlan.getName().equals(name)) {
+                return fieldPlan.getIndex();
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.clevertec.knyazev.jsonparser.plan;
+
+/**
+ * Represents type of simple value. Primitive type and its wrapper have the same simple type.
+ */
+public enum SimpleType {
+
+    BOOLEAN,
+    BYTE,
+    SHORT,
+    CHAR,
+    INT,
+    LONG,
+    FLOAT,
+    DOUBLE,
+    STRING,
+    NONE;
+
+    /**
+     * Determine simple type of given class
+     *
+     * @param clazz input class
+     * @return simple type of primitive, wrapper or String class, otherwise - NONE
+     */
+    public static SimpleType of(Class<?> clazz) {
+
+        if (clazz == boolean.class || clazz == Boolean.class) {
+            return BOOLEAN;
+        } else if (clazz == byte.class || clazz == Byte.class) {
+            return BYTE;
+        } else if (clazz == short.class || clazz == Short.class) {
+            return SHORT;
+        } else if (clazz == char.class || clazz == Character.class) {
+            return CHAR;
+        } else if (clazz == int.class || clazz == Integer.class) {
+            return INT;
+        } else if (clazz == long.class || clazz == Long.class) {
+            return LONG;
+        } else if (clazz == float.class || clazz == Float.class) {
+            return FLOAT;
+        } else if (clazz == double.class || clazz == Double.class) {
+            return DOUBLE;
+        } else if (clazz == String.class) {
+            return STRING;
+        }
+
+        return NONE;
+    }
+}
@@ -0,0 +1,318 @@
+package ru.clevertec.knyazev.jsonparser.plan;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Represents immutable description of value type used for formatting JSON values to objects.
+ * Generic type arguments are resolved once: plan of array or collection contains plan of
+ * its elements, plan of map contains plans of its keys and values. Plans of classes are
+ * stored in {@link ClassValue}, plans of generic field types are stored in {@link FieldPlan}.
+ * <p>
+ * Example: plan of Map&lt;Integer, Car&gt; has MAP category, key plan of Integer, element plan
+ * of Car and creates LinkedHashMap with capacity for given quantity of entries.
+ */
+@Getter
+public final class TypePlan {
+
+    private static final String CONTAINER_ERROR = "Error. Can't create container of %s";
+    private static final String TYPE_ERROR = "Error. Unsupported type %s";
+
+    /**
+     * JDK containers which are known to support clear() and adding of elements after it
+     */
+    private static final Set<Class<?>> MUTABLE_CONTAINERS = Set.of(ArrayList.class, LinkedList.class,
+            ArrayDeque.class, HashSet.class, LinkedHashSet.class, TreeSet.class, HashMap.class, LinkedHashMap.class,
+            TreeMap.class, ConcurrentHashMap.class);
+
+    private static final ClassValue<TypePlan> CLASS_TYPE_PLANS = new ClassValue<>() {
+        @Override
+        protected TypePlan computeValue(Class<?> type) {
+            return new TypePlan(type);
+        }
+    };
+
+    private final Type genericType;
+
+    private final Class<?> type;
+
+    private final FieldCategory category;
+
+    private final SimpleType simpleType;
+
+    private final boolean primitive;
+
+    /**
+     * Plan of array component, collection element or map value, null for other categories
+     */
+    private final TypePlan elementPlan;
+
+    /**
+     * Plan of map key, null for other categories
+     */
+    private final TypePlan keyPlan;
+
+    /**
+     * Factory of collection or map for given quantity of elements
+     */
+    @Getter(AccessLevel.NONE)
+    private final IntFunction<Object> containerFactory;
+
+    private TypePlan(Type genericType) {
+        this.genericType = genericType;
+        this.type = rawType(genericType);
+        this.category = FieldCategory.of(type);
+        this.simpleType = SimpleType.of(type);
+        this.primitive = type.isPrimitive();
+
+        switch (category) {
+            case ARRAY -> {
+                Class<?> componentType = type.getComponentType();
+
+                this.elementPlan = of(genericType instanceof GenericArrayType arrayType
+                        ? arrayType.getGenericComponentType()
+                        : componentType);
+                this.keyPlan = null;
+                this.containerFactory = size -> Array.newInstance(componentType, size);
+            }
+            case COLLECTION -> {
+                this.elementPlan = of(resolveTypeArgument(genericType, Collection.class, 0));
+                this.keyPlan = null;
+                this.containerFactory = collectionFactory(type);
+            }
+            case MAP -> {
+                this.elementPlan = of(resolveTypeArgument(genericType, Map.class, 1));
+                this.keyPlan = of(resolveTypeArgument(genericType, Map.class, 0));
+                this.containerFactory = mapFactory(type);
+            }
+            default -> {
+                this.elementPlan = null;
+                this.keyPlan = null;
+                this.containerFactory = null;
+            }
+        }
+    }
+
+    /**
+     * Get plan of given type
+     *
+     * @param type class or generic type
+     * @return type plan, plan of class is computed once per class
+     * @throws JSONParserException when type can't be resolved to class
+     */
+    public static TypePlan of(Type type) throws JSONParserException {
+
+        if (type instanceof Class<?> clazz) {
+            return CLASS_TYPE_PLANS.get(clazz);
+        }
+
+        return new TypePlan(type);
+    }
+
+    /**
+     * Create array, collection or map for given quantity of elements. Hash based containers
+     * are created with capacity which holds all elements without rehashing
+     *
+     * @param size quantity of elements
+     * @param <C>  container type
+     * @return new empty container, array of given length
+     * @throws JSONParserException when planned type is not container or can't be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public <C> C newContainer(int size) throws JSONParserException {
+
+        if (containerFactory == null) {
+            throw new JSONParserException(String.format(CONTAINER_ERROR, genericType));
+        }
+
+        return (C) containerFactory.apply(size);
+    }
+
+    /**
+     * Check if existing collection or map can be cleared and filled again instead of creating new one.
+     * Only known mutable JDK containers and containers of planned class are reused, e.g. result of
+     * Collections.emptyList() is cleared without exception but throws on adding, so it isn't reused
+     *
+     * @param container existing collection or map
+     * @return true when container is mutable
+     */
+    public boolean isReusable(Object container) {
+
+        Class<?> containerType = container.getClass();
+
+        return MUTABLE_CONTAINERS.contains(containerType) || containerType == type;
+    }
+
+    private static IntFunction<Object> collectionFactory(Class<?> type) {
+
+        if (type == ArrayList.class || type.isAssignableFrom(ArrayList.class)) {
+            return ArrayList::new;
+        } else if (type == HashSet.class) {
+            return size -> new HashSet<>(hashCapacity(size));
+        } else if (type == LinkedHashSet.class || type.isAssignableFrom(LinkedHashSet.class)) {
+            return size -> new LinkedHashSet<>(hashCapacity(size));
+        } else if (type == ArrayDeque.class || type.isAssignableFrom(ArrayDeque.class)) {
+            return ArrayDeque::new;
+        } else if (type.isAssignableFrom(TreeSet.class)) {
+            return size -> new TreeSet<>();
+        }
+
+        return constructorFactory(type);
+    }
+
+    private static IntFunction<Object> mapFactory(Class<?> type) {
+
+        if (type == HashMap.class) {
+            return size -> new HashMap<>(hashCapacity(size));
+        } else if (type == LinkedHashMap.class || type.isAssignableFrom(LinkedHashMap.class)) {
+            return size -> new LinkedHashMap<>(hashCapacity(size));
+        } else if (type == ConcurrentHashMap.class || type.isAssignableFrom(ConcurrentHashMap.class)) {
+            return ConcurrentHashMap::new;
+        } else if (type.isAssignableFrom(TreeMap.class)) {
+            return size -> new TreeMap<>();
+        }
+
+        return constructorFactory(type);
+    }
+
+    /**
+     * Get factory which creates containers of given class by its public no-arg constructor,
+     * or factory which throws exception when class can't be instantiated
+     */
+    private static IntFunction<Object> constructorFactory(Class<?> type) {
+
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return size -> {
+                throw new JSONParserException(String.format(CONTAINER_ERROR, type));
+            };
+        }
+
+        MethodHandle constructor;
+
+        try {
+            constructor = MethodHandles.publicLookup()
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return size -> {
+                throw new JSONParserException(String.format(CONTAINER_ERROR, type), e);
+            };
+        }
+
+        return size -> {
+            try {
+                return constructor.invokeExact();
+            } catch (Throwable e) {
+                throw new JSONParserException(String.format(CONTAINER_ERROR, type), e);
+            }
+        };
+    }
+
+    /**
+     * Capacity of hash based container which holds given quantity of elements without rehashing
+     * by default load factor 0.75
+     */
+    private static int hashCapacity(int size) {
+        return (int) Math.min((long) size * 4 / 3 + 1, Integer.MAX_VALUE);
+    }
+
+    private static Class<?> rawType(Type type) throws JSONParserException {
+
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        } else if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>) parameterizedType.getRawType();
+        } else if (type instanceof GenericArrayType arrayType) {
+            return rawType(arrayType.getGenericComponentType()).arrayType();
+        } else if (type instanceof WildcardType wildcardType) {
+            return rawType(wildcardType.getUpperBounds()[0]);
+        } else if (type instanceof TypeVariable<?> typeVariable) {
+            return rawType(typeVariable.getBounds()[0]);
+        }
+
+        throw new JSONParserException(String.format(TYPE_ERROR, type));
+    }
+
+    /**
+     * Resolve type argument of generic supertype for given type
+     * <p>
+     * Example: for ArrayList&lt;String&gt; argument 0 of Collection is String,
+     * for class Cars extends HashMap&lt;Integer, Car&gt; argument 1 of Map is Car
+     *
+     * @param type      type extending target
+     * @param target    generic supertype
+     * @param index     index of target type parameter
+     * @return resolved type argument or Object when argument isn't known, e.g. for raw types
+     */
+    private static Type resolveTypeArgument(Type type, Class<?> target, int index) {
+
+        Class<?> clazz = rawType(type);
+
+        if (clazz == target) {
+            return type instanceof ParameterizedType parameterizedType
+                    ? parameterizedType.getActualTypeArguments()[index]
+                    : Object.class;
+        }
+
+        Type superType = null;
+
+        for (Type genericInterface : clazz.getGenericInterfaces()) {
+            if (target.isAssignableFrom(rawType(genericInterface))) {
+                superType = genericInterface;
+                break;
+            }
+        }
+
+        if (superType == null && clazz.getGenericSuperclass() != null &&
+                target.isAssignableFrom(rawType(clazz.getGenericSuperclass()))) {
+            superType = clazz.getGenericSuperclass();
+        }
+
+        if (superType == null) {
+            return Object.class;
+        }
+
+        Type argument = resolveTypeArgument(superType, target, index);
+
+        if (argument instanceof TypeVariable<?> typeVariable) {
+
+            TypeVariable<?>[] typeParameters = clazz.getTypeParameters();
+
+            for (int i = 0; i < typeParameters.length; i++) {
+                if (typeParameters[i].equals(typeVariable)) {
+                    return type instanceof ParameterizedType parameterizedType
+                            ? parameterizedType.getActualTypeArguments()[i]
+                            : typeVariable;
+                }
+            }
+        }
+
+        return argument;
+    }
+}
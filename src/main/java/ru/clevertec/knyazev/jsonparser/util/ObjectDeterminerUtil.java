@@ -1,75 +1,23 @@
 package ru.clevertec.knyazev.jsonparser.util;
 
+import ru.clevertec.knyazev.jsonparser.accessor.FieldAccessor;
 import ru.clevertec.knyazev.jsonparser.converter.Converter;
 import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.plan.FieldPlan;
+import ru.clevertec.knyazev.jsonparser.plan.SimpleType;
 
-import java.lang.reflect.Array;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.function.Predicate;
 
 /**
- * Represents reflection methods for determination classes, class fields, instantiation class
- * objects and etc
+ * Represents reflection methods for determination classes, class fields, setting field values
+ * and etc. Objects are instantiated by {@link ru.clevertec.knyazev.jsonparser.plan.ObjectInstantiator}
  *
  */
 public interface ObjectDeterminerUtil {
 
-    String OBJECT_INSTANTIATION_ERROR = "Error. Can't instantiate object from class constructor";
-
-    /**
-     * Create instance of new T object using its class
-     *
-     * @param objClass object class
-     * @param <T>      object type
-     * @return new instance of T object
-     * @throws JSONParserException when instantiation error
-     */
-    default <T> T instantiateObject(Class<T> objClass) throws JSONParserException {
-        T objInstance;
-
-        if (objClass == null) {
-            throw new JSONParserException(OBJECT_INSTANTIATION_ERROR);
-        }
-
-        try {
-            objInstance = objClass.getConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException |
-                 InvocationTargetException | NoSuchMethodException e) {
-            throw new JSONParserException(OBJECT_INSTANTIATION_ERROR, e);
-        }
-
-        return objInstance;
-    }
-
-    /**
-     *
-     * Create instance of new T array using its class
-     *
-     * @param arrayClass array class
-     * @param <T> object type
-     * @return new instance of T array
-     * @throws JSONParserException when instantiation error
-     */
-    @SuppressWarnings("unchecked")
-    default <T> T instantiateArray(Class<T> arrayClass, int arrayLength) throws JSONParserException {
-
-
-        T arrayInstance;
-
-        if (arrayClass == null || arrayLength < 1) {
-            throw new JSONParserException(OBJECT_INSTANTIATION_ERROR);
-        }
-
-        try {
-            arrayInstance = (T) Array.newInstance(arrayClass, arrayLength);
-        } catch (IllegalArgumentException e) {
-            throw new JSONParserException(OBJECT_INSTANTIATION_ERROR, e);
-        }
-
-        return arrayInstance;
-    }
+    String SIMPLE_TYPE_ERROR = "Error. Unsupported simple type %s";
 
     /**
      *
@@ -117,112 +65,74 @@ public interface ObjectDeterminerUtil {
 
     /**
      *
-     * Set simple object field using given field value
+     * Set simple object field using given field value. Primitive field is set without
+     * boxing, null value is skipped for primitive field
      *
      * @param object object to set simple field value
-     * @param field object field
+     * @param fieldPlan plan of object field
      * @param fieldValue value to set on field
      * @param <T> object type
      * @throws JSONParserException if field not accessible
      */
-    default <T, U> void setSimpleObjectField(T object, Field field, String fieldValue) throws JSONParserException {
+    default <T> void setSimpleObjectField(T object, FieldPlan fieldPlan, String fieldValue) throws JSONParserException {
 
-        field.setAccessible(true);
+        FieldAccessor accessor = fieldPlan.getAccessor();
 
-        try {
-            U determinedFieldTypeValue = determineSimpleFieldTypeValue(field.getType(), fieldValue);
-            field.set(object, determinedFieldTypeValue);
+        if (!fieldPlan.isPrimitive()) {
+            accessor.set(object, fieldValue == null
+                    ? null
+                    : determineSimpleFieldTypeValue(fieldPlan.getType(), fieldValue));
+            return;
+        }
 
-        } catch (IllegalAccessException e) {
-            throw new JSONParserException(e);
+        if (fieldValue == null) {
+            return;
+        }
+
+        switch (fieldPlan.getSimpleType()) {
+            case BOOLEAN -> accessor.setBoolean(object, Converter.convertToBooleanValue(fieldValue));
+            case BYTE -> accessor.setByte(object, Converter.convertToByteValue(fieldValue));
+            case SHORT -> accessor.setShort(object, Converter.convertToShortValue(fieldValue));
+            case CHAR -> accessor.setChar(object, Converter.convertToCharValue(fieldValue));
+            case INT -> accessor.setInt(object, Converter.convertToIntValue(fieldValue));
+            case LONG -> accessor.setLong(object, Converter.convertToLongValue(fieldValue));
+            case FLOAT -> accessor.setFloat(object, Converter.convertToFloatValue(fieldValue));
+            case DOUBLE -> accessor.setDouble(object, Converter.convertToDoubleValue(fieldValue));
+            default -> throw new JSONParserException(String.format(SIMPLE_TYPE_ERROR, fieldPlan.getType()));
         }
     }
 
     /**
      *
-     * Set simple array field values to object
+     * Convert simple value to object of given wrapper or String class. Type dispatch is
+     * decided by simple type of the class
      *
-     * @param object object to set simple array field value
-     * @param field array field
-     * @param fieldValues values to set on array field
-     * @param <T> object type
-     * @param <U> array type
-     * @throws JSONParserException if field not accessible
+     * @param fieldClass wrapper, String or other not primitive class
+     * @param fieldValue simple value
+     * @return converted value or null when value can't be converted
      */
-    @SuppressWarnings("unchecked")
-    default <T, U> void setSimpleArrayField(T object, Field field, List<String> fieldValues) {
-
-        field.setAccessible(true);
-
-        U array = (U) instantiateArray(field.getType().getComponentType(), fieldValues.size());
-
-        for (int i = 0; i < fieldValues.size(); i++) {
-            Array.set(array, i, determineSimpleFieldTypeValue(field.getType().getComponentType(), fieldValues.get(i)));
-        }
-
-        try {
-            field.set(object, array);
-        } catch (IllegalAccessException e) {
-            throw new JSONParserException(e);
-        }
-
-    }
-
-    @SuppressWarnings("unchecked")
-    private <T, U> U determineSimpleFieldTypeValue(Class<T> fieldClass, String fieldValue) {
-
-        U value = null;
-
-        if (fieldClass.isAssignableFrom(boolean.class) || fieldClass.isAssignableFrom(Boolean.class)) {
-            value = (U) Converter.convertToBoolean(fieldValue);
-        }
-        if (fieldClass.isAssignableFrom(byte.class) || fieldClass.isAssignableFrom(Byte.class)) {
-            value = (U) Converter.convertToByte(fieldValue);
-            if (fieldClass.isAssignableFrom(byte.class)) {
-                value = (value == null) ? (U) Byte.valueOf("0") : value;
-            }
-        }
-        if (fieldClass.isAssignableFrom(short.class) || fieldClass.isAssignableFrom( Short.class)) {
-            value = (U) Converter.convertToShort(fieldValue);
-            if (fieldClass.isAssignableFrom(short.class)) {
-                value = (value == null) ? (U) Short.valueOf("0") : value;
-            }
-        }
-        if (fieldClass.isAssignableFrom(int.class) || fieldClass.isAssignableFrom(Integer.class)) {
-            value = (U) Converter.convertToInteger(fieldValue);
-            if (fieldClass.isAssignableFrom(int.class)) {
-                value = (value == null) ? (U) Integer.valueOf("0") : value;
-            }
-        }
-        if (fieldClass.isAssignableFrom(long.class) || fieldClass.isAssignableFrom(Long.class)) {
-            value = (U) Converter.convertToLong(fieldValue);
-            if (fieldClass.isAssignableFrom(long.class)) {
-                value = (value == null) ? (U) Long.valueOf("0L") : value;
-            }
-        }
-        if (fieldClass.isAssignableFrom(float.class) || fieldClass.isAssignableFrom(Float.class)) {
-            value = (U) Converter.convertToFloat(fieldValue);
-            if (fieldClass.isAssignableFrom(float.class)) {
-                value = (value == null) ? (U) Float.valueOf("0F") : value;
+    private Object determineSimpleFieldTypeValue(Class<?> fieldClass, String fieldValue) {
+
+        return switch (SimpleType.of(fieldClass)) {
+            case BOOLEAN -> Converter.convertToBoolean(fieldValue);
+            case BYTE -> Converter.convertToByte(fieldValue);
+            case SHORT -> Converter.convertToShort(fieldValue);
+            case CHAR -> Converter.convertToCharacter(fieldValue);
+            case INT -> Converter.convertToInteger(fieldValue);
+            case LONG -> Converter.convertToLong(fieldValue);
+            case FLOAT -> Converter.convertToFloat(fieldValue);
+            case DOUBLE -> Converter.convertToDouble(fieldValue);
+            case STRING -> fieldValue;
+            case NONE -> {
+                if (fieldClass.isAssignableFrom(String.class)) {
+                    yield fieldValue;
+                }
+
+                yield fieldClass.isAssignableFrom(Double.class)
+                        ? Converter.convertToDouble(fieldValue)
+                        : null;
             }
-        }
-        if (fieldClass.isAssignableFrom(double.class) || fieldClass.isAssignableFrom(Double.class)) {
-            value = (U) Converter.convertToDouble(fieldValue);
-            if (fieldClass.isAssignableFrom(double.class)) {
-                value = (value == null) ? (U) Double.valueOf("0d") : value;
-            }
-        }
-        if (fieldClass.isAssignableFrom( char.class) || fieldClass.isAssignableFrom(Character.class)) {
-            value = (U) Converter.convertToCharacter(fieldValue);
-            if (fieldClass.isAssignableFrom(char.class)) {
-                value = (value == null) ? (U) Character.valueOf('\u0000') : value;
-            }
-        }
-        if (fieldClass.isAssignableFrom(String.class)) {
-            value = (U) fieldValue.substring(1, fieldValue.length() - 1);
-        }
-
-        return value;
+        };
     }
 
     /**
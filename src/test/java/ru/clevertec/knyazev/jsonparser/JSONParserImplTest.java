@@ -1,21 +1,66 @@
 package ru.clevertec.knyazev.jsonparser;
 
 import com.google.gson.Gson;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.clevertec.knyazev.jsonparser.codec.CodecProvider;
+import ru.clevertec.knyazev.jsonparser.codec.HiddenClassCodecProvider;
+import ru.clevertec.knyazev.jsonparser.codec.ServiceLoaderCodecProvider;
+import ru.clevertec.knyazev.jsonparser.exception.JSONParserException;
+import ru.clevertec.knyazev.jsonparser.event.DeserializationEvent;
+import ru.clevertec.knyazev.jsonparser.event.SerializationEvent;
+import ru.clevertec.knyazev.jsonparser.formatter.CodecJSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.formatter.CodecObjectToJSONFormatter;
 import ru.clevertec.knyazev.jsonparser.formatter.JSONToObjectFormatter;
 import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatter;
 import ru.clevertec.knyazev.jsonparser.formatter.ObjectToJSONFormatterImpl;
+import ru.clevertec.knyazev.jsonparser.formatter.PushJSONToObjectFormatter;
+import ru.clevertec.knyazev.jsonparser.json.JSONDocument;
+import ru.clevertec.knyazev.jsonparser.json.JSONKeyTable;
+import ru.clevertec.knyazev.jsonparser.metrics.ClassMetricsSnapshot;
+import ru.clevertec.knyazev.jsonparser.metrics.JSONParserMetrics;
+import ru.clevertec.knyazev.jsonparser.plan.ClassPlan;
 import ru.clevertec.knyazev.jsonparser.util.*;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.Serial;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JSONParserImplTest {
 
@@ -200,6 +245,104 @@ public class JSONParserImplTest {
         assertThat(actualJson).isEqualTo(expectedJson);
     }
 
+    @Test
+    public void checkToJsonShouldReturnJSONStringWithSuperclassFields() {
+        Passenger passenger = new Passenger("Anna", "Vera", 27, false, 1, "12A");
+
+        String expectedJson = gson.toJson(passenger);
+        String actualJson = jsonParserImpl.toJSON(passenger);
+
+        assertThat(actualJson).isEqualTo(expectedJson);
+    }
+
+    @Test
+    public void checkToJsonShouldReturnJSONStringWithNumbers() {
+        List<Telemetry> telemetries = List.of(Telemetry.builder()
+                        .sensor("t-1")
+                        .timestamp(Long.MIN_VALUE)
+                        .value(-1.2345678901234567E-250)
+                        .ratio(3.4028235E38F)
+                        .level(Byte.MIN_VALUE)
+                        .channel(Short.MAX_VALUE)
+                        .unit('C')
+                        .average(0.1 + 0.2)
+                        .counter(Long.MAX_VALUE)
+                        .build(),
+                Telemetry.builder()
+                        .sensor("t-2")
+                        .timestamp(1_700_000_000_000L)
+                        .value(1.0E7)
+                        .ratio(1.0E-3F)
+                        .average(Double.MIN_VALUE)
+                        .counter(0L)
+                        .build(),
+                Telemetry.builder()
+                        .value(-0.0)
+                        .ratio(Float.MIN_VALUE)
+                        .average(9999999.999)
+                        .build());
+
+        String expectedJson = gson.toJson(telemetries);
+        String actualJson = jsonParserImpl.toJSON(telemetries);
+
+        assertThat(actualJson).isEqualTo(expectedJson);
+    }
+
+    @Test
+    public void checkToJsonShouldWriteJSONIntoOutputStreamOnCollection() {
+        List<Human> humans = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            humans.add(Human.builder()
+                    .name("Human " + i)
+                    .family("Family \"" + i + "\"")
+                    .age(i)
+                    .isGod(i % 2 == 0)
+                    .childrenQuantity(i % 3 == 0 ? null : i % 3)
+                    .build());
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        String expectedJson = gson.toJson(humans);
+        jsonParserImpl.toJSON(humans, outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(expectedJson);
+    }
+
+    @Test
+    public void checkToJsonBytesShouldReturnUTF8JSON() {
+        Family family = Family.builder()
+                .name("Стандарт \uD83D\uDE00")
+                .ageTogether(15)
+                .man(Human.builder()
+                        .name("Мико")
+                        .family("Ветер")
+                        .age(45)
+                        .childrenQuantity(3)
+                        .build())
+                .woman(Human.builder()
+                        .name("Margo \"Žana\"")
+                        .family("Ветер")
+                        .age(37)
+                        .isGod(true)
+                        .build())
+                .build();
+
+        byte[] expectedJson = gson.toJson(family).getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer expectedBuffer = ByteBuffer.allocate(expectedJson.length * 2)
+                .put(expectedJson)
+                .put(expectedJson);
+
+        ByteBuffer actualBuffer = ByteBuffer.allocate(expectedJson.length * 2);
+        jsonParserImpl.toJSON(family, actualBuffer);
+        jsonParserImpl.toJSON(family, actualBuffer);
+
+        assertThat(jsonParserImpl.toJSONBytes(family)).isEqualTo(expectedJson);
+        assertThat(actualBuffer.flip()).isEqualTo(expectedBuffer.flip());
+    }
+
     @Test
     public void checkToJsonShouldReturnEmptyJSONStringWhenGivingNull() {
 
@@ -249,7 +392,194 @@ public class JSONParserImplTest {
     }
 
     @Test
-    @Disabled
+    public void checkToObjectShouldReturnObjectWhenKeysReorderedAndUnknown() {
+
+        Human expectedHuman = Human.builder()
+                .name("Zafar \"Khan\"")
+                .family("Khalid")
+                .age(29)
+                .isGod(false)
+                .childrenQuantity(null)
+                .build();
+
+        String json = """
+                {
+                  "unknown" : {"nested": [1, {"a": "}"}]},
+                  "age" : 29,
+                  "family" : "Khalid",
+                  "childrenQuantity" : null,
+                  "name" : "Zafar \\"Khan\\"",
+                  "isGod" : false
+                }
+                """;
+
+        Human actualHuman = jsonParserImpl.toObject(Human.class, json);
+
+        assertThat(actualHuman).isEqualTo(expectedHuman);
+    }
+
+    @Test
+    public void checkToObjectShouldReturnObjectWithNumbers() {
+        Telemetry expectedTelemetry = Telemetry.builder()
+                .sensor("t-1")
+                .timestamp(Long.MIN_VALUE)
+                .value(-1.2345678901234567E-250)
+                .ratio(3.4028235E38F)
+                .level(Byte.MIN_VALUE)
+                .channel(Short.MAX_VALUE)
+                .unit('C')
+                .average(0.1)
+                .counter(Long.MAX_VALUE)
+                .build();
+
+        String json = gson.toJson(expectedTelemetry);
+
+        Telemetry actualTelemetry = jsonParserImpl.toObject(Telemetry.class, json);
+
+        assertThat(actualTelemetry).isEqualTo(expectedTelemetry);
+    }
+
+    @Test
+    public void checkToObjectShouldReturnObjectWithSuperclassFields() {
+        Passenger expectedPassenger = new Passenger("Anna", "Vera", 27, true, null, "12A");
+
+        String json = gson.toJson(expectedPassenger);
+
+        Passenger actualPassenger = jsonParserImpl.toObject(Passenger.class, json);
+
+        assertThat(gson.toJson(actualPassenger)).isEqualTo(json);
+    }
+
+    @Test
+    public void checkToJsonWithCodecsShouldReturnJSONStringOnCompositeObjectWithMap() {
+        CodecProvider codecProvider = new HiddenClassCodecProvider();
+        JSONParser codecJsonParser = new JSONParserImpl(new CodecObjectToJSONFormatter(codecProvider),
+                new CodecJSONToObjectFormatter(codecProvider));
+
+        Human[][] passengers = {{Human.builder()
+                .name("Manya \"Galya\"")
+                .family("Galya")
+                .age(27)
+                .isGod(true)
+                .childrenQuantity(null)
+                .build()}};
+
+        Dealer dealer = new Dealer.Builder()
+                .setName("Alex")
+                .setAge(34)
+                .setIsTop(true)
+                .setSellingHistory(new HashMap<>() {
+                    @Serial
+                    private static final long serialVersionUID = 2315807460329513216L;
+
+                    {
+                        put(1,
+                                Car.builder()
+                                        .producers(new String[]{"Alex Antonov", "Andre Bogomazov"})
+                                        .isExclusive(false)
+                                        .productionYear(1958)
+                                        .passengers(passengers)
+                                        .build());
+                    }})
+                .build();
+
+        String expectedJson = gson.toJson(dealer);
+        String actualJson = codecJsonParser.toJSON(dealer);
+
+        assertThat(codecProvider.getCodec(Human.class)).isNotNull();
+        assertThat(actualJson).isEqualTo(expectedJson);
+    }
+
+    @Test
+    public void checkToObjectWithCodecsShouldReturnObject() {
+        CodecProvider codecProvider = new HiddenClassCodecProvider();
+        JSONParser codecJsonParser = new JSONParserImpl(new CodecObjectToJSONFormatter(codecProvider),
+                new CodecJSONToObjectFormatter(codecProvider));
+
+        Family expectedFamily = Family.builder()
+                .name("Standard")
+                .ageTogether(15)
+                .man(Human.builder()
+                        .name("Miko")
+                        .family("Veter")
+                        .age(45)
+                        .isGod(false)
+                        .childrenQuantity(3)
+                        .build())
+                .woman(Human.builder()
+                        .name("Margo")
+                        .family(null)
+                        .age(37)
+                        .isGod(true)
+                        .childrenQuantity(2)
+                        .build())
+                .build();
+
+        String json = gson.toJson(expectedFamily);
+
+        Family actualFamily = codecJsonParser.toObject(Family.class, json);
+
+        assertThat(codecProvider.getCodec(Family.class).isReadable()).isTrue();
+        assertThat(actualFamily).isEqualTo(expectedFamily);
+        assertThat(codecJsonParser.toJSON(actualFamily)).isEqualTo(json);
+    }
+
+    @Test
+    public void checkToObjectWithGeneratedCodecsShouldReturnObject() {
+        CodecProvider codecProvider = new ServiceLoaderCodecProvider();
+        JSONParser codecJsonParser = new JSONParserImpl(codecProvider);
+
+        Family expectedFamily = Family.builder()
+                .name("Standard \"Family\"")
+                .ageTogether(15)
+                .man(Human.builder()
+                        .name("Miko")
+                        .family("Veter")
+                        .age(45)
+                        .isGod(false)
+                        .childrenQuantity(null)
+                        .build())
+                .woman(Human.builder()
+                        .name("Margo")
+                        .family("Veter")
+                        .age(37)
+                        .isGod(true)
+                        .childrenQuantity(2)
+                        .build())
+                .build();
+
+        String json = gson.toJson(expectedFamily);
+
+        Family actualFamily = codecJsonParser.toObject(Family.class, json);
+
+        assertThat(codecProvider.getCodec(Family.class)).isNotNull();
+        assertThat(codecProvider.getCodec(Human.class)).isNotNull();
+        assertThat(actualFamily).isEqualTo(expectedFamily);
+        assertThat(codecJsonParser.toJSON(actualFamily)).isEqualTo(json);
+    }
+
+    @Test
+    public void checkToObjectWithGeneratedCodecShouldReturnObjectWithClashingFieldNames() {
+        CodecProvider codecProvider = new ServiceLoaderCodecProvider();
+        JSONParser codecJsonParser = new JSONParserImpl(codecProvider);
+
+        Keyring expectedKeyring = Keyring.builder()
+                .owner("Miko")
+                .keys(List.of("front", "back"))
+                .isGod(true)
+                .is_god(false)
+                .build();
+
+        String json = gson.toJson(expectedKeyring);
+
+        Keyring actualKeyring = codecJsonParser.toObject(Keyring.class, json);
+
+        assertThat(codecProvider.getCodec(Keyring.class)).isNotNull();
+        assertThat(actualKeyring).isEqualTo(expectedKeyring);
+        assertThat(codecJsonParser.toJSON(actualKeyring)).isEqualTo(json);
+    }
+
+    @Test
     public void checkToObjectShouldReturnObjectWithArrays() {
 
         Human[][] passengers = {{Human.builder()
@@ -270,6 +600,844 @@ public class JSONParserImplTest {
         String json = gson.toJson(expectedCar);
 
         Car actualCar = jsonParserImpl.toObject(Car.class, json);
+
+        assertThat(actualCar).isEqualTo(expectedCar);
+    }
+
+    @Test
+    public void checkToObjectShouldReturnObjectWithMap() {
+        Map<Integer, Car> sellingHistory = new HashMap<>();
+
+        for (int i = 0; i < 20; i++) {
+            sellingHistory.put(i, Car.builder()
+                    .producers(new String[]{"Alex Antonov", "Paul Liney " + i})
+                    .isExclusive(i % 2 == 0)
+                    .productionYear(1958 + i)
+                    .passengers(new Human[][]{{Human.builder()
+                            .name("Manya " + i)
+                            .family("Galya")
+                            .age(27)
+                            .isGod(true)
+                            .build()}, {}})
+                    .build());
+        }
+
+        Dealer expectedDealer = new Dealer.Builder()
+                .setName("Alex")
+                .setAge(34)
+                .setIsTop(true)
+                .setSellingHistory(sellingHistory)
+                .build();
+
+        String json = gson.toJson(expectedDealer);
+
+        Dealer actualDealer = jsonParserImpl.toObject(Dealer.class, json);
+
+        assertThat(actualDealer).usingRecursiveComparison().isEqualTo(expectedDealer);
+    }
+
+    @Test
+    public void checkToObjectShouldReturnObjectWithCollections() {
+        ManPassport expectedManPassport = new ManPassport.Builder()
+                .setName("Sergo")
+                .setFamily("Alkin")
+                .setAddresses(List.of("Minsk, ul. Plehanova, 5, 125", "Gomel, ul. Lepeshinskogo, 12, 38"))
+                .setWives(List.of(Human.builder()
+                        .name("Galka")
+                        .family("Alkin")
+                        .childrenQuantity(3)
+                        .age(35)
+                        .build()))
+                .setChildrens(Set.of(Human.builder()
+                        .name("Anton")
+                        .family("Alkin")
+                        .build(), Human.builder()
+                        .name("Dasha")
+                        .family("Alkin")
+                        .build()))
+                .build();
+
+        String json = gson.toJson(expectedManPassport);
+
+        ManPassport actualManPassport = jsonParserImpl.toObject(ManPassport.class, json);
+
+        assertThat(actualManPassport).usingRecursiveComparison().isEqualTo(expectedManPassport);
+    }
+
+    @Test
+    public void checkToDocumentShouldReturnValuesOnDemand() {
+        Human secondWife = Human.builder()
+                .name("Ira")
+                .family("Alkina")
+                .age(29)
+                .build();
+
+        ManPassport manPassport = new ManPassport.Builder()
+                .setName("Sergo \"Big\"")
+                .setFamily("Alkin")
+                .setAddresses(List.of("Minsk, ul. Plehanova, 5, 125", "Gomel, ul. Lepeshinskogo, 12, 38"))
+                .setWives(List.of(Human.builder()
+                        .name("Galka")
+                        .family("Alkin")
+                        .childrenQuantity(3)
+                        .age(35)
+                        .isGod(true)
+                        .build(), secondWife))
+                .build();
+
+        String json = gson.toJson(manPassport);
+
+        JSONDocument document = jsonParserImpl.toDocument(json);
+
+        assertThat(document.get("name").asString()).isEqualTo("Sergo \"Big\"");
+        assertThat(document.get("addresses").size()).isEqualTo(2);
+        assertThat(document.get("addresses").get(1).asString()).isEqualTo("Gomel, ul. Lepeshinskogo, 12, 38");
+        assertThat(document.get("wives").get(0).get("age").asInt()).isEqualTo(35);
+        assertThat(document.get("wives").get(0).get("isGod").asBoolean()).isTrue();
+        assertThat(document.get("wives").get(1).get("family").asString()).isEqualTo("Alkina");
+        assertThat(document.get("wives").get(1).toString()).isEqualTo(gson.toJson(secondWife));
+        assertThat(document.get("wives").get(2)).isNull();
+        assertThat(document.get("childrens")).isNull();
+        assertThat(document.getRoot().size()).isEqualTo(4);
+    }
+
+    @Test
+    public void checkToObjectShouldReturnObjectFromUTF8File(@TempDir Path directory) throws IOException {
+        ManPassport expectedManPassport = new ManPassport.Builder()
+                .setName("Сергей \uD83D\uDE00")
+                .setFamily("Алкин <\"Big\">")
+                .setAddresses(List.of("Минск, ул. Плеханова, 5, 125", "Gomel, ul. Lepeshinskogo, 12, 38"))
+                .setWives(List.of(Human.builder()
+                        .name("Галка")
+                        .family("Алкина")
+                        .childrenQuantity(3)
+                        .age(35)
+                        .build()))
+                .setChildrens(Set.of())
+                .build();
+
+        Path jsonFile = directory.resolve("manPassport.json");
+        Files.writeString(jsonFile, gson.toJson(expectedManPassport), StandardCharsets.UTF_8);
+
+        ManPassport actualManPassport = jsonParserImpl.toObject(ManPassport.class, jsonFile);
+
+        assertThat(actualManPassport).usingRecursiveComparison().isEqualTo(expectedManPassport);
+    }
+
+    @Test
+    public void checkReadJSONLinesShouldReturnObjectsWrittenByWriteJSONLines(@TempDir Path directory) throws IOException {
+        List<Human> expectedHumans = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            expectedHumans.add(Human.builder()
+                    .name("Человек " + i)
+                    .family("Family \"" + i + "\"")
+                    .age(i)
+                    .isGod(i % 2 == 0)
+                    .childrenQuantity(i % 3 == 0 ? null : i % 3)
+                    .build());
+        }
+
+        Path jsonLinesFile = directory.resolve("humans.jsonl");
+        jsonParserImpl.writeJSONLines(expectedHumans.stream(), jsonLinesFile);
+
+        List<String> expectedLines = expectedHumans.stream()
+                .map(gson::toJson)
+                .toList();
+
+        List<Human> actualHumans;
+        List<Human> actualUnorderedHumans;
+
+        try (Stream<Human> humans = jsonParserImpl.readJSONLines(Human.class, jsonLinesFile, 4)) {
+            actualHumans = humans.toList();
+        }
+
+        try (Stream<Human> humans = jsonParserImpl.readJSONLines(Human.class, jsonLinesFile, 4, false)) {
+            actualUnorderedHumans = humans.toList();
+        }
+
+        assertThat(Files.readAllLines(jsonLinesFile, StandardCharsets.UTF_8)).isEqualTo(expectedLines);
+        assertThat(actualHumans).isEqualTo(expectedHumans);
+        assertThat(actualUnorderedHumans).containsExactlyInAnyOrderElementsOf(expectedHumans);
+    }
+
+    @Test
+    public void checkToListShouldReturnObjectsOfLargeArray(@TempDir Path directory) throws IOException {
+        List<Car> expectedCars = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            expectedCars.add(Car.builder()
+                    .producers(new String[]{"Alex \"],[{\" Antonov", "Пол Лайни " + i})
+                    .isExclusive(i % 2 == 0)
+                    .productionYear(1958 + i)
+                    .passengers(new Human[][]{{Human.builder()
+                            .name("Manya, " + i)
+                            .family("{Galya}")
+                            .age(27)
+                            .build()}, {}})
+                    .build());
+        }
+
+        String json = gson.toJson(expectedCars);
+
+        Path jsonFile = directory.resolve("cars.json");
+        Files.writeString(jsonFile, json, StandardCharsets.UTF_8);
+
+        assertThat(jsonParserImpl.toList(Car.class, json, 4)).isEqualTo(expectedCars);
+        assertThat(jsonParserImpl.toList(Car.class, jsonFile, 3)).isEqualTo(expectedCars);
+        assertThat(jsonParserImpl.toList(Car.class, " [ ] ", 2)).isEmpty();
+    }
+
+    @Test
+    public void checkToJsonShouldReturnJSONOfLargeContainersFormattedInParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            JSONParser parallelJSONParser = new JSONParserImpl(new ObjectToJSONFormatterImpl(100, pool),
+                    jsonToObjectFormatter);
+
+            List<Car> cars = new ArrayList<>();
+            Map<String, Car> carsByName = new HashMap<>();
+
+            for (int i = 0; i < 5000; i++) {
+                Car car = Car.builder()
+                        .producers(new String[]{"Alex \"Antonov\"", "Пол Лайни " + i})
+                        .isExclusive(i % 2 == 0)
+                        .productionYear(i % 5 == 0 ? null : 1958 + i)
+                        .passengers(new Human[][]{{Human.builder()
+                                .name("Manya \uD83D\uDE00 " + i)
+                                .family("Galya")
+                                .age(27)
+                                .build()}, {}})
+                        .build();
+
+                cars.add(car);
+                carsByName.put("car " + i, car);
+            }
+
+            Car[] carsArray = cars.toArray(new Car[0]);
+
+            assertThat(parallelJSONParser.toJSON(cars)).isEqualTo(gson.toJson(cars));
+            assertThat(parallelJSONParser.toJSON(carsArray)).isEqualTo(gson.toJson(carsArray));
+            assertThat(parallelJSONParser.toJSON(carsByName)).isEqualTo(gson.toJson(carsByName));
+            assertThat(new String(parallelJSONParser.toJSONBytes(new LinkedList<>(cars)), StandardCharsets.UTF_8))
+                    .isEqualTo(gson.toJson(cars));
+            assertThat(new String(parallelJSONParser.toJSONBytes(carsByName), StandardCharsets.UTF_8))
+                    .isEqualTo(gson.toJson(carsByName));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void checkToJsonAsyncAndBatchShouldReturnJSONsOfEveryObject() {
+        List<Human> expectedHumans = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            expectedHumans.add(Human.builder()
+                    .name("Тимур " + i)
+                    .family("Family \"" + i + "\"")
+                    .age(i)
+                    .isGod(i % 2 == 0)
+                    .childrenQuantity(i % 3 == 0 ? null : i % 3)
+                    .build());
+        }
+
+        List<String> expectedJSONs = expectedHumans.stream()
+                .map(gson::toJson)
+                .toList();
+
+        List<CompletableFuture<String>> jsonFutures = expectedHumans.stream()
+                .map(jsonParserImpl::toJSONAsync)
+                .toList();
+
+        List<CompletableFuture<Human>> humanFutures = expectedJSONs.stream()
+                .map(json -> jsonParserImpl.toObjectAsync(Human.class, json))
+                .toList();
+
+        assertThat(jsonFutures.stream().map(CompletableFuture::join).toList()).isEqualTo(expectedJSONs);
+        assertThat(humanFutures.stream().map(CompletableFuture::join).toList()).isEqualTo(expectedHumans);
+        assertThat(jsonParserImpl.toJSONs(expectedHumans)).isEqualTo(expectedJSONs);
+        assertThat(jsonParserImpl.toObjects(Human.class, expectedJSONs)).isEqualTo(expectedHumans);
+    }
+
+    @Test
+    public void checkSharedParserShouldReturnSameJSONInEveryThread() throws Exception {
+        JSONParser sharedJSONParser = new JSONParserImpl();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++) {
+            int number = i;
+
+            tasks.add(() -> {
+                for (int j = 0; j < 200; j++) {
+                    Human expectedHuman = Human.builder()
+                            .name("Поток " + number)
+                            .family("Family " + j)
+                            .age(j)
+                            .isGod(number % 2 == 0)
+                            .build();
+
+                    String json = sharedJSONParser.toJSON(expectedHuman);
+
+                    if (!json.equals(gson.toJson(expectedHuman)) ||
+                            !sharedJSONParser.toObject(Human.class, json).equals(expectedHuman)) {
+                        return false;
+                    }
+                }
+
+                return true;
+            });
+        }
+
+        try {
+            for (Future<Boolean> result : executorService.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void checkToObjectShouldMatchKeysInAnyOrderAndSkipUnknownKeys() {
+        JSONParser codecJsonParser = new JSONParserImpl(new ServiceLoaderCodecProvider());
+
+        Human expectedHuman = Human.builder()
+                .name("Миша")
+                .family("Veter")
+                .age(45)
+                .isGod(true)
+                .childrenQuantity(2)
+                .build();
+
+        String json = """
+                {"agE":1,"childrenQuantity":2,"nbme":"Unknown","isGod":true,"n\\u0061me":"Миша",
+                "family":"Veter","names":{"name":"Unknown","age":[1,{"age":2}]},"":null,"age":45}""";
+
+        assertThat(jsonParserImpl.toObject(Human.class, json)).isEqualTo(expectedHuman);
+        assertThat(codecJsonParser.toObject(Human.class, json)).isEqualTo(expectedHuman);
+        assertThat(jsonParserImpl.toObject(Human.class, ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo(expectedHuman);
+    }
+
+    @Test
+    public void checkToObjectShouldThrowJSONParserExceptionOnUnicodeEscapeWithNotHexDigits() {
+        assertThat(jsonParserImpl.toObject(Human.class, "{\"name\":\"\\u0041\\u00e9\\u00C9\"}"))
+                .isEqualTo(Human.builder().name("AéÉ").build());
+
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Human.class, "{\"name\":\"\\u+041\"}"))
+                .isInstanceOf(JSONParserException.class);
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Human.class, "{\"name\":\"\\u-041\"}"))
+                .isInstanceOf(JSONParserException.class);
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Human.class, "{\"name\":\"\\u004G\"}"))
+                .isInstanceOf(JSONParserException.class);
+    }
+
+    @Test
+    public void checkToObjectShouldPredictKeysOfDocumentsWithTheSameShape() {
+        JSONKeyTable fieldNames = ClassPlan.of(Human.class).getFieldNames();
+
+        List<Human> expectedHumans = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            expectedHumans.add(Human.builder()
+                    .name("Name " + i)
+                    .family("Family " + i)
+                    .age(i)
+                    .isGod(i % 2 == 0)
+                    .childrenQuantity(i % 3)
+                    .build());
+        }
+
+        List<String> jsons = expectedHumans.stream()
+                .map(gson::toJson)
+                .toList();
+
+        jsonParserImpl.toObject(Human.class, jsons.get(0));
+
+        long hits = fieldNames.getPredictionHits();
+        long misses = fieldNames.getPredictionMisses();
+
+        fieldNames.countPredictions(true);
+
+        try {
+            assertThat(jsonParserImpl.toObjects(Human.class, jsons)).isEqualTo(expectedHumans);
+            assertThat(fieldNames.getPredictionHits() - hits).isEqualTo(500L);
+            assertThat(fieldNames.getPredictionMisses() - misses).isZero();
+
+            Human actualHuman = jsonParserImpl.toObject(Human.class, "{\"age\":7,\"unknown\":1,\"name\":\"Miko\"}");
+
+            assertThat(actualHuman).isEqualTo(Human.builder().name("Miko").age(7).build());
+            assertThat(fieldNames.getPredictionMisses() - misses).isEqualTo(3L);
+        } finally {
+            fieldNames.countPredictions(false);
+        }
+
+        jsonParserImpl.toObjects(Human.class, jsons);
+
+        assertThat(fieldNames.getPredictionHits() - hits).isEqualTo(500L);
+    }
+
+    @Test
+    public void checkToObjectShouldThrowJSONParserExceptionWhenContainerDoesNotPermitNull() {
+        Warehouse warehouse = jsonParserImpl.toObject(Warehouse.class,
+                "{\"orders\":[\"b\",\"a\"],\"shelves\":[\"b\",\"a\"],\"stock\":{\"a\":1}}");
+
+        assertThat(warehouse.getOrders()).containsExactly("b", "a");
+        assertThat(warehouse.getShelves()).containsExactly("a", "b");
+        assertThat(warehouse.getStock()).isEqualTo(Map.of("a", 1));
+
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Warehouse.class, "{\"orders\":[\"a\",null]}"))
+                .isInstanceOf(JSONParserException.class);
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Warehouse.class, "{\"shelves\":[null]}"))
+                .isInstanceOf(JSONParserException.class);
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Warehouse.class, "{\"stock\":{\"a\":null}}"))
+                .isInstanceOf(JSONParserException.class);
+    }
+
+    @Test
+    public void checkToObjectShouldThrowJSONParserExceptionWhenMapKeyIsNotConverted() {
+        Warehouse warehouse = jsonParserImpl.toObject(Warehouse.class,
+                "{\"deliveries\":{\"MONDAY\":2},\"racks\":{\"2\":\"b\",\"1\":\"a\"}}");
+
+        assertThat(warehouse.getDeliveries()).isEqualTo(Map.of(DayOfWeek.MONDAY, 2));
+        assertThat(warehouse.getRacks()).containsExactly(Map.entry(1, "a"), Map.entry(2, "b"));
+
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Warehouse.class, "{\"deliveries\":{\"FUNDAY\":1}}"))
+                .isInstanceOf(JSONParserException.class)
+                .hasMessageContaining("FUNDAY");
+        assertThatThrownBy(() -> jsonParserImpl.toObject(Warehouse.class, "{\"racks\":{\"one\":\"a\"}}"))
+                .isInstanceOf(JSONParserException.class)
+                .hasMessageContaining("one");
+    }
+
+    @Test
+    public void checkToObjectShouldPredictKeysAfterUnknownKey() {
+        JSONKeyTable fieldNames = ClassPlan.of(Human.class).getFieldNames();
+
+        String json = "{\"name\":\"Miko\",\"unknown\":1,\"family\":\"Veter\",\"age\":45}";
+        Human expectedHuman = Human.builder().name("Miko").family("Veter").age(45).build();
+
+        jsonParserImpl.toObject(Human.class, json);
+
+        long hits = fieldNames.getPredictionHits();
+        long misses = fieldNames.getPredictionMisses();
+
+        fieldNames.countPredictions(true);
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                assertThat(jsonParserImpl.toObject(Human.class, json)).isEqualTo(expectedHuman);
+            }
+        } finally {
+            fieldNames.countPredictions(false);
+        }
+
+        assertThat(fieldNames.getPredictionHits() - hits).isEqualTo(30L);
+        assertThat(fieldNames.getPredictionMisses() - misses).isEqualTo(10L);
+    }
+
+    @Test
+    public void checkToObjectShouldReuseTargetAndItsNestedValues() {
+        Human driver = Human.builder().name("Ivan").age(30).build();
+        Human passenger = Human.builder().name("Olga").age(25).build();
+        String[] producers = {"BMW", "Audi"};
+        Human[][] passengers = {{driver, passenger}};
+
+        Car targetCar = Car.builder()
+                .producers(producers)
+                .productionYear(1958)
+                .isExclusive(false)
+                .passengers(passengers)
+                .build();
+
+        Car expectedCar = Car.builder()
+                .producers(new String[]{"Opel", "Ford"})
+                .productionYear(2000)
+                .isExclusive(true)
+                .passengers(new Human[][]{{
+                        Human.builder().name("Petr").age(41).build(),
+                        Human.builder().name("Anna").age(39).build()
+                }})
+                .build();
+
+        Car actualCar = jsonParserImpl.toObject(targetCar, gson.toJson(expectedCar));
+
+        assertThat(actualCar).isSameAs(targetCar);
+        assertThat(actualCar).isEqualTo(expectedCar);
+        assertThat(producers).containsExactly("Opel", "Ford");
+        assertThat(passengers[0][0]).isSameAs(driver);
+        assertThat(passengers[0][1]).isSameAs(passenger);
+
+        Car expectedUpdatedCar = Car.builder()
+                .producers(producers)
+                .productionYear(2010)
+                .isExclusive(true)
+                .passengers(passengers)
+                .build();
+        ByteBuffer json = ByteBuffer.wrap("{\"productionYear\":2010}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(jsonParserImpl.toObject(targetCar, json)).isSameAs(targetCar);
+        assertThat(targetCar).isEqualTo(expectedUpdatedCar);
+    }
+
+    @Test
+    public void checkToObjectShouldReuseMutableCollectionAndReplaceImmutable() {
+        Keyring expectedKeyring = Keyring.builder()
+                .owner("Miko")
+                .keys(List.of("front", "back"))
+                .build();
+        String json = gson.toJson(expectedKeyring);
+
+        Keyring emptyKeysKeyring = Keyring.builder()
+                .keys(Collections.emptyList())
+                .build();
+
+        assertThat(jsonParserImpl.toObject(emptyKeysKeyring, json)).isEqualTo(expectedKeyring);
+
+        List<String> keys = new ArrayList<>(List.of("garage"));
+        Keyring mutableKeysKeyring = Keyring.builder()
+                .keys(keys)
+                .build();
+
+        assertThat(jsonParserImpl.toObject(mutableKeysKeyring, json)).isEqualTo(expectedKeyring);
+        assertThat(keys).containsExactly("front", "back");
+    }
+
+    @Test
+    public void checkToObjectShouldReturnRecordAndObjectWithBuilderOnly() {
+        Engine expectedEngine = new Engine("V8", 420, false, List.of(
+                Human.builder().name("Ivan").age(30).build(),
+                Human.builder().name("Olga").age(25).isGod(true).build()));
+
+        Ticket expectedTicket = Ticket.builder()
+                .route("Minsk - Gomel")
+                .price(25)
+                .owner(Human.builder().name("Petr").childrenQuantity(2).build())
+                .engine(expectedEngine)
+                .build();
+
+        String engineJSON = jsonParserImpl.toJSON(expectedEngine);
+        String ticketJSON = jsonParserImpl.toJSON(expectedTicket);
+
+        assertThat(engineJSON).isEqualTo(gson.toJson(expectedEngine));
+        assertThat(ticketJSON).isEqualTo(gson.toJson(expectedTicket));
+        assertThat(jsonParserImpl.toObject(Engine.class, engineJSON)).isEqualTo(expectedEngine);
+        assertThat(jsonParserImpl.toObject(Ticket.class, ticketJSON)).isEqualTo(expectedTicket);
+        assertThat(jsonParserImpl.toObject(Engine.class, "{\"model\":\"V6\",\"power\":null}"))
+                .isEqualTo(new Engine("V6", 0, null, null));
+    }
+
+    @Test
+    public void checkToObjectShouldSkipFieldsWithoutBuilderMethod() {
+        TopDealer expectedTopDealer = TopDealer.builder()
+                .region("Minsk")
+                .rating(5)
+                .build();
+
+        String json = "{\"name\":\"Ivan\",\"age\":40,\"region\":\"Minsk\",\"rating\":5}";
+
+        assertThat(jsonParserImpl.toObject(TopDealer.class, json)).usingRecursiveComparison()
+                .isEqualTo(expectedTopDealer);
+    }
+
+    @Test
+    public void checkToObjectShouldKeepDefaultOfRecordPrimitiveComponentWhenValueIsNotConverted() {
+        String json = "{\"model\":\"V6\",\"power\":\"abc\"}";
+        Engine expectedEngine = new Engine("V6", 0, null, null);
+
+        PushJSONToObjectFormatter<Engine> pushParser = jsonParserImpl.toPushParser(Engine.class);
+        pushParser.feed(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(jsonParserImpl.toObject(Engine.class, json)).isEqualTo(expectedEngine);
+        assertThat(pushParser.finish()).isEqualTo(expectedEngine);
+    }
+
+    @Test
+    public void checkToJSONAndToObjectShouldEmitFlightRecorderEvents(@TempDir Path directory) throws IOException {
+        Car car = Car.builder()
+                .producers(new String[]{"Лада", "Audi"})
+                .productionYear(1958)
+                .isExclusive(true)
+                .build();
+
+        Path recordingFile = directory.resolve("parser.jfr");
+        String json;
+
+        try (Recording recording = new Recording()) {
+            recording.enable(SerializationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(DeserializationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            json = jsonParserImpl.toJSON(car);
+            jsonParserImpl.toObject(Car.class, ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals(SerializationEvent.NAME) ||
+                        event.getEventType().getName().equals(DeserializationEvent.NAME))
+                .toList();
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getEventType().getName()).isEqualTo(SerializationEvent.NAME);
+        assertThat(events.get(1).getEventType().getName()).isEqualTo(DeserializationEvent.NAME);
+
+        for (RecordedEvent event : events) {
+            assertThat(event.getClass("rootClass").getName()).isEqualTo(Car.class.getName());
+            assertThat(event.getLong("byteLength")).isEqualTo((long) json.getBytes(StandardCharsets.UTF_8).length);
+            assertThat(event.getInt("depth")).isEqualTo(2);
+            assertThat(event.getLong("elements")).isEqualTo(5L);
+        }
+    }
+
+    @Test
+    public void checkSinkAndBatchCallsShouldEmitFlightRecorderEvents(@TempDir Path directory) throws IOException {
+        Car car = Car.builder()
+                .producers(new String[]{"Лада", "Audi"})
+                .productionYear(1958)
+                .isExclusive(true)
+                .build();
+
+        String json = gson.toJson(car);
+        long byteLength = json.getBytes(StandardCharsets.UTF_8).length;
+
+        Path recordingFile = directory.resolve("parser.jfr");
+        StringBuilder sink = new StringBuilder("[");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(256).position(3);
+
+        try (Recording recording = new Recording()) {
+            recording.enable(SerializationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(DeserializationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            jsonParserImpl.toJSON(car, sink);
+            jsonParserImpl.toJSON(car, outputStream);
+            jsonParserImpl.toJSON(car, buffer);
+            jsonParserImpl.toJSONs(List.of(car, car));
+            jsonParserImpl.toObjects(Car.class, List.of(json, json));
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals(SerializationEvent.NAME) ||
+                        event.getEventType().getName().equals(DeserializationEvent.NAME))
+                .toList();
+
+        assertThat(sink.toString()).isEqualTo("[" + json);
+        assertThat(events).hasSize(5);
+        assertThat(events.get(4).getEventType().getName()).isEqualTo(DeserializationEvent.NAME);
+
+        for (RecordedEvent event : events) {
+            assertThat(event.getClass("rootClass").getName()).isEqualTo(Car.class.getName());
+        }
+
+        assertThat(events.get(0).getLong("byteLength")).isEqualTo(byteLength);
+        assertThat(events.get(1).getLong("byteLength")).isEqualTo(byteLength);
+        assertThat(events.get(2).getLong("byteLength")).isEqualTo(byteLength);
+        assertThat(events.get(2).getLong("elements")).isEqualTo(5L);
+        assertThat(events.get(3).getLong("byteLength")).isEqualTo(2 * byteLength);
+        assertThat(events.get(3).getLong("elements")).isEqualTo(10L);
+        assertThat(events.get(4).getLong("byteLength")).isEqualTo(2 * byteLength);
+        assertThat(events.get(4).getInt("depth")).isEqualTo(2);
+    }
+
+    @Test
+    public void checkWithMetricsShouldCountCallsByRootClassAndExposeThemToJMX() throws Exception {
+        JSONParserMetrics metrics = new JSONParserMetrics();
+        JSONParser measuredJSONParser = new JSONParserImpl().withMetrics(metrics);
+
+        Car car = Car.builder()
+                .producers(new String[]{"Лада"})
+                .productionYear(1958)
+                .build();
+
+        String carJSON = measuredJSONParser.toJSON(car);
+        long carJSONLength = carJSON.getBytes(StandardCharsets.UTF_8).length;
+        measuredJSONParser.toObject(Car.class, carJSON);
+        measuredJSONParser.toObject(Car.class, carJSON);
+        measuredJSONParser.toObject(Human.class, "{\"name\":\"Ivan\",\"childrenQuantity\":\"two\"}");
+
+        assertThatThrownBy(() -> measuredJSONParser.toObject(Car.class, "{\"productionYear\":"))
+                .isInstanceOf(JSONParserException.class);
+
+        ClassMetricsSnapshot carMetrics = metrics.classMetricsOf(Car.class.getName());
+        ClassMetricsSnapshot humanMetrics = metrics.classMetricsOf(Human.class.getName());
+
+        assertThat(metrics.getRootClasses()).containsExactly(Car.class.getName(), Human.class.getName());
+        assertThat(carMetrics.getSerializations()).isEqualTo(1L);
+        assertThat(carMetrics.getDeserializations()).isEqualTo(2L);
+        assertThat(carMetrics.getLengthOut()).isEqualTo(carJSONLength);
+        assertThat(carMetrics.getLengthIn()).isEqualTo(2L * carJSONLength);
+        assertThat(carMetrics.getErrors()).isEqualTo(1L);
+        assertThat(carMetrics.getDeserializationLatency().getCount()).isEqualTo(2L);
+        assertThat(carMetrics.getDeserializationLatency().getMax())
+                .isGreaterThanOrEqualTo(carMetrics.getDeserializationLatency().getP50());
+        assertThat(humanMetrics.getErrors()).isEqualTo(1L);
+        assertThat(metrics.getConversionErrors()).isPositive();
+
+        ObjectName objectName = metrics.register(JSONParserMetrics.OBJECT_NAME + ",name=test");
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            CompositeData[] classMetrics = (CompositeData[]) mBeanServer.getAttribute(objectName, "ClassMetrics");
+
+            assertThat(classMetrics).hasSize(2);
+            assertThat(classMetrics[0].get("rootClass")).isEqualTo(Car.class.getName());
+            assertThat(classMetrics[0].get("deserializations")).isEqualTo(2L);
+            assertThat(((CompositeData) classMetrics[0].get("serializationLatency")).get("count")).isEqualTo(1L);
+        } finally {
+            metrics.unregister(objectName);
+        }
+    }
+
+    @Test
+    public void checkWithMetricsShouldCountSinkAndBatchCalls() {
+        JSONParserMetrics metrics = new JSONParserMetrics();
+        JSONParser measuredJSONParser = new JSONParserImpl().withMetrics(metrics);
+
+        Human human = Human.builder()
+                .name("Иван")
+                .age(30)
+                .build();
+
+        String json = gson.toJson(human);
+        long jsonLength = json.getBytes(StandardCharsets.UTF_8).length;
+
+        measuredJSONParser.toJSON(human, new StringBuilder());
+        measuredJSONParser.toJSON(human, new ByteArrayOutputStream());
+        measuredJSONParser.toJSON(human, ByteBuffer.allocate(256));
+        measuredJSONParser.toJSONs(List.of(human, human));
+        measuredJSONParser.toObjects(Human.class, List.of(json, json));
+        measuredJSONParser.toList(Human.class, "[" + json + "]", 2);
+
+        assertThatThrownBy(() -> measuredJSONParser.toObjects(Human.class, List.of(json, "{\"age\":")))
+                .isInstanceOf(JSONParserException.class);
+
+        ClassMetricsSnapshot humanMetrics = metrics.classMetricsOf(Human.class.getName());
+
+        assertThat(humanMetrics.getSerializations()).isEqualTo(4L);
+        assertThat(humanMetrics.getLengthOut()).isEqualTo(5L * jsonLength);
+        assertThat(humanMetrics.getDeserializations()).isEqualTo(2L);
+        assertThat(humanMetrics.getLengthIn()).isEqualTo(3L * jsonLength + 2);
+        assertThat(humanMetrics.getErrors()).isEqualTo(1L);
+    }
+
+    @Test
+    public void checkToPushParserShouldReturnObjectFromChunksOfLoopbackChannel() throws Exception {
+        ManPassport expectedManPassport = new ManPassport.Builder()
+                .setName("Сергей \uD83D\uDE00")
+                .setFamily("Алкин \"Big\" {[,]}")
+                .setAddresses(List.of("Минск, ул. Плеханова, 5, 125", "Gomel, ul. Lepeshinskogo, 12, 38"))
+                .setWives(List.of(Human.builder()
+                        .name("Галка")
+                        .family("Алкина")
+                        .childrenQuantity(3)
+                        .age(35)
+                        .build()))
+                .setChildrens(Set.of())
+                .build();
+
+        byte[] json = ("\uFEFF " + gson.toJson(expectedManPassport) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        PushJSONToObjectFormatter<ManPassport> pushParser = jsonParserImpl.toPushParser(ManPassport.class);
+        boolean complete = false;
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+
+            Thread client = new Thread(() -> {
+                try (SocketChannel channel = SocketChannel.open(server.getLocalAddress())) {
+                    for (int i = 0; i < json.length; i += 7) {
+                        channel.write(ByteBuffer.wrap(json, i, Math.min(7, json.length - i)));
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            client.start();
+
+            try (SocketChannel channel = server.accept()) {
+                ByteBuffer chunk = ByteBuffer.allocate(5);
+
+                while (channel.read(chunk) >= 0) {
+                    chunk.flip();
+                    complete |= pushParser.feed(chunk);
+                    chunk.clear();
+                }
+            }
+
+            client.join();
+        }
+
+        assertThat(complete).isTrue();
+        assertThat(pushParser.finish()).usingRecursiveComparison().isEqualTo(expectedManPassport);
+    }
+
+    @Test
+    public void checkToPushParserShouldSkipOnlyCompleteByteOrderMarkAndStopAfterError() {
+        Human expectedHuman = Human.builder().name("Miko").age(45).build();
+        byte[] json = gson.toJson(expectedHuman).getBytes(StandardCharsets.UTF_8);
+
+        PushJSONToObjectFormatter<Human> pushParser = jsonParserImpl.toPushParser(Human.class);
+        pushParser.feed(ByteBuffer.wrap(new byte[]{(byte) 0xEF}));
+        pushParser.feed(ByteBuffer.wrap(new byte[]{(byte) 0xBB}));
+        pushParser.feed(ByteBuffer.wrap(new byte[]{(byte) 0xBF}));
+        pushParser.feed(ByteBuffer.wrap(json));
+
+        assertThat(pushParser.finish()).isEqualTo(expectedHuman);
+
+        PushJSONToObjectFormatter<Human> incompleteBOMPushParser = jsonParserImpl.toPushParser(Human.class);
+        incompleteBOMPushParser.feed(ByteBuffer.wrap(new byte[]{(byte) 0xEF, (byte) 0xBB}));
+
+        assertThatThrownBy(() -> incompleteBOMPushParser.feed(ByteBuffer.wrap(json)))
+                .isInstanceOf(JSONParserException.class);
+        assertThatThrownBy(() -> incompleteBOMPushParser.feed(ByteBuffer.wrap(json)))
+                .isInstanceOf(JSONParserException.class);
+        assertThatThrownBy(incompleteBOMPushParser::finish)
+                .isInstanceOf(JSONParserException.class);
+
+        PushJSONToObjectFormatter<Human> loneBOMBytePushParser = jsonParserImpl.toPushParser(Human.class);
+
+        assertThatThrownBy(() -> loneBOMBytePushParser.feed(ByteBuffer.wrap(new byte[]{(byte) 0xEF, '{', '}'})))
+                .isInstanceOf(JSONParserException.class);
+    }
+
+    @Test
+    public void checkToPushParserShouldReturnArrayAndScalarFromChunks() {
+        Car[] expectedCars = new Car[100];
+
+        for (int i = 0; i < expectedCars.length; i++) {
+            expectedCars[i] = Car.builder()
+                    .producers(new String[]{"Alex \"],[{\" Antonov", "Пол Лайни " + i})
+                    .isExclusive(i % 2 == 0)
+                    .productionYear(1958 + i)
+                    .passengers(new Human[][]{{}})
+                    .build();
+        }
+
+        PushJSONToObjectFormatter<Car[]> carsPushParser = jsonParserImpl.toPushParser(Car[].class);
+        PushJSONToObjectFormatter<Integer> numberPushParser = jsonParserImpl.toPushParser(Integer.class);
+
+        byte[] json = gson.toJson(expectedCars).getBytes(StandardCharsets.UTF_8);
+
+        for (byte b : json) {
+            carsPushParser.feed(ByteBuffer.wrap(new byte[]{b}));
+        }
+
+        assertThat(numberPushParser.feed(ByteBuffer.wrap(" 12".getBytes(StandardCharsets.UTF_8)))).isFalse();
+        assertThat(numberPushParser.feed(ByteBuffer.wrap("34 ".getBytes(StandardCharsets.UTF_8)))).isFalse();
+
+        assertThat(carsPushParser.finish()).isEqualTo(expectedCars);
+        assertThat(numberPushParser.finish()).isEqualTo(1234);
     }
 
 }
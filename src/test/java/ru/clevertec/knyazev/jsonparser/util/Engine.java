@@ -0,0 +1,6 @@
+package ru.clevertec.knyazev.jsonparser.util;
+
+import java.util.List;
+
+public record Engine(String model, int power, Boolean isElectric, List<Human> owners) {
+}
@@ -4,11 +4,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import ru.clevertec.knyazev.jsonparser.codec.GenerateJSONCodec;
 
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
+@GenerateJSONCodec
 public class Human {
 
 	private String name;
@@ -0,0 +1,26 @@
+package ru.clevertec.knyazev.jsonparser.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import ru.clevertec.knyazev.jsonparser.codec.GenerateJSONCodec;
+
+import java.util.List;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@GenerateJSONCodec
+public class Keyring {
+
+	private String owner;
+
+	private List<String> keys;
+
+	private boolean isGod;
+
+	private boolean is_god;
+
+}
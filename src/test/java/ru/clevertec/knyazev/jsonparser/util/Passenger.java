@@ -0,0 +1,17 @@
+package ru.clevertec.knyazev.jsonparser.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class Passenger extends Human {
+
+	private String seat;
+
+	public Passenger(String name, String family, int age, boolean isGod, Integer childrenQuantity, String seat) {
+		super(name, family, age, isGod, childrenQuantity);
+		this.seat = seat;
+	}
+
+}
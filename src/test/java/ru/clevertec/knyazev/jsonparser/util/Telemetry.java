@@ -0,0 +1,32 @@
+package ru.clevertec.knyazev.jsonparser.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class Telemetry {
+
+	private String sensor;
+
+	private long timestamp;
+
+	private double value;
+
+	private float ratio;
+
+	private byte level;
+
+	private short channel;
+
+	private char unit;
+
+	private Double average;
+
+	private Long counter;
+
+}
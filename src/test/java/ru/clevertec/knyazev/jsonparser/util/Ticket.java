@@ -0,0 +1,18 @@
+package ru.clevertec.knyazev.jsonparser.util;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+
+@Builder
+@EqualsAndHashCode
+public class Ticket {
+
+	private final String route;
+
+	private final int price;
+
+	private final Human owner;
+
+	private final Engine engine;
+
+}
@@ -0,0 +1,12 @@
+package ru.clevertec.knyazev.jsonparser.util;
+
+import lombok.Builder;
+
+@Builder
+public class TopDealer extends Dealer {
+
+	private String region;
+
+	private int rating;
+
+}
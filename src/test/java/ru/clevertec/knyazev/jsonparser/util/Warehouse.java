@@ -0,0 +1,31 @@
+package ru.clevertec.knyazev.jsonparser.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class Warehouse {
+
+	private Queue<String> orders;
+
+	private SortedSet<String> shelves;
+
+	private ConcurrentMap<String, Integer> stock;
+
+	private Map<DayOfWeek, Integer> deliveries;
+
+	private SortedMap<Integer, String> racks;
+
+}